@@ -33,6 +33,9 @@ public class GraalJSScriptEngineConfiguration {
     private static final String CFG_WRAPPER_ENABLED = "wrapperEnabled";
     private static final String CFG_EVENT_CONVERSION_ENABLED = "eventConversionEnabled";
     private static final String CFG_DEPENDENCY_TRACKING_ENABLED = "dependencyTrackingEnabled";
+    private static final String CFG_CONTEXT_POOL_SIZE = "contextPoolSize";
+    private static final String CFG_WARM_UP_ITERATIONS = "warmUpIterations";
+    private static final String CFG_METRICS_ENABLED = "metricsEnabled";
 
     private static final int INJECTION_ENABLED_FOR_UI_BASED_SCRIPTS_ONLY = 1;
     private static final int INJECTION_ENABLED_FOR_UI_BASED_SCRIPTS_AND_TRANSFORMATIONS = 2;
@@ -43,6 +46,9 @@ public class GraalJSScriptEngineConfiguration {
     private boolean wrapperEnabled = true;
     private boolean eventConversionEnabled = true;
     private boolean dependencyTrackingEnabled = true;
+    private int contextPoolSize = 1;
+    private int warmUpIterations = 0;
+    private boolean metricsEnabled = false;
 
     /**
      * Create a new configuration instance from the given parameters.
@@ -63,6 +69,8 @@ public class GraalJSScriptEngineConfiguration {
         boolean oldDependencyTrackingEnabled = dependencyTrackingEnabled;
         boolean oldWrapperEnabled = wrapperEnabled;
         boolean oldEventConversionEnabled = eventConversionEnabled;
+        int oldContextPoolSize = contextPoolSize;
+        boolean oldMetricsEnabled = metricsEnabled;
 
         this.update(config);
 
@@ -91,6 +99,15 @@ public class GraalJSScriptEngineConfiguration {
                         "Disabled event conversion for JavaScript Scripting. Please resave your scripts to apply this change.");
             }
         }
+        if (oldContextPoolSize != contextPoolSize) {
+            logger.info(
+                    "Changed context pool size for JavaScript Scripting to {}. Please resave your file-based scripts to apply this change.",
+                    contextPoolSize);
+        }
+        if (oldMetricsEnabled != metricsEnabled) {
+            logger.info("{} metrics for JavaScript Scripting. Please resave your scripts to apply this change.",
+                    metricsEnabled ? "Enabled" : "Disabled");
+        }
     }
 
     /**
@@ -110,6 +127,10 @@ public class GraalJSScriptEngineConfiguration {
                 true);
         dependencyTrackingEnabled = ConfigParser.valueAsOrElse(config.get(CFG_DEPENDENCY_TRACKING_ENABLED),
                 Boolean.class, true);
+        contextPoolSize = Math.max(1, ConfigParser.valueAsOrElse(config.get(CFG_CONTEXT_POOL_SIZE), Integer.class, 1));
+        warmUpIterations = Math.max(0,
+                ConfigParser.valueAsOrElse(config.get(CFG_WARM_UP_ITERATIONS), Integer.class, 0));
+        metricsEnabled = ConfigParser.valueAsOrElse(config.get(CFG_METRICS_ENABLED), Boolean.class, false);
     }
 
     public boolean isInjectionEnabledForUiBasedScript() {
@@ -139,4 +160,16 @@ public class GraalJSScriptEngineConfiguration {
     public boolean isDependencyTrackingEnabled() {
         return dependencyTrackingEnabled;
     }
+
+    public int getContextPoolSize() {
+        return contextPoolSize;
+    }
+
+    public int getWarmUpIterations() {
+        return warmUpIterations;
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Keeps track of the nested invocations of a script engine and measures its first invocation, which initializes the
+ * engine and, for file-based scripts, loads the script.
+ *
+ * All methods have to be called while holding the lock of the engine.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InvocationTracker {
+
+    /**
+     * The duration of the first invocation.
+     *
+     * @param nanos the duration of the whole invocation in nanoseconds
+     * @param initializationNanos the part of it spent initializing the engine in nanoseconds
+     */
+    public record FirstInvocation(long nanos, long initializationNanos) {
+    }
+
+    private final LongSupplier nanoTime;
+    private int depth = 0;
+    private boolean started = false;
+    private long firstInvocationStart = -1;
+    private long initializationNanos = 0;
+
+    public InvocationTracker() {
+        this(System::nanoTime);
+    }
+
+    InvocationTracker(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Called when an invocation starts.
+     */
+    public void enter() {
+        depth++;
+        if (!started) {
+            started = true;
+            firstInvocationStart = nanoTime.getAsLong();
+        }
+    }
+
+    /**
+     * Called when the first invocation has initialized the engine.
+     */
+    public void initialized() {
+        if (firstInvocationStart >= 0) {
+            initializationNanos = nanoTime.getAsLong() - firstInvocationStart;
+        }
+    }
+
+    /**
+     * @return the time the first invocation has spent initializing the engine in nanoseconds so far
+     */
+    public long getInitializationNanos() {
+        return initializationNanos;
+    }
+
+    /**
+     * Called when an invocation returns, normally or by throwing.
+     *
+     * @return the duration of the first invocation when it returns, null otherwise and for nested invocations
+     */
+    public @Nullable FirstInvocation exit() {
+        if (depth == 0) {
+            throw new IllegalStateException("No invocation is running");
+        }
+        if (--depth > 0 || firstInvocationStart < 0) {
+            return null;
+        }
+        long nanos = nanoTime.getAsLong() - firstInvocationStart;
+        firstInvocationStart = -1;
+        return new FirstInvocation(nanos, initializationNanos);
+    }
+}
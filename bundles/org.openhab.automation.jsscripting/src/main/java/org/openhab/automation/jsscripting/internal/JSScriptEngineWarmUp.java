@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import java.io.StringReader;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.script.ScriptException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.automation.module.script.ScriptEngineContainer;
+import org.openhab.core.automation.module.script.ScriptEngineManager;
+import org.openhab.core.common.ThreadPoolManager;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Warms up the shared polyglot engine on startup: a configurable number of throwaway script engines load the openHAB
+ * JavaScript library, so that the library code is already parsed, and compiled if the runtime supports it, when the
+ * scripts are loaded.
+ *
+ * The warm-up has to be repeated after every restart. Persisting the compiled code with the auxiliary engine cache is a
+ * feature of Oracle GraalVM, which the GraalVM Community Edition runtime bundled with this add-on does not offer.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(immediate = true, configurationPid = "org.openhab.jsscripting")
+@NonNullByDefault
+public class JSScriptEngineWarmUp {
+    private static final String ENGINE_IDENTIFIER_PREFIX = "js-warmup-";
+    // loads the library if it is not injected
+    private static final String WARM_UP_SCRIPT = "if (typeof items === 'undefined') { require('openhab'); }";
+    private static final int MAX_WAIT_SECONDS = 60;
+
+    private final Logger logger = LoggerFactory.getLogger(JSScriptEngineWarmUp.class);
+
+    private final ScriptEngineManager manager;
+    private final int iterations;
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("jsscripting-warmup");
+
+    // guarded by this
+    private @Nullable ScheduledFuture<?> warmUpJob;
+    private boolean deactivated = false;
+
+    @Activate
+    public JSScriptEngineWarmUp(final @Reference ScriptEngineManager manager, Map<String, Object> config) {
+        this.manager = manager;
+        this.iterations = new GraalJSScriptEngineConfiguration(config).getWarmUpIterations();
+        if (iterations > 0) {
+            schedule(0, 0);
+        }
+    }
+
+    @Modified
+    protected void modified(Map<String, ?> config) {
+        // the warm-up only runs on startup
+    }
+
+    @Deactivate
+    public synchronized void deactivate() {
+        deactivated = true;
+        ScheduledFuture<?> job = warmUpJob;
+        if (job != null) {
+            job.cancel(true);
+            warmUpJob = null;
+        }
+    }
+
+    private synchronized void schedule(int waitedSeconds, long delaySeconds) {
+        if (!deactivated) {
+            warmUpJob = scheduler.schedule(() -> warmUp(waitedSeconds), delaySeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    private void warmUp(int waitedSeconds) {
+        // the script engine factory may not be registered with the manager yet
+        if (!manager.isSupported(GraalJSScriptEngineFactory.SCRIPT_TYPE)) {
+            if (waitedSeconds < MAX_WAIT_SECONDS) {
+                schedule(waitedSeconds + 1, 1);
+            } else {
+                logger.debug("JavaScript script engine not available, skipping the warm-up.");
+            }
+            return;
+        }
+
+        long start = System.nanoTime();
+        int done = 0;
+        while (done < iterations && !Thread.currentThread().isInterrupted()) {
+            long iterationStart = System.nanoTime();
+            String engineIdentifier = ENGINE_IDENTIFIER_PREFIX + (done + 1);
+            ScriptEngineContainer container = manager.createScriptEngine(GraalJSScriptEngineFactory.SCRIPT_TYPE,
+                    engineIdentifier);
+            if (container == null) {
+                break;
+            }
+            try {
+                // a reader is not wrapped like a UI-based script
+                container.getScriptEngine().eval(new StringReader(WARM_UP_SCRIPT));
+            } catch (ScriptException e) {
+                logger.warn("Warm-up of the JavaScript script engine failed: {}", e.getMessage());
+                break;
+            } finally {
+                manager.removeEngine(engineIdentifier);
+            }
+            done++;
+            logger.debug("Warm-up iteration {} of {} took {} ms.", done, iterations,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - iterationStart));
+        }
+        if (done > 0) {
+            logger.info("Warmed up the JavaScript script engine with {} iterations in {} ms.", done,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+}
@@ -16,11 +16,14 @@ import java.util.concurrent.locks.Lock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.core.automation.module.script.action.ScriptExecution;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.openhab.core.scheduler.Scheduler;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * OSGi utility service for providing easy access to script services.
  *
@@ -31,11 +34,14 @@ import org.osgi.service.component.annotations.Reference;
 public class JSScriptServiceUtil {
     private final Scheduler scheduler;
     private final ScriptExecution scriptExecution;
+    private final MeterRegistryProvider meterRegistryProvider;
 
     @Activate
-    public JSScriptServiceUtil(final @Reference Scheduler scheduler, final @Reference ScriptExecution scriptExecution) {
+    public JSScriptServiceUtil(final @Reference Scheduler scheduler, final @Reference ScriptExecution scriptExecution,
+            final @Reference MeterRegistryProvider meterRegistryProvider) {
         this.scheduler = scheduler;
         this.scriptExecution = scriptExecution;
+        this.meterRegistryProvider = meterRegistryProvider;
     }
 
     public Scheduler getScheduler() {
@@ -46,6 +52,10 @@ public class JSScriptServiceUtil {
         return scriptExecution;
     }
 
+    public MeterRegistry getMeterRegistry() {
+        return meterRegistryProvider.getOHMeterRegistry();
+    }
+
     public JSRuntimeFeatures getJSRuntimeFeatures(Lock lock) {
         return new JSRuntimeFeatures(lock, this);
     }
@@ -19,6 +19,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.AccessMode;
 import java.nio.file.FileSystems;
@@ -30,8 +32,11 @@ import java.nio.file.attribute.FileAttribute;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -40,6 +45,7 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 
 import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 
 import org.eclipse.jdt.annotation.Nullable;
@@ -55,7 +61,11 @@ import org.openhab.automation.jsscripting.internal.fs.ReadOnlySeekableByteArrayC
 import org.openhab.automation.jsscripting.internal.fs.watch.JSDependencyTracker;
 import org.openhab.automation.jsscripting.internal.scriptengine.InvocationInterceptingScriptEngineWithInvocableAndCompilableAndAutoCloseable;
 import org.openhab.automation.jsscripting.internal.scriptengine.helper.LifecycleTracker;
+import org.openhab.automation.jsscripting.internal.threading.ContextPool;
+import org.openhab.automation.jsscripting.internal.threading.ReplicaScriptedAutomationManagerDelegate;
+import org.openhab.automation.jsscripting.internal.threading.ThreadsafeWrappingScriptedAutomationManagerDelegate;
 import org.openhab.core.automation.module.script.ScriptExtensionAccessor;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.types.QuantityType;
 import org.slf4j.Logger;
@@ -63,6 +73,8 @@ import org.slf4j.LoggerFactory;
 
 import com.oracle.truffle.js.scriptengine.GraalJSScriptEngine;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * GraalJS ScriptEngine implementation
  *
@@ -103,6 +115,10 @@ public class OpenhabGraalJSScriptEngine
     private static final String EVENT_CONVERSION_CODE = "const event = (typeof this.rules?._getTriggeredData === 'function') ? rules._getTriggeredData(ctx, true) : this.event";
 
     private static final String REQUIRE_WRAPPER_NAME = "__wraprequire__";
+    /** Context attributes set by openHAB that are copied to the additional contexts of a file-based script */
+    private static final List<String> REPLICA_ATTRIBUTES = List.of(CONTEXT_KEY_ENGINE_IDENTIFIER,
+            CONTEXT_KEY_EXTENSION_ACCESSOR, CONTEXT_KEY_DEPENDENCY_LISTENER, ScriptEngine.FILENAME);
+    private static final String CONTEXT_POOL_THREAD_POOL_NAME = "jsscripting-contextpool";
     /** Shared Polyglot {@link Engine} across all instances of {@link OpenhabGraalJSScriptEngine} */
     private static final Engine ENGINE = Engine.newBuilder().allowExperimentalOptions(true)
             .option("engine.WarnInterpreterOnly", "false").build();
@@ -138,27 +154,48 @@ public class OpenhabGraalJSScriptEngine
     private final Logger logger = LoggerFactory.getLogger(OpenhabGraalJSScriptEngine.class);
 
     /** {@link Lock} synchronization of multi-thread access */
-    private final Lock lock = new ReentrantLock();
+    private final ReentrantLock lock = new ReentrantLock();
     private final JSRuntimeFeatures jsRuntimeFeatures;
+    private final MeterRegistry meterRegistry;
     private final LifecycleTracker lifecycleTracker = new LifecycleTracker();
     private final GraalJSScriptEngineConfiguration configuration;
+    private final JSScriptServiceUtil jsScriptServiceUtil;
+    private final JSDependencyTracker jsDependencyTracker;
+    /** Collects the rules created by the script if this is an additional context of a file-based script */
+    private final @Nullable List<ContextPool.ReplicaRule> replicaRules;
 
     // these fields start as null because they are populated on first use
     private @Nullable Consumer<String> scriptDependencyListener;
     private String engineIdentifier = "<uninitialized>";
+    private @Nullable ScriptMetrics metrics;
+    private @Nullable String fileBasedScript;
+    private @Nullable ContextPool contextPool;
 
     private boolean initialized = false;
     private boolean closed = false;
 
+    // guarded by lock
+    private final InvocationTracker invocationTracker = new InvocationTracker();
+
     /**
      * Creates an implementation of ScriptEngine {@code (& Invocable)}, wrapping the contained engine,
      * that tracks the script lifecycle and provides hooks for scripts to do so too.
      */
     public OpenhabGraalJSScriptEngine(GraalJSScriptEngineConfiguration configuration,
             JSScriptServiceUtil jsScriptServiceUtil, JSDependencyTracker jsDependencyTracker) {
+        this(configuration, jsScriptServiceUtil, jsDependencyTracker, null);
+    }
+
+    private OpenhabGraalJSScriptEngine(GraalJSScriptEngineConfiguration configuration,
+            JSScriptServiceUtil jsScriptServiceUtil, JSDependencyTracker jsDependencyTracker,
+            @Nullable List<ContextPool.ReplicaRule> replicaRules) {
         super(null); // delegate depends on fields not yet initialised, so we cannot set it immediately
         this.configuration = configuration;
+        this.jsScriptServiceUtil = jsScriptServiceUtil;
+        this.jsDependencyTracker = jsDependencyTracker;
+        this.replicaRules = replicaRules;
         this.jsRuntimeFeatures = jsScriptServiceUtil.getJSRuntimeFeatures(lock);
+        this.meterRegistry = jsScriptServiceUtil.getMeterRegistry();
 
         delegate = GraalJSScriptEngine.create(ENGINE, Context.newBuilder("js") //
                 .allowIO(IOAccess.newBuilder() //
@@ -252,10 +289,14 @@ public class OpenhabGraalJSScriptEngine
 
         logger.debug("Initializing GraalJS script engine '{}' ...", engineIdentifier);
 
+        long lockRequested = System.nanoTime();
         lock.lock();
         logger.debug("Lock acquired before invocation for engine '{}'.", engineIdentifier);
+        recordLockWait(lockRequested);
+        invocationTracker.enter();
 
         if (initialized) {
+            invocationStarted();
             return;
         }
 
@@ -286,8 +327,37 @@ public class OpenhabGraalJSScriptEngine
         }
         scriptDependencyListener = localScriptDependencyListener;
 
+        // the rules of additional contexts are measured by the rules of the script's own context
+        if (configuration.isMetricsEnabled() && replicaRules == null) {
+            ScriptMetrics localMetrics = new ScriptMetrics(meterRegistry, "js", scriptName(ctx));
+            // the first invocation is measured including the initialization
+            localMetrics.invocationStarted();
+            metrics = localMetrics;
+        }
+
+        String localFileBasedScript = fileBasedScript;
+        if (localFileBasedScript != null) {
+            Map<String, Object> replicaAttributes = new HashMap<>();
+            REPLICA_ATTRIBUTES.forEach(key -> {
+                Object value = ctx.getAttribute(key);
+                if (value != null) {
+                    replicaAttributes.put(key, value);
+                }
+            });
+            contextPool = new ContextPool(scriptName(ctx), configuration.getContextPoolSize(),
+                    () -> createReplica(replicaAttributes, localFileBasedScript),
+                    ThreadPoolManager.getPool(CONTEXT_POOL_THREAD_POOL_NAME));
+        }
+
+        List<ContextPool.ReplicaRule> localReplicaRules = replicaRules;
+        ScriptMetrics localMetrics = metrics;
+        ContextPool localContextPool = contextPool;
         ScriptExtensionModuleProvider scriptExtensionModuleProvider = new ScriptExtensionModuleProvider(
-                scriptExtensionAccessor, lock, lifecycleTracker);
+                scriptExtensionAccessor, lifecycleTracker,
+                automationManager -> localReplicaRules != null
+                        ? new ReplicaScriptedAutomationManagerDelegate(localReplicaRules)
+                        : new ThreadsafeWrappingScriptedAutomationManagerDelegate(automationManager, lock,
+                                localMetrics, localContextPool));
 
         // Wrap the "require" function to also allow loading modules from the ScriptExtensionModuleProvider
         Function<Function<Object[], Object>, Function<String, Object>> wrapRequireFn = originalRequireFn -> moduleName -> scriptExtensionModuleProvider
@@ -320,12 +390,57 @@ public class OpenhabGraalJSScriptEngine
                     eval(OPENHAB_JS_INJECTION_CODE);
                 }
             }
-            logger.debug("Successfully initialized GraalJS script engine '{}'.", engineIdentifier);
+            invocationTracker.initialized();
+            logger.debug("Successfully initialized GraalJS script engine '{}' in {} ms.", engineIdentifier,
+                    TimeUnit.NANOSECONDS.toMillis(invocationTracker.getInitializationNanos()));
         } catch (ScriptException e) {
             logger.error("Could not inject global script", e);
         }
     }
 
+    @Override
+    public Object eval(Reader reader) throws ScriptException {
+        if (initialized || replicaRules != null || configuration.getContextPoolSize() <= 1 || !isFileBasedScript()) {
+            return super.eval(reader);
+        }
+        // keep the script to load it into additional contexts, which are set up by the first invocation
+        StringWriter script = new StringWriter();
+        try {
+            reader.transferTo(script);
+        } catch (IOException e) {
+            throw new ScriptException(e);
+        }
+        fileBasedScript = script.toString();
+        return super.eval(new StringReader(script.toString()));
+    }
+
+    /**
+     * Loads the file-based script into an additional context, which runs the rules created by the script while the
+     * script's own context is busy.
+     *
+     * @param attributes the context attributes set by openHAB
+     * @param script the file-based script
+     * @return the additional context
+     * @throws ScriptException if the script fails to load
+     */
+    private ContextPool.Replica createReplica(Map<String, Object> attributes, String script) throws ScriptException {
+        List<ContextPool.ReplicaRule> rules = new CopyOnWriteArrayList<>();
+        OpenhabGraalJSScriptEngine replica = new OpenhabGraalJSScriptEngine(configuration, jsScriptServiceUtil,
+                jsDependencyTracker, rules);
+        attributes.forEach((key, value) -> replica.getContext().setAttribute(key, value, ScriptContext.ENGINE_SCOPE));
+        try {
+            replica.eval(new StringReader(script));
+        } catch (ScriptException e) {
+            try {
+                replica.close();
+            } catch (Exception closeException) {
+                e.addSuppressed(closeException);
+            }
+            throw e;
+        }
+        return new ContextPool.Replica(replica, rules, replica);
+    }
+
     @Override
     protected String onScript(String script) {
         if (isUiBasedScript() && configuration.isWrapperEnabled()) {
@@ -344,6 +459,7 @@ public class OpenhabGraalJSScriptEngine
 
     @Override
     protected Object afterInvocation(Object obj) {
+        invocationFinished();
         lock.unlock();
         logger.debug("Lock released after invocation for engine '{}'.", engineIdentifier);
         return super.afterInvocation(obj);
@@ -351,10 +467,43 @@ public class OpenhabGraalJSScriptEngine
 
     @Override
     protected Exception afterThrowsInvocation(Exception e) {
+        invocationFinished();
         lock.unlock();
         return super.afterThrowsInvocation(e);
     }
 
+    private void recordLockWait(long lockRequested) {
+        ScriptMetrics localMetrics = metrics;
+        // only the first acquisition can have waited
+        if (localMetrics != null && lock.getHoldCount() == 1) {
+            localMetrics.recordLockWait(System.nanoTime() - lockRequested);
+        }
+    }
+
+    private void invocationStarted() {
+        ScriptMetrics localMetrics = metrics;
+        if (localMetrics != null) {
+            localMetrics.invocationStarted();
+        }
+    }
+
+    /**
+     * Stops measuring the outermost invocation when it returns. Logs the duration of the first invocation, i.e. the
+     * time it took to load a file-based script.
+     */
+    private void invocationFinished() {
+        ScriptMetrics localMetrics = metrics;
+        if (localMetrics != null) {
+            localMetrics.invocationFinished();
+        }
+        InvocationTracker.FirstInvocation firstInvocation = invocationTracker.exit();
+        if (firstInvocation != null) {
+            logger.debug("First invocation of engine '{}' took {} ms, {} ms of which to initialize the engine.",
+                    engineIdentifier, TimeUnit.NANOSECONDS.toMillis(firstInvocation.nanos()),
+                    TimeUnit.NANOSECONDS.toMillis(firstInvocation.initializationNanos()));
+        }
+    }
+
     @Override
     public void close() throws Exception {
         if (closed) {
@@ -362,12 +511,21 @@ public class OpenhabGraalJSScriptEngine
             return;
         }
 
+        ContextPool localContextPool = contextPool;
+        if (localContextPool != null) {
+            localContextPool.close();
+        }
+
         lock.lock();
         try {
             try {
                 jsRuntimeFeatures.close();
                 this.lifecycleTracker.dispose();
             } finally {
+                ScriptMetrics localMetrics = metrics;
+                if (localMetrics != null) {
+                    localMetrics.close();
+                }
                 logger.debug("Engine '{}' disposed.", engineIdentifier);
                 super.close();
                 logger.debug("Engine '{}' closed.", engineIdentifier);
@@ -378,6 +536,29 @@ public class OpenhabGraalJSScriptEngine
         }
     }
 
+    /**
+     * Gets the name of the script used in metrics: the file name of file-based scripts, the rule UID of UI-based
+     * scripts or the engine identifier otherwise.
+     */
+    private String scriptName(ScriptContext ctx) {
+        Object fileName = ctx.getAttribute(ScriptEngine.FILENAME);
+        if (fileName != null) {
+            return fileName.toString().replaceAll("^.*[/\\\\]", "");
+        }
+        Object ruleUID = ctx.getAttribute("ruleUID");
+        return ruleUID != null ? ruleUID.toString() : engineIdentifier;
+    }
+
+    /**
+     * Tests if the current script is a file-based script, i.e. it is loaded from a file.
+     *
+     * @return true if the script is file-based, false otherwise
+     */
+    private boolean isFileBasedScript() {
+        ScriptContext ctx = delegate.getContext();
+        return ctx != null && ctx.getAttribute(ScriptEngine.FILENAME) != null;
+    }
+
     /**
      * Tests if the current script is a UI-based script, i.e. it is neither loaded from a file nor a transformation.
      * 
@@ -445,13 +626,17 @@ public class OpenhabGraalJSScriptEngine
 
     @Override
     public void lock() {
+        long lockRequested = System.nanoTime();
         lock.lock();
         logger.debug("Lock acquired for engine '{}'.", engineIdentifier);
+        recordLockWait(lockRequested);
     }
 
     @Override
     public void lockInterruptibly() throws InterruptedException {
+        long lockRequested = System.nanoTime();
         lock.lockInterruptibly();
+        recordLockWait(lockRequested);
     }
 
     @Override
@@ -461,7 +646,12 @@ public class OpenhabGraalJSScriptEngine
 
     @Override
     public boolean tryLock(long l, TimeUnit timeUnit) throws InterruptedException {
-        return lock.tryLock(l, timeUnit);
+        long lockRequested = System.nanoTime();
+        boolean acquired = lock.tryLock(l, timeUnit);
+        if (acquired) {
+            recordLockWait(lockRequested);
+        }
+        return acquired;
     }
 
     @Override
@@ -17,13 +17,13 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Source;
 import org.graalvm.polyglot.Value;
 import org.openhab.automation.jsscripting.internal.scriptengine.helper.LifecycleTracker;
-import org.openhab.automation.jsscripting.internal.threading.ThreadsafeWrappingScriptedAutomationManagerDelegate;
 import org.openhab.core.automation.module.script.ScriptExtensionAccessor;
 import org.openhab.core.automation.module.script.rulesupport.shared.ScriptedAutomationManager;
 
@@ -40,16 +40,21 @@ public class ScriptExtensionModuleProvider {
 
     private static final String RUNTIME_MODULE_PREFIX = "@runtime";
     private static final String DEFAULT_MODULE_NAME = "Defaults";
-    private final Lock lock;
     private final LifecycleTracker lifecycleTracker;
+    private final Function<ScriptedAutomationManager, Object> automationManagerWrapper;
 
     private final ScriptExtensionAccessor scriptExtensionAccessor;
 
-    public ScriptExtensionModuleProvider(ScriptExtensionAccessor scriptExtensionAccessor, Lock lock,
-            LifecycleTracker lifecycleTracker) {
+    /**
+     * @param scriptExtensionAccessor provides the script extensions
+     * @param lifecycleTracker the lifecycle tracker exposed to the script
+     * @param automationManagerWrapper wraps the {@link ScriptedAutomationManager} for use by the script's context
+     */
+    public ScriptExtensionModuleProvider(ScriptExtensionAccessor scriptExtensionAccessor,
+            LifecycleTracker lifecycleTracker, Function<ScriptedAutomationManager, Object> automationManagerWrapper) {
         this.scriptExtensionAccessor = scriptExtensionAccessor;
-        this.lock = lock;
         this.lifecycleTracker = lifecycleTracker;
+        this.automationManagerWrapper = automationManagerWrapper;
     }
 
     public ModuleLocator locatorFor(Context ctx, String engineIdentifier) {
@@ -108,8 +113,7 @@ public class ScriptExtensionModuleProvider {
 
         for (Map.Entry<String, Object> entry : rv.entrySet()) {
             if (entry.getValue() instanceof ScriptedAutomationManager scriptedAutomationManager) {
-                entry.setValue(
-                        new ThreadsafeWrappingScriptedAutomationManagerDelegate(scriptedAutomationManager, lock));
+                entry.setValue(automationManagerWrapper.apply(scriptedAutomationManager));
             }
         }
 
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal.threading;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.automation.module.script.rulesupport.shared.simple.SimpleRule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of additional GraalJS contexts of a file-based script, which allows the rules of the script to run
+ * concurrently although a context can only be used by one thread at a time.
+ *
+ * Each additional context loads the script again, but keeps the rules created by the script to itself. Only the rules
+ * of the script's own context are registered with openHAB; when the script's own context is busy, a rule runs the
+ * rule created at the same position in a free additional context instead. Additional contexts are created in the
+ * background when a rule found all contexts busy.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ContextPool implements AutoCloseable {
+
+    /**
+     * A rule created by the script in an additional context. Its name is kept, as the rule may only be accessed while
+     * holding the lock of its context.
+     *
+     * @param name the name of the rule
+     * @param rule the rule
+     */
+    public record ReplicaRule(@Nullable String name, SimpleRule rule) {
+    }
+
+    /**
+     * An additional context of the script.
+     *
+     * @param lock synchronizes the access to the context
+     * @param rules the rules created by the script in this context, in the order of their creation
+     * @param context closes the context
+     */
+    public record Replica(Lock lock, List<ReplicaRule> rules, AutoCloseable context) {
+    }
+
+    /**
+     * Loads the script into a new additional context.
+     */
+    @FunctionalInterface
+    public interface ReplicaFactory {
+        Replica create() throws Exception;
+    }
+
+    /**
+     * A rule of a locked additional context, which is unlocked when the lease is closed.
+     *
+     * @param replica the locked additional context
+     * @param rule the rule to run
+     */
+    public record Lease(Replica replica, SimpleRule rule) implements AutoCloseable {
+        @Override
+        public void close() {
+            replica.lock().unlock();
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ContextPool.class);
+
+    private final String scriptName;
+    private final int maxReplicas;
+    private final ReplicaFactory replicaFactory;
+    private final Executor executor;
+
+    // guarded by this
+    private final List<@Nullable String> ruleNames = new ArrayList<>();
+    private final List<Replica> replicas = new ArrayList<>();
+    private int creating = 0;
+    private boolean failed = false;
+    private boolean closed = false;
+
+    /**
+     * Creates a pool without additional contexts.
+     *
+     * @param scriptName the name of the script used in log messages
+     * @param size the maximum number of contexts of the script, including its own context
+     * @param replicaFactory loads the script into a new additional context
+     * @param executor creates the additional contexts in the background
+     */
+    public ContextPool(String scriptName, int size, ReplicaFactory replicaFactory, Executor executor) {
+        this.scriptName = scriptName;
+        this.maxReplicas = size - 1;
+        this.replicaFactory = replicaFactory;
+        this.executor = executor;
+    }
+
+    /**
+     * Adds a rule created by the script in its own context.
+     *
+     * @param ruleName the name of the rule
+     * @return the position of the rule in the rules created by the script
+     */
+    synchronized int addRule(@Nullable String ruleName) {
+        ruleNames.add(ruleName);
+        return ruleNames.size() - 1;
+    }
+
+    /**
+     * Locks a free additional context that created the given rule. If there is none, an additional context is created
+     * in the background unless the pool is full.
+     *
+     * @param ruleIndex the position of the rule in the rules created by the script
+     * @return the rule of the locked additional context, or null if no additional context is free
+     */
+    synchronized @Nullable Lease lease(int ruleIndex) {
+        String ruleName = ruleNames.get(ruleIndex);
+        for (Replica replica : replicas) {
+            List<ReplicaRule> rules = replica.rules();
+            if (ruleIndex < rules.size()) {
+                ReplicaRule rule = rules.get(ruleIndex);
+                // the script may have created different rules in the additional context
+                if (Objects.equals(rule.name(), ruleName) && replica.lock().tryLock()) {
+                    return new Lease(replica, rule.rule());
+                }
+            }
+        }
+        if (!closed && !failed && replicas.size() + creating < maxReplicas) {
+            creating++;
+            executor.execute(this::createReplica);
+        }
+        return null;
+    }
+
+    private void createReplica() {
+        Replica replica = null;
+        try {
+            replica = replicaFactory.create();
+        } catch (Exception e) {
+            logger.warn("Failed to load script '{}' into an additional context: {}", scriptName, e.getMessage());
+        }
+        synchronized (this) {
+            creating--;
+            if (replica == null) {
+                failed = true;
+                return;
+            }
+            if (!closed) {
+                replicas.add(replica);
+                logger.debug("Loaded script '{}' into additional context {} of {}.", scriptName, replicas.size(),
+                        maxReplicas);
+                return;
+            }
+        }
+        close(replica);
+    }
+
+    /**
+     * Closes all additional contexts, waiting for the rules running in them. Additional contexts still being created
+     * are closed once they are loaded.
+     */
+    @Override
+    public void close() {
+        List<Replica> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = List.copyOf(replicas);
+            replicas.clear();
+        }
+        toClose.forEach(this::close);
+    }
+
+    private void close(Replica replica) {
+        try {
+            replica.context().close();
+        } catch (Exception e) {
+            logger.warn("Failed to close an additional context of script '{}': {}", scriptName, e.getMessage());
+        }
+    }
+}
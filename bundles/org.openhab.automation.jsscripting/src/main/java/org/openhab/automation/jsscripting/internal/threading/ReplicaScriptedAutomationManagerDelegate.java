@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal.threading;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.automation.Rule;
+import org.openhab.core.automation.module.script.rulesupport.shared.ScriptedAutomationManager;
+import org.openhab.core.automation.module.script.rulesupport.shared.ScriptedHandler;
+import org.openhab.core.automation.module.script.rulesupport.shared.simple.SimpleActionHandler;
+import org.openhab.core.automation.module.script.rulesupport.shared.simple.SimpleConditionHandler;
+import org.openhab.core.automation.module.script.rulesupport.shared.simple.SimpleRule;
+import org.openhab.core.automation.module.script.rulesupport.shared.simple.SimpleTriggerHandler;
+import org.openhab.core.automation.type.ActionType;
+import org.openhab.core.automation.type.ConditionType;
+import org.openhab.core.automation.type.TriggerType;
+
+/**
+ * A replacement for {@link ScriptedAutomationManager} in the additional contexts of a {@link ContextPool}, which
+ * collects the rules created by the script instead of registering them. Module types and handlers are only registered
+ * by the script's own context.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReplicaScriptedAutomationManagerDelegate {
+
+    private final List<ContextPool.ReplicaRule> rules;
+
+    /**
+     * @param rules collects the rules created by the script
+     */
+    public ReplicaScriptedAutomationManagerDelegate(List<ContextPool.ReplicaRule> rules) {
+        this.rules = rules;
+    }
+
+    public void removeModuleType(String UID) {
+    }
+
+    public void removeHandler(String typeUID) {
+    }
+
+    public void removePrivateHandler(String privId) {
+    }
+
+    public void removeAll() {
+    }
+
+    public Rule addRule(Rule element) {
+        // only simple rules are run in the additional contexts, see ThreadsafeWrappingScriptedAutomationManagerDelegate
+        if (element instanceof SimpleRule rule) {
+            rules.add(new ContextPool.ReplicaRule(rule.getName(), rule));
+        }
+        return element;
+    }
+
+    public void addConditionType(ConditionType condititonType) {
+    }
+
+    public void addConditionHandler(String uid, ScriptedHandler conditionHandler) {
+    }
+
+    public String addPrivateConditionHandler(SimpleConditionHandler conditionHandler) {
+        return "";
+    }
+
+    public void addActionType(ActionType actionType) {
+    }
+
+    public void addActionHandler(String uid, ScriptedHandler actionHandler) {
+    }
+
+    public String addPrivateActionHandler(SimpleActionHandler actionHandler) {
+        return "";
+    }
+
+    public void addTriggerType(TriggerType triggerType) {
+    }
+
+    public void addTriggerHandler(String uid, ScriptedHandler triggerHandler) {
+    }
+
+    public String addPrivateTriggerHandler(SimpleTriggerHandler triggerHandler) {
+        return "";
+    }
+}
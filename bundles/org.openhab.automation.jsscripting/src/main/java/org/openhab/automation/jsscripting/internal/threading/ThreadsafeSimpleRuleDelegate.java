@@ -19,6 +19,7 @@ import java.util.concurrent.locks.Lock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.jsscripting.internal.ScriptMetrics;
 import org.openhab.core.automation.Action;
 import org.openhab.core.automation.Condition;
 import org.openhab.core.automation.Module;
@@ -40,30 +41,70 @@ import org.openhab.core.config.core.Configuration;
 class ThreadsafeSimpleRuleDelegate implements Rule, SimpleRuleActionHandler {
 
     private final Lock lock;
+    private final @Nullable ScriptMetrics metrics;
     private final SimpleRule delegate;
+    private final @Nullable ContextPool contextPool;
+    private final int ruleIndex;
+    // the delegate may only be accessed while holding the lock
+    private final String ruleUID;
 
     /**
      * Constructor requires a lock object and delegate to forward invocations to.
      *
      * @param lock rule executions will synchronize on this object
+     * @param metrics measures the rule executions, or null if metrics are disabled
      * @param delegate the delegate to forward invocations to
+     * @param contextPool runs the rule in another context of the script while the lock is held, or null
+     * @param ruleIndex the position of the delegate in the rules created by the script, if there is a context pool
      */
-    ThreadsafeSimpleRuleDelegate(Lock lock, SimpleRule delegate) {
+    ThreadsafeSimpleRuleDelegate(Lock lock, @Nullable ScriptMetrics metrics, SimpleRule delegate,
+            @Nullable ContextPool contextPool, int ruleIndex) {
         this.lock = lock;
+        this.metrics = metrics;
         this.delegate = delegate;
+        this.contextPool = contextPool;
+        this.ruleIndex = ruleIndex;
+        this.ruleUID = delegate.getUID();
     }
 
     @Override
     @NonNullByDefault({})
     public Object execute(Action module, Map<String, ?> inputs) {
-        lock.lock();
+        long lockRequested = System.nanoTime();
+        ContextPool localContextPool = contextPool;
+        if (localContextPool == null || !lock.tryLock()) {
+            if (localContextPool != null) {
+                // the context of the script is busy, run the rule in a free additional context instead of waiting
+                ContextPool.Lease lease = localContextPool.lease(ruleIndex);
+                if (lease != null) {
+                    try (lease) {
+                        return execute(lease.rule(), module, inputs, lockRequested);
+                    }
+                }
+            }
+            lock.lock();
+        }
         try {
-            return delegate.execute(module, inputs);
+            return execute(delegate, module, inputs, lockRequested);
         } finally { // Make sure that Lock is unlocked regardless of an exception is thrown or not to avoid deadlocks
             lock.unlock();
         }
     }
 
+    private @Nullable Object execute(SimpleRule rule, Action module, Map<String, ?> inputs, long lockRequested) {
+        ScriptMetrics localMetrics = metrics;
+        if (localMetrics == null) {
+            return rule.execute(module, inputs);
+        }
+        localMetrics.recordRuleLockWait(ruleUID, System.nanoTime() - lockRequested);
+        ScriptMetrics.Invocation invocation = localMetrics.startRule(ruleUID);
+        try {
+            return rule.execute(module, inputs);
+        } finally {
+            invocation.stop();
+        }
+    }
+
     @Override
     public String getUID() {
         return delegate.getUID();
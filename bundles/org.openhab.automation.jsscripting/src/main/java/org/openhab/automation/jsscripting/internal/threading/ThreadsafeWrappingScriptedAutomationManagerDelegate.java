@@ -15,6 +15,8 @@ package org.openhab.automation.jsscripting.internal.threading;
 import java.util.concurrent.locks.Lock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.automation.jsscripting.internal.ScriptMetrics;
 import org.openhab.core.automation.Rule;
 import org.openhab.core.automation.module.script.rulesupport.shared.ScriptedAutomationManager;
 import org.openhab.core.automation.module.script.rulesupport.shared.ScriptedHandler;
@@ -29,7 +31,7 @@ import org.openhab.core.automation.type.TriggerType;
 /**
  * A replacement for {@link ScriptedAutomationManager} which wraps all rule registrations in a
  * {@link ThreadsafeSimpleRuleDelegate}. This means that all rules registered via this class with be run in serial per
- * instance of this class that they are registered with.
+ * instance of this class that they are registered with, unless the script has a {@link ContextPool}.
  *
  * @author Jonathan Gilbert - Initial contribution
  * @author Florian Hotze - Pass in lock object for multi-thread synchronization; Switch to {@link Lock} for multi-thread
@@ -40,10 +42,15 @@ public class ThreadsafeWrappingScriptedAutomationManagerDelegate {
 
     private ScriptedAutomationManager delegate;
     private final Lock lock;
+    private final @Nullable ScriptMetrics metrics;
+    private final @Nullable ContextPool contextPool;
 
-    public ThreadsafeWrappingScriptedAutomationManagerDelegate(ScriptedAutomationManager delegate, Lock lock) {
+    public ThreadsafeWrappingScriptedAutomationManagerDelegate(ScriptedAutomationManager delegate, Lock lock,
+            @Nullable ScriptMetrics metrics, @Nullable ContextPool contextPool) {
         this.delegate = delegate;
         this.lock = lock;
+        this.metrics = metrics;
+        this.contextPool = contextPool;
     }
 
     public void removeModuleType(String UID) {
@@ -65,7 +72,9 @@ public class ThreadsafeWrappingScriptedAutomationManagerDelegate {
     public Rule addRule(Rule element) {
         // wrap in a threadsafe version, safe per context
         if (element instanceof SimpleRule rule) {
-            element = new ThreadsafeSimpleRuleDelegate(lock, rule);
+            ContextPool localContextPool = contextPool;
+            element = new ThreadsafeSimpleRuleDelegate(lock, metrics, rule, localContextPool,
+                    localContextPool != null ? localContextPool.addRule(rule.getName()) : -1);
         }
 
         return delegate.addRule(element);
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.automation.jsscripting.internal.InvocationTracker.FirstInvocation;
+
+/**
+ * Tests the bookkeeping of nested invocations and the timing of the first invocation by the
+ * {@link InvocationTracker}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InvocationTrackerTest {
+
+    private long now = 1000;
+    private final InvocationTracker tracker = new InvocationTracker(() -> now);
+
+    @Test
+    public void firstInvocationIsTimedWhenItReturns() {
+        tracker.enter();
+        now += 30;
+        tracker.initialized();
+        now += 70;
+
+        assertThat(tracker.exit(), is(new FirstInvocation(100, 30)));
+    }
+
+    @Test
+    public void firstInvocationIncludesNestedInvocations() {
+        tracker.enter();
+        // e.g. the injection of the library while initializing the engine
+        tracker.enter();
+        now += 50;
+        assertThat(tracker.exit(), is(nullValue()));
+        now += 50;
+
+        assertThat(tracker.exit(), is(new FirstInvocation(100, 0)));
+    }
+
+    @Test
+    public void laterInvocationsAreNotTimed() {
+        tracker.enter();
+        tracker.exit();
+
+        tracker.enter();
+        tracker.initialized();
+        assertThat(tracker.exit(), is(nullValue()));
+    }
+
+    @Test
+    public void unbalancedExitIsRejected() {
+        assertThrows(IllegalStateException.class, tracker::exit);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.Reader;
+import java.util.Map;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.automation.module.script.ScriptEngineContainer;
+import org.openhab.core.automation.module.script.ScriptEngineManager;
+
+/**
+ * Tests the {@link JSScriptEngineWarmUp}.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class JSScriptEngineWarmUpTest {
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private @Mock @NonNullByDefault({}) ScriptEngineManager manager;
+    private @Mock @NonNullByDefault({}) ScriptEngineContainer container;
+    private @Mock @NonNullByDefault({}) ScriptEngine engine;
+
+    private @Nullable JSScriptEngineWarmUp warmUp;
+
+    @BeforeEach
+    public void setUp() {
+        when(manager.isSupported(GraalJSScriptEngineFactory.SCRIPT_TYPE)).thenReturn(true);
+        when(manager.createScriptEngine(eq(GraalJSScriptEngineFactory.SCRIPT_TYPE), anyString()))
+                .thenReturn(container);
+        when(container.getScriptEngine()).thenReturn(engine);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JSScriptEngineWarmUp localWarmUp = warmUp;
+        if (localWarmUp != null) {
+            localWarmUp.deactivate();
+        }
+    }
+
+    private void startWarmUp(int iterations) {
+        warmUp = new JSScriptEngineWarmUp(manager, Map.of("warmUpIterations", iterations));
+    }
+
+    @Test
+    public void noWarmUpByDefault() {
+        warmUp = new JSScriptEngineWarmUp(manager, Map.of());
+
+        verify(manager, after(200).never()).createScriptEngine(anyString(), anyString());
+    }
+
+    @Test
+    public void eachIterationLoadsTheLibraryIntoAThrowawayEngine() throws ScriptException {
+        startWarmUp(3);
+
+        verify(manager, timeout(TIMEOUT_MILLIS)).removeEngine("js-warmup-3");
+        verify(manager).createScriptEngine(GraalJSScriptEngineFactory.SCRIPT_TYPE, "js-warmup-1");
+        verify(manager).createScriptEngine(GraalJSScriptEngineFactory.SCRIPT_TYPE, "js-warmup-2");
+        verify(manager).createScriptEngine(GraalJSScriptEngineFactory.SCRIPT_TYPE, "js-warmup-3");
+        verify(manager).removeEngine("js-warmup-1");
+        verify(manager).removeEngine("js-warmup-2");
+        verify(engine, times(3)).eval(any(Reader.class));
+    }
+
+    @Test
+    public void failedIterationRemovesItsEngineAndStopsTheWarmUp() throws ScriptException {
+        when(engine.eval(any(Reader.class))).thenThrow(new ScriptException("failed"));
+
+        startWarmUp(3);
+
+        verify(manager, timeout(TIMEOUT_MILLIS)).removeEngine("js-warmup-1");
+        verify(manager, after(200).times(1)).createScriptEngine(anyString(), anyString());
+    }
+
+    @Test
+    public void warmUpWaitsForTheScriptEngineFactory() {
+        when(manager.isSupported(GraalJSScriptEngineFactory.SCRIPT_TYPE)).thenReturn(false, true);
+
+        startWarmUp(1);
+
+        verify(manager, timeout(TIMEOUT_MILLIS)).removeEngine("js-warmup-1");
+        verify(manager, times(2)).isSupported(GraalJSScriptEngineFactory.SCRIPT_TYPE);
+    }
+
+    @Test
+    public void deactivateStopsWaitingForTheScriptEngineFactory() {
+        when(manager.isSupported(GraalJSScriptEngineFactory.SCRIPT_TYPE)).thenReturn(false);
+
+        JSScriptEngineWarmUp localWarmUp = new JSScriptEngineWarmUp(manager, Map.of("warmUpIterations", 1));
+        verify(manager, timeout(TIMEOUT_MILLIS)).isSupported(GraalJSScriptEngineFactory.SCRIPT_TYPE);
+        localWarmUp.deactivate();
+
+        verify(manager, after(1500).times(1)).isSupported(GraalJSScriptEngineFactory.SCRIPT_TYPE);
+        verify(manager, never()).createScriptEngine(anyString(), anyString());
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests the {@link ScriptMetrics}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ScriptMetricsTest {
+
+    private final MockClock clock = new MockClock();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+    private final ScriptMetrics metrics = new ScriptMetrics(registry, "js", "test.js");
+
+    private Timer scriptTimer(String name) {
+        return registry.get(name).tags("language", "js", "script", "test.js").timer();
+    }
+
+    private Timer ruleTimer(String name, String rule) {
+        return registry.get(name).tags("language", "js", "script", "test.js", "rule", rule).timer();
+    }
+
+    @Test
+    public void onlyTheOutermostInvocationIsMeasured() {
+        metrics.invocationStarted();
+        clock.add(Duration.ofMillis(10));
+        metrics.invocationStarted();
+        clock.add(Duration.ofMillis(20));
+        metrics.invocationFinished();
+        clock.add(Duration.ofMillis(30));
+        metrics.invocationFinished();
+
+        Timer invocations = scriptTimer(ScriptMetrics.SCRIPT_INVOCATIONS);
+        assertThat(invocations.count(), is(1L));
+        assertThat(invocations.totalTime(TimeUnit.MILLISECONDS), is(60.0));
+    }
+
+    @Test
+    public void consecutiveInvocationsAreMeasuredSeparately() {
+        metrics.invocationStarted();
+        clock.add(Duration.ofMillis(10));
+        metrics.invocationFinished();
+        metrics.invocationStarted();
+        clock.add(Duration.ofMillis(20));
+        metrics.invocationFinished();
+
+        Timer invocations = scriptTimer(ScriptMetrics.SCRIPT_INVOCATIONS);
+        assertThat(invocations.count(), is(2L));
+        assertThat(invocations.max(TimeUnit.MILLISECONDS), is(20.0));
+    }
+
+    @Test
+    public void unbalancedFinishIsIgnored() {
+        metrics.invocationFinished();
+        metrics.invocationStarted();
+        clock.add(Duration.ofMillis(10));
+        metrics.invocationFinished();
+
+        assertThat(scriptTimer(ScriptMetrics.SCRIPT_INVOCATIONS).count(), is(1L));
+    }
+
+    @Test
+    public void lockWaitIsRecordedForTheScriptAndTheRule() {
+        metrics.recordLockWait(TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.recordRuleLockWait("rule1", TimeUnit.MILLISECONDS.toNanos(7));
+
+        Timer scriptLockWait = scriptTimer(ScriptMetrics.SCRIPT_LOCK_WAIT);
+        assertThat(scriptLockWait.count(), is(1L));
+        assertThat(scriptLockWait.totalTime(TimeUnit.MILLISECONDS), is(5.0));
+        Timer ruleLockWait = ruleTimer(ScriptMetrics.RULE_LOCK_WAIT, "rule1");
+        assertThat(ruleLockWait.count(), is(1L));
+        assertThat(ruleLockWait.totalTime(TimeUnit.MILLISECONDS), is(7.0));
+    }
+
+    @Test
+    public void ruleExecutionsAreMeasuredPerRule() {
+        ScriptMetrics.Invocation invocation = metrics.startRule("rule1");
+        clock.add(Duration.ofMillis(10));
+        invocation.stop();
+        invocation = metrics.startRule("rule2");
+        clock.add(Duration.ofMillis(20));
+        invocation.stop();
+
+        assertThat(ruleTimer(ScriptMetrics.RULE_INVOCATIONS, "rule1").totalTime(TimeUnit.MILLISECONDS), is(10.0));
+        assertThat(ruleTimer(ScriptMetrics.RULE_INVOCATIONS, "rule2").totalTime(TimeUnit.MILLISECONDS), is(20.0));
+        assertThat(scriptTimer(ScriptMetrics.SCRIPT_INVOCATIONS).count(), is(0L));
+    }
+
+    @Test
+    public void closeRemovesAllMeters() {
+        metrics.invocationStarted();
+        metrics.invocationFinished();
+        metrics.startRule("rule1").stop();
+        new ScriptMetrics(registry, "js", "other.js").recordLockWait(0);
+
+        metrics.close();
+
+        assertThat(registry.find(ScriptMetrics.SCRIPT_INVOCATIONS).tag("script", "test.js").meters(), is(empty()));
+        assertThat(registry.find(ScriptMetrics.RULE_INVOCATIONS).meters(), is(empty()));
+        assertThat(registry.find(ScriptMetrics.SCRIPT_INVOCATIONS).tag("script", "other.js").meters(), hasSize(1));
+        // including the gauges of the histogram buckets
+        assertThat(registry.getMeters().stream().map(meter -> meter.getId().getTag("script")).toList(),
+                everyItem(is("other.js")));
+    }
+}
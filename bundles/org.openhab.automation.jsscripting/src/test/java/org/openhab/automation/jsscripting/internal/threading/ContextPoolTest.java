@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.jsscripting.internal.threading;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.automation.Action;
+import org.openhab.core.automation.module.script.rulesupport.shared.simple.SimpleRule;
+
+/**
+ * Tests the {@link ContextPool} and how the {@link ThreadsafeSimpleRuleDelegate} runs rules in it.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class ContextPoolTest {
+
+    private @Mock @NonNullByDefault({}) SimpleRule rule;
+    private @Mock @NonNullByDefault({}) SimpleRule replicaRule;
+    private @Mock @NonNullByDefault({}) AutoCloseable replicaContext;
+    private @Mock @NonNullByDefault({}) Lock scriptLock;
+    private @Mock @NonNullByDefault({}) Action action;
+
+    private final ReentrantLock replicaLock = new ReentrantLock();
+    private final List<Runnable> backgroundTasks = new ArrayList<>();
+    private int createdReplicas = 0;
+
+    @BeforeEach
+    public void setUp() {
+        when(rule.getName()).thenReturn("rule");
+        when(rule.execute(any(), any())).thenReturn("script");
+        when(replicaRule.getName()).thenReturn("rule");
+        when(replicaRule.execute(any(), any())).thenReturn("replica");
+    }
+
+    private ContextPool createPool(int size, String... ruleNames) {
+        ContextPool pool = new ContextPool("test.js", size, () -> {
+            createdReplicas++;
+            return new ContextPool.Replica(replicaLock, List.of(new ContextPool.ReplicaRule("rule", replicaRule)),
+                    replicaContext);
+        }, backgroundTasks::add);
+        for (String ruleName : ruleNames) {
+            pool.addRule(ruleName);
+        }
+        return pool;
+    }
+
+    private void runBackgroundTasks() {
+        List<Runnable> tasks = List.copyOf(backgroundTasks);
+        backgroundTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private ContextPool.Lease lease(ContextPool pool) {
+        return Objects.requireNonNull(pool.lease(0));
+    }
+
+    private ContextPool.@Nullable Lease leaseInOtherThread(ContextPool pool) throws Exception {
+        // the lock of the additional context is reentrant
+        return CompletableFuture.supplyAsync(() -> pool.lease(0)).get();
+    }
+
+    @Test
+    public void additionalContextIsCreatedInTheBackgroundWhenAllContextsAreBusy() {
+        ContextPool pool = createPool(2, "rule");
+
+        assertThat(pool.lease(0), is(nullValue()));
+        assertThat(backgroundTasks, hasSize(1));
+        runBackgroundTasks();
+
+        ContextPool.Lease lease = lease(pool);
+        assertThat(lease.rule(), is(replicaRule));
+        assertThat(replicaLock.isLocked(), is(true));
+        lease.close();
+        assertThat(replicaLock.isLocked(), is(false));
+    }
+
+    @Test
+    public void poolDoesNotGrowBeyondItsSize() throws Exception {
+        ContextPool pool = createPool(2, "rule");
+
+        assertThat(pool.lease(0), is(nullValue()));
+        // the additional context is still being created
+        assertThat(pool.lease(0), is(nullValue()));
+        assertThat(backgroundTasks, hasSize(1));
+        runBackgroundTasks();
+
+        try (ContextPool.Lease lease = lease(pool)) {
+            assertThat(leaseInOtherThread(pool), is(nullValue()));
+        }
+        assertThat(backgroundTasks, is(empty()));
+        assertThat(createdReplicas, is(1));
+    }
+
+    @Test
+    public void poolOfSizeOneHasNoAdditionalContexts() {
+        ContextPool pool = createPool(1, "rule");
+
+        assertThat(pool.lease(0), is(nullValue()));
+        assertThat(backgroundTasks, is(empty()));
+    }
+
+    @Test
+    public void differentRulesOfAdditionalContextAreNotRun() {
+        ContextPool pool = createPool(2, "other", "rule");
+        pool.lease(0);
+        runBackgroundTasks();
+
+        assertThat(pool.lease(0), is(nullValue()));
+        assertThat(pool.lease(1), is(nullValue()));
+        assertThat(replicaLock.isLocked(), is(false));
+    }
+
+    @Test
+    public void failedAdditionalContextIsNotCreatedAgain() {
+        ContextPool pool = new ContextPool("test.js", 2, () -> {
+            throw new IllegalStateException("failed");
+        }, backgroundTasks::add);
+        pool.addRule("rule");
+
+        pool.lease(0);
+        runBackgroundTasks();
+
+        assertThat(pool.lease(0), is(nullValue()));
+        assertThat(backgroundTasks, is(empty()));
+    }
+
+    @Test
+    public void closeClosesAdditionalContexts() throws Exception {
+        ContextPool pool = createPool(2, "rule");
+        pool.lease(0);
+        runBackgroundTasks();
+
+        pool.close();
+
+        verify(replicaContext).close();
+        assertThat(pool.lease(0), is(nullValue()));
+        assertThat(backgroundTasks, is(empty()));
+    }
+
+    @Test
+    public void additionalContextLoadedAfterCloseIsClosed() throws Exception {
+        ContextPool pool = createPool(2, "rule");
+        pool.lease(0);
+
+        pool.close();
+        runBackgroundTasks();
+
+        verify(replicaContext).close();
+        assertThat(pool.lease(0), is(nullValue()));
+    }
+
+    @Test
+    public void ruleRunsInTheContextOfTheScriptIfItIsFree() {
+        when(scriptLock.tryLock()).thenReturn(true);
+        ThreadsafeSimpleRuleDelegate delegate = new ThreadsafeSimpleRuleDelegate(scriptLock, null, rule,
+                createPool(2, "rule"), 0);
+
+        assertThat(delegate.execute(action, Map.of()), is("script"));
+
+        verify(scriptLock).unlock();
+        verify(scriptLock, never()).lock();
+        assertThat(backgroundTasks, is(empty()));
+    }
+
+    @Test
+    public void ruleRunsInAFreeAdditionalContextIfTheContextOfTheScriptIsBusy() {
+        when(scriptLock.tryLock()).thenReturn(false);
+        ThreadsafeSimpleRuleDelegate delegate = new ThreadsafeSimpleRuleDelegate(scriptLock, null, rule,
+                createPool(2, "rule"), 0);
+
+        // waits for the context of the script while the additional context is created
+        assertThat(delegate.execute(action, Map.of()), is("script"));
+        verify(scriptLock).lock();
+        runBackgroundTasks();
+
+        assertThat(delegate.execute(action, Map.of()), is("replica"));
+        verify(scriptLock, times(1)).lock();
+        verify(scriptLock, times(1)).unlock();
+        assertThat(replicaLock.isLocked(), is(false));
+    }
+
+    @Test
+    public void ruleWaitsForTheContextOfTheScriptWithoutPool() {
+        ThreadsafeSimpleRuleDelegate delegate = new ThreadsafeSimpleRuleDelegate(scriptLock, null, rule, null, -1);
+
+        assertThat(delegate.execute(action, Map.of()), is("script"));
+
+        verify(scriptLock, never()).tryLock();
+        verify(scriptLock).lock();
+        verify(scriptLock).unlock();
+    }
+}
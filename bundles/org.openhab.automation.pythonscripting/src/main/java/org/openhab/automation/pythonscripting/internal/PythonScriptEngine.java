@@ -63,6 +63,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.event.Level;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * GraalPython ScriptEngine implementation
  *
@@ -131,7 +133,7 @@ public class PythonScriptEngine
             .build();
 
     /** {@link Lock} synchronization of multi-thread access */
-    private final Lock lock = new ReentrantLock();
+    private final ReentrantLock lock = new ReentrantLock();
 
     // these fields start as null because they are populated on first use
     private @Nullable Consumer<String> scriptDependencyListener;
@@ -139,6 +141,8 @@ public class PythonScriptEngine
     private final LifecycleTracker lifecycleTracker;
 
     private PythonScriptEngineConfiguration pythonScriptEngineConfiguration;
+    private final MeterRegistry meterRegistry;
+    private @Nullable ScriptMetrics metrics;
 
     private boolean initialized = false;
     private boolean closed = false;
@@ -151,8 +155,9 @@ public class PythonScriptEngine
      * that tracks the script lifecycle and provides hooks for scripts to do so too.
      */
     public PythonScriptEngine(PythonDependencyTracker pythonDependencyTracker,
-            PythonScriptEngineConfiguration pythonScriptEngineConfiguration) {
+            PythonScriptEngineConfiguration pythonScriptEngineConfiguration, MeterRegistry meterRegistry) {
         this.pythonScriptEngineConfiguration = pythonScriptEngineConfiguration;
+        this.meterRegistry = meterRegistry;
 
         scriptOutputStream = new LogOutputStream(logger, Level.INFO);
         scriptErrorStream = new LogOutputStream(logger, Level.ERROR);
@@ -228,10 +233,13 @@ public class PythonScriptEngine
 
     @Override
     protected void beforeInvocation() {
+        long lockRequested = System.nanoTime();
         lock.lock();
         logger.debug("Lock acquired before invocation.");
+        recordLockWait(lockRequested);
 
         if (initialized) {
+            invocationStarted();
             return;
         }
 
@@ -294,7 +302,12 @@ public class PythonScriptEngine
             setScriptLogger();
         }
 
+        if (pythonScriptEngineConfiguration.isMetricsEnabled()) {
+            metrics = new ScriptMetrics(meterRegistry, "python", scriptName(ctx, engineIdentifier));
+        }
+
         initialized = true;
+        invocationStarted();
     }
 
     @Override
@@ -312,6 +325,7 @@ public class PythonScriptEngine
 
     @Override
     protected Object afterInvocation(Object obj) {
+        invocationFinished();
         lock.unlock();
         logger.debug("Lock released after invocation.");
         return super.afterInvocation(obj);
@@ -334,11 +348,34 @@ public class PythonScriptEngine
                     stringifyThrowable(e.getCause()));
         }
 
+        invocationFinished();
         lock.unlock();
 
         return super.afterThrowsInvocation(e);
     }
 
+    private void recordLockWait(long lockRequested) {
+        ScriptMetrics localMetrics = metrics;
+        // only the first acquisition can have waited
+        if (localMetrics != null && lock.getHoldCount() == 1) {
+            localMetrics.recordLockWait(System.nanoTime() - lockRequested);
+        }
+    }
+
+    private void invocationStarted() {
+        ScriptMetrics localMetrics = metrics;
+        if (localMetrics != null) {
+            localMetrics.invocationStarted();
+        }
+    }
+
+    private void invocationFinished() {
+        ScriptMetrics localMetrics = metrics;
+        if (localMetrics != null) {
+            localMetrics.invocationFinished();
+        }
+    }
+
     @Override
     // collect JSR223 (scope) variables separately, because they are delivered via 'import scope'
     public void put(String key, Object value) {
@@ -360,13 +397,17 @@ public class PythonScriptEngine
 
     @Override
     public void lock() {
+        long lockRequested = System.nanoTime();
         lock.lock();
         logger.debug("Lock acquired.");
+        recordLockWait(lockRequested);
     }
 
     @Override
     public void lockInterruptibly() throws InterruptedException {
+        long lockRequested = System.nanoTime();
         lock.lockInterruptibly();
+        recordLockWait(lockRequested);
     }
 
     @Override
@@ -378,8 +419,12 @@ public class PythonScriptEngine
 
     @Override
     public boolean tryLock(long l, TimeUnit timeUnit) throws InterruptedException {
+        long lockRequested = System.nanoTime();
         boolean acquired = lock.tryLock(l, timeUnit);
         logger.debug("{}", acquired ? "Lock acquired." : "Lock not acquired.");
+        if (acquired) {
+            recordLockWait(lockRequested);
+        }
         return acquired;
     }
 
@@ -409,6 +454,11 @@ public class PythonScriptEngine
 
             logger.debug("Engine closed.");
 
+            ScriptMetrics localMetrics = metrics;
+            if (localMetrics != null) {
+                localMetrics.close();
+            }
+
             closed = true;
         } else {
             logger.debug("Engine already disposed and closed.");
@@ -450,6 +500,19 @@ public class PythonScriptEngine
         scriptErrorStream.setLogger(scriptLogger);
     }
 
+    /**
+     * Gets the name of the script used in metrics: the file name of file-based scripts, the rule UID of UI-based
+     * scripts or the engine identifier otherwise.
+     */
+    private String scriptName(ScriptContext ctx, String engineIdentifier) {
+        Object fileName = ctx.getAttribute("javax.script.filename");
+        if (fileName != null) {
+            return fileName.toString().replaceAll("^.*[/\\\\]", "");
+        }
+        Object ruleUID = ctx.getAttribute("ruleUID");
+        return ruleUID != null ? ruleUID.toString() : engineIdentifier;
+    }
+
     private ScriptContext getScriptContext() {
         ScriptContext ctx = delegate.getContext();
         if (ctx == null) {
@@ -35,6 +35,7 @@ public class PythonScriptEngineConfiguration {
     private static final String CFG_DEPENDENCY_TRACKING_ENABLED = "dependencyTrackingEnabled";
     private static final String CFG_CACHING_ENABLED = "cachingEnabled";
     private static final String CFG_JYTHON_EMULATION = "jythonEmulation";
+    private static final String CFG_METRICS_ENABLED = "metricsEnabled";
 
     public static final int INJECTION_DISABLED = 0;
     public static final int INJECTION_ENABLED_FOR_ALL_SCRIPTS = 1;
@@ -45,6 +46,7 @@ public class PythonScriptEngineConfiguration {
     private boolean dependencyTrackingEnabled = false;
     private boolean cachingEnabled = false;
     private boolean jythonEmulation = false;
+    private boolean metricsEnabled = false;
 
     /**
      * Update configuration
@@ -62,6 +64,7 @@ public class PythonScriptEngineConfiguration {
                 Boolean.class, true);
         this.cachingEnabled = ConfigParser.valueAsOrElse(config.get(CFG_CACHING_ENABLED), Boolean.class, true);
         this.jythonEmulation = ConfigParser.valueAsOrElse(config.get(CFG_JYTHON_EMULATION), Boolean.class, false);
+        this.metricsEnabled = ConfigParser.valueAsOrElse(config.get(CFG_METRICS_ENABLED), Boolean.class, false);
     }
 
     public boolean isScopeEnabled() {
@@ -87,4 +90,8 @@ public class PythonScriptEngineConfiguration {
     public boolean isJythonEmulation() {
         return jythonEmulation;
     }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
 }
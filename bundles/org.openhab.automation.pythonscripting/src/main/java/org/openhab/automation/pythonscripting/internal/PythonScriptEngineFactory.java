@@ -43,6 +43,7 @@ import org.openhab.core.OpenHAB;
 import org.openhab.core.automation.module.script.ScriptDependencyTracker;
 import org.openhab.core.automation.module.script.ScriptEngineFactory;
 import org.openhab.core.config.core.ConfigurableService;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.osgi.framework.Constants;
 import org.osgi.framework.FrameworkUtil;
 import org.osgi.service.component.annotations.Activate;
@@ -81,13 +82,15 @@ public class PythonScriptEngineFactory implements ScriptEngineFactory {
 
     private final PythonDependencyTracker pythonDependencyTracker;
     private final PythonScriptEngineConfiguration pythonScriptEngineConfiguration;
+    private final MeterRegistryProvider meterRegistryProvider;
 
     @Activate
     public PythonScriptEngineFactory(final @Reference PythonDependencyTracker pythonDependencyTracker,
-            Map<String, Object> config) {
+            final @Reference MeterRegistryProvider meterRegistryProvider, Map<String, Object> config) {
         logger.debug("Loading PythonScriptEngineFactory");
 
         this.pythonDependencyTracker = pythonDependencyTracker;
+        this.meterRegistryProvider = meterRegistryProvider;
         this.pythonScriptEngineConfiguration = new PythonScriptEngineConfiguration();
 
         modified(config);
@@ -124,7 +127,8 @@ public class PythonScriptEngineFactory implements ScriptEngineFactory {
         if (!scriptTypes.contains(scriptType)) {
             return null;
         }
-        return new PythonScriptEngine(pythonDependencyTracker, pythonScriptEngineConfiguration);
+        return new PythonScriptEngine(pythonDependencyTracker, pythonScriptEngineConfiguration,
+                meterRegistryProvider.getOHMeterRegistry());
     }
 
     @Override
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.automation.pythonscripting.internal;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Measures the invocations of a script and publishes them to a {@link MeterRegistry}: the number and duration of the
+ * invocations, the time spent waiting for the lock of the script and the memory allocated by the invocations. The
+ * script meters are tagged with the language and the script, the meters of rules created by the script are published
+ * under separate names and additionally tagged with the rule.
+ *
+ * The invocations of the script itself have to be started and finished while holding the lock of the script.
+ *
+ * This class is kept identical in the JavaScript and Python Scripting bundles apart from the package.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ScriptMetrics {
+    public static final String SCRIPT_INVOCATIONS = "openhab.automation.script.invocations";
+    public static final String SCRIPT_LOCK_WAIT = "openhab.automation.script.lock.wait";
+    public static final String SCRIPT_ALLOCATED_BYTES = "openhab.automation.script.allocated";
+    public static final String RULE_INVOCATIONS = "openhab.automation.rule.invocations";
+    public static final String RULE_LOCK_WAIT = "openhab.automation.rule.lock.wait";
+    public static final String RULE_ALLOCATED_BYTES = "openhab.automation.rule.allocated";
+
+    private static final Duration[] LATENCY_BUCKETS = { Duration.ofMillis(10), Duration.ofMillis(50),
+            Duration.ofMillis(100), Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(5) };
+
+    private static final com.sun.management.@Nullable ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+
+    private static com.sun.management.@Nullable ThreadMXBean threadMXBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean;
+            }
+        } catch (LinkageError e) {
+            // not a HotSpot based runtime
+        }
+        return null;
+    }
+
+    private record Meters(Timer invocations, Timer lockWait, DistributionSummary allocated) {
+    }
+
+    /**
+     * A running invocation, to be stopped when it returns.
+     */
+    public class Invocation {
+        private final Meters meters;
+        private final long start = clock.monotonicTime();
+        private final long allocatedAtStart = allocatedBytes();
+
+        private Invocation(Meters meters) {
+            this.meters = meters;
+        }
+
+        public void stop() {
+            meters.invocations.record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+            if (allocatedAtStart >= 0) {
+                meters.allocated.record(allocatedBytes() - allocatedAtStart);
+            }
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final Clock clock;
+    private final Tags tags;
+    private final Meters scriptMeters;
+    private final Map<String, Meters> ruleMeters = new ConcurrentHashMap<>();
+
+    // the outermost invocation of the script is measured, guarded by the lock of the script
+    private int depth = 0;
+    private @Nullable Invocation invocation;
+
+    /**
+     * @param registry the registry to publish the meters to
+     * @param language the language of the script
+     * @param script the identifier of the script
+     */
+    public ScriptMetrics(MeterRegistry registry, String language, String script) {
+        this.registry = registry;
+        this.clock = registry.config().clock();
+        this.tags = Tags.of("language", language, "script", script);
+        this.scriptMeters = meters(SCRIPT_INVOCATIONS, SCRIPT_LOCK_WAIT, SCRIPT_ALLOCATED_BYTES, tags);
+    }
+
+    /**
+     * Called when an invocation of the script starts. Nested invocations are measured as part of the outermost one.
+     */
+    public void invocationStarted() {
+        if (depth++ == 0) {
+            invocation = new Invocation(scriptMeters);
+        }
+    }
+
+    /**
+     * Called when an invocation of the script returns, normally or by throwing.
+     */
+    public void invocationFinished() {
+        if (depth == 0 || --depth > 0) {
+            return;
+        }
+        Invocation localInvocation = invocation;
+        if (localInvocation != null) {
+            localInvocation.stop();
+            invocation = null;
+        }
+    }
+
+    /**
+     * Record the time it took to acquire the lock of the script for the script itself.
+     *
+     * @param nanos the time waited in nanoseconds
+     */
+    public void recordLockWait(long nanos) {
+        scriptMeters.lockWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Start measuring an execution of a rule created by the script.
+     *
+     * @param rule the UID of the rule
+     * @return the invocation, to be stopped when it returns
+     */
+    public Invocation startRule(String rule) {
+        return new Invocation(ruleMeters(rule));
+    }
+
+    /**
+     * Record the time it took to acquire the lock of the script for a rule created by the script.
+     *
+     * @param rule the UID of the rule
+     * @param nanos the time waited in nanoseconds
+     */
+    public void recordRuleLockWait(String rule, long nanos) {
+        ruleMeters(rule).lockWait.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Remove all meters of the script and its rules from the registry.
+     */
+    public void close() {
+        remove(scriptMeters);
+        ruleMeters.values().forEach(this::remove);
+        ruleMeters.clear();
+    }
+
+    private Meters ruleMeters(String rule) {
+        return ruleMeters.computeIfAbsent(rule,
+                r -> meters(RULE_INVOCATIONS, RULE_LOCK_WAIT, RULE_ALLOCATED_BYTES, tags.and("rule", r)));
+    }
+
+    private Meters meters(String invocations, String lockWait, String allocated, Tags meterTags) {
+        return new Meters(
+                Timer.builder(invocations).description("Invocations of scripts and their rules").tags(meterTags)
+                        .serviceLevelObjectives(LATENCY_BUCKETS).register(registry),
+                Timer.builder(lockWait).description("Time waited for the lock of a script").tags(meterTags)
+                        .register(registry),
+                DistributionSummary.builder(allocated).description("Memory allocated by invocations").baseUnit("bytes")
+                        .tags(meterTags).register(registry));
+    }
+
+    private void remove(Meters meters) {
+        registry.remove(meters.invocations);
+        registry.remove(meters.lockWait);
+        registry.remove(meters.allocated);
+    }
+
+    /**
+     * @return the bytes allocated by the current thread so far, or -1 if not supported by the runtime
+     */
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean bean = THREAD_MX_BEAN;
+        return bean != null ? bean.getCurrentThreadAllocatedBytes() : -1;
+    }
+}
@@ -167,6 +167,8 @@ public class HttpThingHandler extends BaseThingHandler implements HttpStatusList
             rateLimitedHttpClient.setHttpClient(httpClientProvider.getSecureClient());
         }
         rateLimitedHttpClient.setDelay(config.delay);
+        rateLimitedHttpClient.setBurst(Math.max(1, config.burst));
+        rateLimitedHttpClient.setMaxConcurrentRequests(Math.max(0, config.maxConcurrentRequests));
 
         // remove empty headers
         config.headers.removeIf(String::isBlank);
@@ -13,9 +13,17 @@
 package org.openhab.binding.http.internal.http;
 
 import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -36,21 +44,43 @@ import org.slf4j.LoggerFactory;
  * The {@link RateLimitedHttpClient} is a wrapper for a Jetty HTTP client that limits the number of requests by delaying
  * the request creation
  *
+ * The limits apply to each host separately: every host has a token bucket that allows a burst of requests and is
+ * refilled with one token per delay, and optionally a maximum number of concurrent requests. Hosts with waiting
+ * requests are served in turn, so a slow host does not delay the requests to other hosts.
+ *
+ * A request counts as running from its creation until it has completed. A request that is not sent, e.g. because the
+ * future was cancelled or its dependent stages failed, stops counting as running at the latest after 10 seconds.
+ *
  * @author Jan N. Klug - Initial contribution
  */
 @NonNullByDefault
 public class RateLimitedHttpClient {
-    private static final int MAX_QUEUE_SIZE = 1000; // maximum queue size
+    private static final int MAX_QUEUE_SIZE = 1000; // maximum queue size per host
+    private static final long MAX_SEND_DELAY = 10000; // ms a request may take to be sent before its slot is released
     private final Logger logger = LoggerFactory.getLogger(RateLimitedHttpClient.class);
 
     private HttpClient httpClient;
-    private int delay = 0; // in ms
+    private volatile int delay = 0; // in ms
+    private volatile int burst = 1;
+    private volatile int maxConcurrentRequests = 0; // 0 = unlimited
     private final ScheduledExecutorService scheduler;
-    private final LinkedBlockingQueue<RequestQueueEntry> requestQueue = new LinkedBlockingQueue<>(MAX_QUEUE_SIZE);
-    private final LinkedBlockingQueue<RequestQueueEntry> priorityRequestQueue = new LinkedBlockingQueue<>(
-            MAX_QUEUE_SIZE);
 
+    // all guarded by this, the iteration order is the order in which the hosts are served
+    private final Map<String, HostQueue> hostQueues = new LinkedHashMap<>();
+    private final Map<String, QueueWaitCounter> queueWaits = new HashMap<>();
     private @Nullable ScheduledFuture<?> processJob;
+    private long processJobTime;
+
+    /**
+     * The time requests to a host spent waiting in the queue
+     *
+     * @param requests the number of requests sent
+     * @param averageMillis the average waiting time in ms
+     * @param maxMillis the maximum waiting time in ms
+     * @param duplicates the number of requests dropped since an identical request was already waiting
+     */
+    public record QueueWait(long requests, long averageMillis, long maxMillis, long duplicates) {
+    }
 
     public RateLimitedHttpClient(HttpClient httpClient, ScheduledExecutorService scheduler) {
         this.httpClient = httpClient;
@@ -61,24 +91,61 @@ public class RateLimitedHttpClient {
      * Stop processing the queue and clear it
      */
     public void shutdown() {
-        stopProcessJob();
-        requestQueue.forEach(RequestQueueEntry::cancel);
+        List<RequestQueueEntry> entries = new ArrayList<>();
+        synchronized (this) {
+            stopProcessJob();
+            hostQueues.values().forEach(hostQueue -> {
+                entries.addAll(hostQueue.priorityRequests);
+                entries.addAll(hostQueue.requests);
+            });
+            hostQueues.clear();
+            if (logger.isDebugEnabled()) {
+                getQueueWaits().forEach((host, wait) -> logger.debug(
+                        "Requests to '{}': {} sent, waited {} ms on average and {} ms at most, {} duplicates dropped",
+                        host, wait.requests(), wait.averageMillis(), wait.maxMillis(), wait.duplicates()));
+            }
+            queueWaits.clear();
+        }
+        entries.forEach(RequestQueueEntry::cancel);
     }
 
     /**
      * Set a new delay
      *
-     * @param delay in ms between to requests
+     * @param delay in ms between to requests to the same host
      */
     public void setDelay(int delay) {
         if (delay < 0) {
             throw new IllegalArgumentException("Delay needs to be larger or equal to zero");
         }
         this.delay = delay;
-        stopProcessJob();
-        if (delay != 0) {
-            processJob = scheduler.scheduleWithFixedDelay(this::processQueue, 0, delay, TimeUnit.MILLISECONDS);
+        processQueue();
+    }
+
+    /**
+     * Set the number of requests that may be sent to a host without delay after it has been idle
+     *
+     * @param burst the number of requests, at least 1
+     */
+    public void setBurst(int burst) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst needs to be larger than zero");
+        }
+        this.burst = burst;
+        processQueue();
+    }
+
+    /**
+     * Set the maximum number of requests to the same host that are sent and not yet completed
+     *
+     * @param maxConcurrentRequests the maximum number, 0 for unlimited
+     */
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 0) {
+            throw new IllegalArgumentException("Maximum concurrent requests needs to be larger or equal to zero");
         }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        processQueue();
     }
 
     /**
@@ -93,6 +160,9 @@ public class RateLimitedHttpClient {
     /**
      * Create a new request to the given URL respecting rate-limits
      *
+     * A GET request is dropped (completed with a {@link CancellationException}) if an identical request is already
+     * waiting, as that request will return the same data.
+     *
      * @param finalUrl the request URL
      * @param method http request method GET/PUT/POST
      * @param content the content (if method PUT/POST)
@@ -100,7 +170,7 @@ public class RateLimitedHttpClient {
      */
     public CompletableFuture<Request> newRequest(URI finalUrl, HttpMethod method, String content,
             @Nullable String contentType) {
-        return queueRequest(finalUrl, method, content, contentType, requestQueue);
+        return queueRequest(finalUrl, method, content, contentType, false);
     }
 
     /**
@@ -113,25 +183,52 @@ public class RateLimitedHttpClient {
      */
     public CompletableFuture<Request> newPriorityRequest(URI finalUrl, HttpMethod method, String content,
             @Nullable String contentType) {
-        return queueRequest(finalUrl, method, content, contentType, priorityRequestQueue);
+        return queueRequest(finalUrl, method, content, contentType, true);
     }
 
     private CompletableFuture<Request> queueRequest(URI finalUrl, HttpMethod method, String content,
-            @Nullable String contentType, LinkedBlockingQueue<RequestQueueEntry> queue) {
-        // if no delay is set, return a completed CompletableFuture
+            @Nullable String contentType, boolean priority) {
         CompletableFuture<Request> future = new CompletableFuture<>();
         RequestQueueEntry queueEntry = new RequestQueueEntry(finalUrl, method, content, contentType, future);
-        if (delay == 0) {
-            queueEntry.completeFuture(httpClient);
-        } else {
-            if (!queue.offer(queueEntry)) {
+        if (delay == 0 && maxConcurrentRequests == 0) {
+            // if no limit is set, return a completed CompletableFuture
+            queueEntry.completeFuture(httpClient, null);
+            return future;
+        }
+        String host = Objects.requireNonNullElse(finalUrl.getHost(), "");
+        if (finalUrl.getPort() != -1) {
+            host += ":" + finalUrl.getPort();
+        }
+        synchronized (this) {
+            HostQueue hostQueue = hostQueues.computeIfAbsent(host, HostQueue::new);
+            Deque<RequestQueueEntry> queue = priority ? hostQueue.priorityRequests : hostQueue.requests;
+            if (!priority && method == HttpMethod.GET
+                    && queue.stream().anyMatch(entry -> entry.method == method && entry.finalUrl.equals(finalUrl))) {
+                queueWait(host).duplicates++;
+                future.completeExceptionally(new CancellationException("Identical request already queued."));
+                return future;
+            }
+            if (queue.size() >= MAX_QUEUE_SIZE) {
                 future.completeExceptionally(new RejectedExecutionException("Maximum queue size exceeded."));
+                return future;
             }
-
+            queue.add(queueEntry);
         }
+        processQueue();
         return future;
     }
 
+    /**
+     * Get the time the requests spent waiting in the queue, per host
+     *
+     * @return the waiting times since the last shutdown
+     */
+    public synchronized Map<String, QueueWait> getQueueWaits() {
+        Map<String, QueueWait> result = new HashMap<>();
+        queueWaits.forEach((host, wait) -> result.put(host, wait.toQueueWait()));
+        return result;
+    }
+
     /**
      * Get the {@link AuthenticationStore} from the wrapped {@link HttpClient}
      *
@@ -169,16 +266,205 @@ public class RateLimitedHttpClient {
     }
 
     /**
-     * Gets a request from either the priority queue or tge regular queue and creates the request
+     * Creates the requests that are allowed by the limits of their hosts and schedules the next run if requests have
+     * to wait for their host's delay
      */
     private void processQueue() {
-        RequestQueueEntry queueEntry = priorityRequestQueue.poll();
-        if (queueEntry == null) {
-            // no entry in priorityRequestQueue, try the regular queue
-            queueEntry = requestQueue.poll();
+        List<Map.Entry<RequestQueueEntry, HostQueue>> ready = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            long delayNanos = TimeUnit.MILLISECONDS.toNanos(delay);
+            boolean progress = true;
+            // one request per host and round, so that every host gets its turn
+            while (progress) {
+                progress = false;
+                for (HostQueue hostQueue : hostQueues.values()) {
+                    if (hostQueue.isEmpty() || !hostQueue.tryAcquire(now, delayNanos)) {
+                        continue;
+                    }
+                    RequestQueueEntry queueEntry = hostQueue.poll();
+                    QueueWaitCounter wait = queueWait(hostQueue.host);
+                    long waitNanos = now - queueEntry.queued;
+                    wait.requests++;
+                    wait.totalNanos += waitNanos;
+                    wait.maxNanos = Math.max(wait.maxNanos, waitNanos);
+                    ready.add(Map.entry(queueEntry, hostQueue));
+                    progress = true;
+                }
+            }
+
+            long nextRun = Long.MAX_VALUE;
+            for (Iterator<HostQueue> iterator = hostQueues.values().iterator(); iterator.hasNext();) {
+                HostQueue hostQueue = iterator.next();
+                if (hostQueue.isIdle(now, delayNanos)) {
+                    iterator.remove();
+                } else if (!hostQueue.isEmpty() && !hostQueue.isBusy()) {
+                    // waiting for a token, busy hosts are processed again when a request completes
+                    nextRun = Math.min(nextRun, hostQueue.nanosUntilToken(delayNanos));
+                }
+            }
+            if (nextRun != Long.MAX_VALUE) {
+                scheduleProcessJob(now, nextRun);
+            }
         }
-        if (queueEntry != null) {
-            queueEntry.completeFuture(httpClient);
+        HttpClient httpClient = this.httpClient;
+        ready.forEach(entry -> entry.getKey().completeFuture(httpClient, new Slot(entry.getValue())));
+    }
+
+    // guarded by this
+    private void scheduleProcessJob(long now, long delayNanos) {
+        long time = now + delayNanos;
+        ScheduledFuture<?> processJob = this.processJob;
+        if (processJob != null && !processJob.isDone()) {
+            if (processJobTime - time <= 0) {
+                return;
+            }
+            processJob.cancel(false);
+        }
+        processJobTime = time;
+        this.processJob = scheduler.schedule(this::runProcessJob, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void runProcessJob() {
+        synchronized (this) {
+            // allow scheduling the next run
+            processJob = null;
+        }
+        processQueue();
+    }
+
+    // guarded by this
+    private QueueWaitCounter queueWait(String host) {
+        return Objects.requireNonNull(queueWaits.computeIfAbsent(host, h -> new QueueWaitCounter()));
+    }
+
+    private static class QueueWaitCounter {
+        long requests;
+        long totalNanos;
+        long maxNanos;
+        long duplicates;
+
+        QueueWait toQueueWait() {
+            return new QueueWait(requests, requests == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos / requests),
+                    TimeUnit.NANOSECONDS.toMillis(maxNanos), duplicates);
+        }
+    }
+
+    /**
+     * The waiting requests and the limits of a single host, guarded by the {@link RateLimitedHttpClient}
+     */
+    private class HostQueue {
+        private final String host;
+        private final Deque<RequestQueueEntry> priorityRequests = new ArrayDeque<>();
+        private final Deque<RequestQueueEntry> requests = new ArrayDeque<>();
+        private double tokens = burst;
+        private long lastRefill = System.nanoTime();
+        private int running;
+
+        HostQueue(String host) {
+            this.host = host;
+        }
+
+        boolean isEmpty() {
+            return priorityRequests.isEmpty() && requests.isEmpty();
+        }
+
+        boolean isBusy() {
+            return maxConcurrentRequests > 0 && running >= maxConcurrentRequests;
+        }
+
+        boolean isIdle(long now, long delayNanos) {
+            refill(now, delayNanos);
+            return isEmpty() && running == 0 && tokens >= burst;
+        }
+
+        RequestQueueEntry poll() {
+            RequestQueueEntry queueEntry = priorityRequests.poll();
+            return queueEntry != null ? queueEntry : Objects.requireNonNull(requests.poll());
+        }
+
+        boolean tryAcquire(long now, long delayNanos) {
+            if (isBusy()) {
+                return false;
+            }
+            refill(now, delayNanos);
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            running++;
+            return true;
+        }
+
+        long nanosUntilToken(long delayNanos) {
+            return (long) Math.ceil((1 - tokens) * delayNanos);
+        }
+
+        private void refill(long now, long delayNanos) {
+            tokens = delayNanos == 0 ? burst
+                    : Math.min(burst, tokens + (double) (now - lastRefill) / delayNanos);
+            lastRefill = now;
+        }
+    }
+
+    /**
+     * The running request acquired from a {@link HostQueue}, which is released exactly once
+     */
+    private class Slot {
+        private final HostQueue hostQueue;
+        // guarded by the RateLimitedHttpClient
+        private boolean sent;
+        private boolean released;
+
+        Slot(HostQueue hostQueue) {
+            this.hostQueue = hostQueue;
+        }
+
+        /**
+         * complete the future of a queue entry with its request, and release this slot when the request has completed
+         * or if it is not sent
+         *
+         * @param future the future of the queue entry
+         * @param request the request
+         */
+        void complete(CompletableFuture<Request> future, Request request) {
+            request.onRequestQueued(r -> sent());
+            request.onComplete(result -> release());
+            if (future.complete(request)) {
+                // the request may be dropped or a dependent stage may fail before sending it
+                scheduler.schedule(this::releaseIfNotSent, MAX_SEND_DELAY, TimeUnit.MILLISECONDS);
+            } else {
+                // the future was cancelled
+                release();
+            }
+        }
+
+        private void sent() {
+            synchronized (RateLimitedHttpClient.this) {
+                sent = true;
+            }
+        }
+
+        private void releaseIfNotSent() {
+            synchronized (RateLimitedHttpClient.this) {
+                if (sent) {
+                    return;
+                }
+            }
+            release();
+        }
+
+        private void release() {
+            synchronized (RateLimitedHttpClient.this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+                hostQueue.running--;
+            }
+            if (maxConcurrentRequests > 0) {
+                processQueue();
+            }
         }
     }
 
@@ -188,6 +474,7 @@ public class RateLimitedHttpClient {
         private final String content;
         private final @Nullable String contentType;
         private final CompletableFuture<Request> future;
+        private final long queued = System.nanoTime();
 
         public RequestQueueEntry(URI finalUrl, HttpMethod method, String content, @Nullable String contentType,
                 CompletableFuture<Request> future) {
@@ -202,8 +489,9 @@ public class RateLimitedHttpClient {
          * complete the future with a request
          *
          * @param httpClient the client to create the request
+         * @param slot the slot of the request, or null if the requests are not limited
          */
-        public void completeFuture(HttpClient httpClient) {
+        public void completeFuture(HttpClient httpClient, @Nullable Slot slot) {
             Request request = httpClient.newRequest(finalUrl).method(method);
             if ((method == HttpMethod.POST || method == HttpMethod.PUT) && !content.isEmpty()) {
                 if (contentType == null) {
@@ -212,7 +500,11 @@ public class RateLimitedHttpClient {
                     request.content(new StringContentProvider(content), contentType);
                 }
             }
-            future.complete(request);
+            if (slot != null) {
+                slot.complete(future, request);
+            } else {
+                future.complete(request);
+            }
         }
 
         /**
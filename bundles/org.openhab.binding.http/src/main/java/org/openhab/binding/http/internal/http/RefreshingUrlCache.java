@@ -15,21 +15,29 @@ package org.openhab.binding.http.internal.http;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpHeader;
 import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.http.HttpStatus;
 import org.openhab.binding.http.internal.Util;
 import org.openhab.binding.http.internal.config.HttpThingConfig;
 import org.openhab.core.thing.binding.generic.ChannelHandlerContent;
@@ -58,9 +66,19 @@ public class RefreshingUrlCache {
     private final String httpContent;
     private final @Nullable String httpContentType;
     private final HttpStatusListener httpStatusListener;
+    private final boolean conditionalRequests;
+    private final boolean ignoreUnchangedContent;
 
     private @Nullable ScheduledFuture<?> future;
-    private @Nullable ChannelHandlerContent lastContent;
+    private volatile @Nullable ChannelHandlerContent lastContent;
+    private volatile @Nullable ValidatedContent validatedContent;
+
+    /**
+     * The last content together with the validators the server sent for it, used for conditional requests
+     */
+    private record ValidatedContent(ChannelHandlerContent content, @Nullable String eTag,
+            @Nullable String lastModified) {
+    }
 
     public RefreshingUrlCache(RateLimitedHttpClient httpClient, String url, HttpThingConfig thingConfig,
             String httpContent, @Nullable String httpContentType, HttpStatusListener httpStatusListener) {
@@ -74,6 +92,8 @@ public class RefreshingUrlCache {
         this.httpContent = httpContent;
         this.httpContentType = httpContentType;
         this.httpStatusListener = httpStatusListener;
+        this.conditionalRequests = thingConfig.conditionalRequests;
+        this.ignoreUnchangedContent = thingConfig.ignoreUnchangedContent;
         fallbackEncoding = thingConfig.encoding;
     }
 
@@ -115,6 +135,26 @@ public class RefreshingUrlCache {
                 request.timeout(timeout, TimeUnit.MILLISECONDS);
                 headers.forEach(request::header);
 
+                ValidatedContent cachedContent = conditionalRequests ? validatedContent : null;
+                if (cachedContent != null) {
+                    String eTag = cachedContent.eTag();
+                    if (eTag != null) {
+                        request.header(HttpHeader.IF_NONE_MATCH, eTag);
+                    }
+                    String lastModified = cachedContent.lastModified();
+                    if (lastModified != null) {
+                        request.header(HttpHeader.IF_MODIFIED_SINCE, lastModified);
+                    }
+                }
+                AtomicReference<@Nullable HttpFields> responseHeaders = new AtomicReference<>();
+                if (conditionalRequests) {
+                    request.onResponseHeaders(response -> {
+                        if (response.getStatus() == HttpStatus.OK_200) {
+                            responseHeaders.set(response.getHeaders());
+                        }
+                    });
+                }
+
                 CompletableFuture<@Nullable ChannelHandlerContent> responseContentFuture = new CompletableFuture<>();
                 responseContentFuture.exceptionally(t -> {
                     if (t instanceof HttpAuthException) {
@@ -126,17 +166,23 @@ public class RefreshingUrlCache {
                         }
                     }
                     return null;
-                }).thenAccept(this::processResult);
+                }).thenAccept(content -> {
+                    updateValidatedContent(content, cachedContent, responseHeaders.get());
+                    processResult(content);
+                });
 
                 if (logger.isTraceEnabled()) {
                     logger.trace("Sending to '{}': {}", uri, Util.requestToLogString(request));
                 }
 
                 request.send(new HttpResponseListener(responseContentFuture, fallbackEncoding, bufferSize,
-                        httpStatusListener));
+                        httpStatusListener, cachedContent != null ? cachedContent.content() : null));
             }).exceptionally(e -> {
-                if (e instanceof CancellationException) {
-                    logger.debug("Request to URL {} was cancelled by thing handler.", uri);
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof CancellationException) {
+                    logger.debug("Request to URL {} was cancelled: {}", uri, cause.getMessage());
+                } else if (cause instanceof RejectedExecutionException) {
+                    logger.warn("Request to URL {} was rejected: {}", uri, cause.getMessage());
                 } else {
                     logger.warn("Request to URL {} failed: {}", uri, e.getMessage());
                 }
@@ -155,7 +201,29 @@ public class RefreshingUrlCache {
         return Optional.ofNullable(lastContent);
     }
 
+    private void updateValidatedContent(@Nullable ChannelHandlerContent content,
+            @Nullable ValidatedContent cachedContent, @Nullable HttpFields responseHeaders) {
+        if (content == null) {
+            validatedContent = null;
+        } else if (cachedContent != null && content == cachedContent.content()) {
+            // 304 (Not Modified), the cached content and its validators are still valid
+            logger.trace("Content of URL {} not modified", url);
+        } else if (responseHeaders != null) {
+            String eTag = responseHeaders.get(HttpHeader.ETAG);
+            String lastModified = responseHeaders.get(HttpHeader.LAST_MODIFIED);
+            validatedContent = eTag != null || lastModified != null ? new ValidatedContent(content, eTag, lastModified)
+                    : null;
+        } else {
+            validatedContent = null;
+        }
+    }
+
     private void processResult(@Nullable ChannelHandlerContent content) {
+        ChannelHandlerContent lastContent = this.lastContent;
+        if (ignoreUnchangedContent && content != null && lastContent != null && isSameContent(content, lastContent)) {
+            logger.trace("Content of URL {} unchanged, not updating channels", url);
+            return;
+        }
         if (content != null || strictErrorHandling) {
             for (Consumer<@Nullable ChannelHandlerContent> consumer : consumers) {
                 try {
@@ -165,6 +233,11 @@ public class RefreshingUrlCache {
                 }
             }
         }
-        lastContent = content;
+        this.lastContent = content;
+    }
+
+    private static boolean isSameContent(ChannelHandlerContent content, ChannelHandlerContent lastContent) {
+        return content == lastContent || (Arrays.equals(content.getRawContent(), lastContent.getRawContent())
+                && Objects.equals(content.getMediaType(), lastContent.getMediaType()));
     }
 }
@@ -23,7 +23,9 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.lessThan;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.URI;
 import java.util.List;
@@ -31,6 +33,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.jetty.client.api.ContentResponse;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.http.HttpMethod;
@@ -99,6 +102,83 @@ public class RateLimitedHttpClientTest extends AbstractWireMockTest {
         assertThat((int) msBetween, allOf(greaterThanOrEqualTo(1000), lessThan(1100)));
     }
 
+    @Test
+    public void testHostsAreLimitedSeparately() {
+        RateLimitedHttpClient rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
+        rateLimitedHttpClient.setDelay(500);
+
+        CompletableFuture<Request> first = rateLimitedHttpClient
+                .newRequest(URI.create("http://localhost:" + port + "/first"), HttpMethod.GET, "", null);
+        CompletableFuture<Request> second = rateLimitedHttpClient
+                .newRequest(URI.create("http://localhost:" + port + "/second"), HttpMethod.GET, "", null);
+        CompletableFuture<Request> otherHost = rateLimitedHttpClient
+                .newRequest(URI.create("http://127.0.0.1:" + port + "/first"), HttpMethod.GET, "", null);
+
+        // the request to the other host does not wait for the delay of the first host
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        assertTrue(otherHost.isDone());
+        waitForAssert(() -> assertTrue(second.isDone()));
+        rateLimitedHttpClient.shutdown();
+    }
+
+    @Test
+    public void testIdenticalWaitingRequestIsDropped() {
+        RateLimitedHttpClient rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
+        rateLimitedHttpClient.setDelay(500);
+        URI url = URI.create("http://localhost:" + port + TEST_LOCATION);
+
+        rateLimitedHttpClient.newRequest(url, HttpMethod.GET, "", null);
+        CompletableFuture<Request> waiting = rateLimitedHttpClient.newRequest(url, HttpMethod.GET, "", null);
+        CompletableFuture<Request> duplicate = rateLimitedHttpClient.newRequest(url, HttpMethod.GET, "", null);
+        CompletableFuture<Request> command = rateLimitedHttpClient.newPriorityRequest(url, HttpMethod.GET, "", null);
+
+        assertTrue(duplicate.isCompletedExceptionally());
+        assertFalse(waiting.isDone());
+        assertFalse(command.isDone());
+        waitForAssert(() -> assertTrue(waiting.isDone()));
+        assertEquals(1, rateLimitedHttpClient.getQueueWaits().get("localhost:" + port).duplicates());
+        rateLimitedHttpClient.shutdown();
+    }
+
+    @Test
+    public void testConcurrentRequestsAreLimited() throws Exception {
+        stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
+        RateLimitedHttpClient rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
+        rateLimitedHttpClient.setMaxConcurrentRequests(1);
+        URI url = URI.create("http://localhost:" + port + TEST_LOCATION);
+
+        Request first = rateLimitedHttpClient.newRequest(url, HttpMethod.GET, "", null).get();
+        CompletableFuture<Request> second = rateLimitedHttpClient.newPriorityRequest(url, HttpMethod.GET, "", null);
+
+        // the second request is created when the first one has completed
+        assertFalse(second.isDone());
+        first.send();
+        waitForAssert(() -> assertTrue(second.isDone()));
+        rateLimitedHttpClient.shutdown();
+    }
+
+    @Test
+    public void testRequestsThatAreNotSentAreReleased() throws Exception {
+        RateLimitedHttpClient rateLimitedHttpClient = new RateLimitedHttpClient(httpClient, scheduler);
+        rateLimitedHttpClient.setMaxConcurrentRequests(1);
+        URI url = URI.create("http://localhost:" + port + TEST_LOCATION);
+
+        CompletableFuture<@Nullable Void> failed = rateLimitedHttpClient.newRequest(url, HttpMethod.GET, "", null)
+                .thenAccept(request -> {
+                    throw new IllegalStateException("Failed before sending the request");
+                });
+        CompletableFuture<Request> cancelled = rateLimitedHttpClient.newPriorityRequest(url, HttpMethod.GET, "", null);
+        CompletableFuture<Request> waiting = rateLimitedHttpClient.newPriorityRequest(url, HttpMethod.GET, "", null);
+
+        assertTrue(failed.isCompletedExceptionally());
+        assertTrue(cancelled.cancel(false));
+        assertFalse(waiting.isDone());
+        // the request that was not sent is released after the maximum send delay, the cancelled one immediately
+        waitForAssert(() -> assertTrue(waiting.isDone()), 15000, 100);
+        rateLimitedHttpClient.shutdown();
+    }
+
     private void doLimitTest(int setDelay, List<Boolean> config) {
         stubFor(get(urlEqualTo(TEST_LOCATION)).willReturn(aResponse().withBody(TEST_CONTENT)));
 
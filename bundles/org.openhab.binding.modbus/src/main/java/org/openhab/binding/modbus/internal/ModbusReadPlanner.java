@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusConstants;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ModbusReadPlanner} merges the regular polls of an endpoint into as few read requests as possible.
+ *
+ * Polls with the same slave id, function code, poll period and maximum tries are merged if their ranges overlap or
+ * are adjacent, as long as the merged request stays within the protocol limits. Ranges with a gap between them are
+ * never merged, so no address is read that was not read before. The response of a merged request is split up again
+ * and each poll receives the result of its own request.
+ *
+ * When a poll is registered or unregistered, only the requests whose polls changed are replaced, the others keep
+ * polling undisturbed. A replaced request keeps the poll phase of the request it replaces, unless it covers a newly
+ * registered poll, which is read immediately like without merging.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadPlanner {
+
+    /**
+     * A regular poll registered with the planner.
+     */
+    public class Registration {
+        private final Key key;
+        private final ModbusReadRequestBlueprint request;
+        private final ModbusReadCallback resultCallback;
+        private final ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback;
+
+        private Registration(Key key, ModbusReadRequestBlueprint request, ModbusReadCallback resultCallback,
+                ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+            this.key = key;
+            this.request = request;
+            this.resultCallback = resultCallback;
+            this.failureCallback = failureCallback;
+        }
+
+        private int start() {
+            return request.getReference();
+        }
+
+        private int end() {
+            return request.getReference() + request.getDataLength();
+        }
+
+        /**
+         * Stop polling. The remaining polls are planned again.
+         */
+        public void unregister() {
+            ModbusReadPlanner.this.unregister(this);
+        }
+    }
+
+    private record Key(int unitId, ModbusReadFunctionCode functionCode, long pollPeriodMillis, int maxTries) {
+    }
+
+    /**
+     * One read request sent to the slave, covering the ranges of one or more registrations.
+     */
+    private class Block implements ModbusReadCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> {
+        private final ModbusReadRequestBlueprint request;
+        private final List<Registration> members;
+        private @Nullable PollTask task;
+        // time of the first poll in milliseconds, the later polls follow with the poll period
+        private long firstPollMillis;
+
+        Block(ModbusReadRequestBlueprint request, List<Registration> members) {
+            this.request = request;
+            this.members = members;
+        }
+
+        @Override
+        public void handle(AsyncModbusReadResult result) {
+            if (members.size() == 1) {
+                // the request of the registration itself
+                members.get(0).resultCallback.handle(result);
+                return;
+            }
+            Optional<ModbusRegisterArray> registers = result.getRegisters();
+            Optional<BitArray> bits = result.getBits();
+            for (Registration member : members) {
+                int offset = member.start() - request.getReference();
+                int length = member.request.getDataLength();
+                if (registers.isPresent() && offset + length <= registers.get().size()) {
+                    byte[] bytes = Arrays.copyOfRange(registers.get().getBytes(), offset * 2, (offset + length) * 2);
+                    member.resultCallback
+                            .handle(new AsyncModbusReadResult(member.request, new ModbusRegisterArray(bytes)));
+                } else if (bits.isPresent() && offset + length <= bits.get().size()) {
+                    boolean[] values = new boolean[length];
+                    for (int i = 0; i < length; i++) {
+                        values[i] = bits.get().getBit(offset + i);
+                    }
+                    member.resultCallback.handle(new AsyncModbusReadResult(member.request, new BitArray(values)));
+                } else {
+                    member.failureCallback.handle(new AsyncModbusFailure<>(member.request, new IllegalStateException(
+                            String.format("Response to merged request %s does not cover the request", request))));
+                }
+            }
+        }
+
+        @Override
+        public void handle(AsyncModbusFailure<ModbusReadRequestBlueprint> failure) {
+            for (Registration member : members) {
+                member.failureCallback.handle(new AsyncModbusFailure<>(member.request, failure.getCause()));
+            }
+        }
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ModbusReadPlanner.class);
+
+    private final ModbusCommunicationInterface comms;
+    private final LongSupplier millis;
+    // guarded by this
+    private final Map<Key, List<Registration>> registrations = new HashMap<>();
+    private final Map<Key, List<Block>> blocks = new HashMap<>();
+
+    public ModbusReadPlanner(ModbusCommunicationInterface comms) {
+        this(comms, () -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+    }
+
+    /**
+     * @param millis a monotonic clock in milliseconds
+     */
+    ModbusReadPlanner(ModbusCommunicationInterface comms, LongSupplier millis) {
+        this.comms = comms;
+        this.millis = millis;
+    }
+
+    /**
+     * Register a regular poll. It is merged with the already registered polls, the requests it is merged into are
+     * replaced.
+     *
+     * @param request the request to poll
+     * @param pollPeriodMillis the poll period in milliseconds
+     * @param resultCallback receives the result of the request
+     * @param failureCallback receives the failures of the request
+     * @return the registration, used to stop polling
+     */
+    public synchronized Registration registerRegularPoll(ModbusReadRequestBlueprint request, long pollPeriodMillis,
+            ModbusReadCallback resultCallback, ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback) {
+        Key key = new Key(request.getUnitID(), request.getFunctionCode(), pollPeriodMillis, request.getMaxTries());
+        Registration registration = new Registration(key, request, resultCallback, failureCallback);
+        registrations.computeIfAbsent(key, k -> new ArrayList<>()).add(registration);
+        replan(key, registration);
+        return registration;
+    }
+
+    private synchronized void unregister(Registration registration) {
+        List<Registration> sameKey = registrations.get(registration.key);
+        if (sameKey == null || !sameKey.remove(registration)) {
+            return;
+        }
+        if (sameKey.isEmpty()) {
+            registrations.remove(registration.key);
+        }
+        replan(registration.key, null);
+    }
+
+    /**
+     * Plan the registrations of the key again, replacing only the blocks whose members changed.
+     *
+     * @param added the registration added, or null if one was removed
+     */
+    private void replan(Key key, @Nullable Registration added) {
+        List<Block> oldBlocks = blocks.getOrDefault(key, List.of());
+        List<Registration> sameKey = registrations.getOrDefault(key, List.of());
+        List<List<Registration>> planned = plan(sameKey, maxLength(key.functionCode()));
+        for (Block block : oldBlocks) {
+            PollTask task = block.task;
+            if (task != null && !planned.contains(block.members)) {
+                comms.unregisterRegularPoll(task);
+            }
+        }
+        if (planned.isEmpty()) {
+            blocks.remove(key);
+            return;
+        }
+        long now = millis.getAsLong();
+        int replaced = 0;
+        List<Block> newBlocks = new ArrayList<>();
+        for (List<Registration> members : planned) {
+            Block block = oldBlocks.stream().filter(b -> b.members.equals(members)).findAny().orElse(null);
+            if (block == null) {
+                block = new Block(mergedRequest(members), members);
+                long initialDelay = members.contains(added) ? 0 : nextPollDelay(oldBlocks, members, key, now);
+                block.firstPollMillis = now + initialDelay;
+                block.task = comms.registerRegularPoll(block.request, key.pollPeriodMillis(), initialDelay, block,
+                        block);
+                replaced++;
+            }
+            newBlocks.add(block);
+        }
+        blocks.put(key, newBlocks);
+        logger.debug("Polling {} with period {} ms merged into {} requests, {} of them replaced", sameKey.size(),
+                key.pollPeriodMillis(), newBlocks.size(), replaced);
+    }
+
+    /**
+     * @return the delay until the next poll of the old block of the first of the members, or 0 if there is none
+     */
+    private static long nextPollDelay(List<Block> oldBlocks, List<Registration> members, Key key, long now) {
+        for (Block block : oldBlocks) {
+            if (block.members.contains(members.get(0))) {
+                return Math.floorMod(block.firstPollMillis - now, key.pollPeriodMillis());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Group the registrations into blocks of overlapping or adjacent ranges not longer than the maximum length.
+     */
+    static List<List<Registration>> plan(List<Registration> registrations, int maxLength) {
+        List<Registration> sorted = new ArrayList<>(registrations);
+        sorted.sort(Comparator.comparingInt(Registration::start).thenComparingInt(Registration::end));
+        List<List<Registration>> result = new ArrayList<>();
+        List<Registration> current = new ArrayList<>();
+        int start = 0;
+        int end = 0;
+        for (Registration registration : sorted) {
+            if (!current.isEmpty() && registration.start() <= end
+                    && Math.max(end, registration.end()) - start <= maxLength) {
+                end = Math.max(end, registration.end());
+            } else {
+                current = new ArrayList<>();
+                result.add(current);
+                start = registration.start();
+                end = registration.end();
+            }
+            current.add(registration);
+        }
+        return result;
+    }
+
+    private static ModbusReadRequestBlueprint mergedRequest(List<Registration> members) {
+        if (members.size() == 1) {
+            return members.get(0).request;
+        }
+        ModbusReadRequestBlueprint first = members.get(0).request;
+        int start = members.stream().mapToInt(Registration::start).min().orElseThrow();
+        int end = members.stream().mapToInt(Registration::end).max().orElseThrow();
+        return new ModbusReadRequestBlueprint(first.getUnitID(), first.getFunctionCode(), start, end - start,
+                first.getMaxTries());
+    }
+
+    private static int maxLength(ModbusReadFunctionCode functionCode) {
+        return switch (functionCode) {
+            case READ_COILS, READ_INPUT_DISCRETES -> ModbusConstants.MAX_BITS_READ_COUNT;
+            default -> ModbusConstants.MAX_REGISTERS_READ_COUNT;
+        };
+    }
+}
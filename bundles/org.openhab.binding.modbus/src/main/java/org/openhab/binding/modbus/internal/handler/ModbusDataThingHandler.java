@@ -17,6 +17,7 @@ import static org.openhab.binding.modbus.internal.ModbusBindingConstantsInternal
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -26,6 +27,8 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -136,6 +139,11 @@ public class ModbusDataThingHandler extends BaseThingHandler {
     private volatile @Nullable ModbusReadFunctionCode functionCode;
     private volatile @Nullable ModbusReadRequestBlueprint readRequest;
     private volatile long updateUnchangedValuesEveryMillis;
+    private volatile boolean skipUnchangedData;
+    // polled data of this thing from the previous poll, only with skipUnchangedData
+    private volatile byte @Nullable [] lastReadData;
+    private final LongAdder processedReads = new LongAdder();
+    private final LongAdder skippedReads = new LongAdder();
     private volatile @NonNullByDefault({}) ModbusCommunicationInterface comms;
     private volatile boolean isWriteEnabled;
     private volatile boolean isReadEnabled;
@@ -173,6 +181,8 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             // We *schedule* the REFRESH to avoid dead-lock situation where poller is trying update this
             // data thing with cached data (resulting in deadlock in two synchronized methods: this (handleCommand) and
             // onRegisters.
+            // The channel might have been linked just now, so the next data is processed even if unchanged
+            lastReadData = null;
             scheduler.schedule(() -> poller.refresh(), 0, TimeUnit.SECONDS);
             return;
         } else if (hasConfigurationError()) {
@@ -397,6 +407,8 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             logger.trace("initialize() of thing {} '{}' starting", thing.getUID(), thing.getLabel());
             ModbusDataConfiguration localConfig = config = getConfigAs(ModbusDataConfiguration.class);
             updateUnchangedValuesEveryMillis = localConfig.getUpdateUnchangedValuesEveryMillis();
+            skipUnchangedData = localConfig.isSkipUnchangedData();
+            lastReadData = null;
             Bridge bridge = getBridge();
             if (bridge == null || !bridge.getStatus().equals(ThingStatus.ONLINE)) {
                 logger.debug("Thing {} '{}' has no bridge or it is not online", getThing().getUID(),
@@ -456,6 +468,10 @@ public class ModbusDataThingHandler extends BaseThingHandler {
 
     @Override
     public synchronized void dispose() {
+        if (skipUnchangedData) {
+            logger.debug("Thing {} '{}' processed {} and skipped {} unchanged read results", getThing().getUID(),
+                    getThing().getLabel(), processedReads.sum(), skippedReads.sum());
+        }
         config = null;
         readValueType = null;
         writeValueType = null;
@@ -480,6 +496,10 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         statusInfo = new ThingStatusInfo(ThingStatus.UNKNOWN, ThingStatusDetail.NONE, null);
         channelLastUpdated = new HashMap<>(NUMER_OF_CHANNELS_HINT);
         channelLastState = new HashMap<>(NUMER_OF_CHANNELS_HINT);
+        skipUnchangedData = false;
+        lastReadData = null;
+        processedReads.reset();
+        skippedReads.reset();
     }
 
     @Override
@@ -814,6 +834,9 @@ public class ModbusDataThingHandler extends BaseThingHandler {
         if (readValueType == null) {
             return;
         }
+        if (skipUnchanged(() -> registerData(registers, readValueType))) {
+            return;
+        }
         State numericState;
 
         // extractIndex:
@@ -852,6 +875,9 @@ public class ModbusDataThingHandler extends BaseThingHandler {
             return;
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        if (skipUnchanged(() -> new byte[] { (byte) (boolValue ? 1 : 0) })) {
+            return;
+        }
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
         Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
         logger.debug(
@@ -859,12 +885,72 @@ public class ModbusDataThingHandler extends BaseThingHandler {
                 thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
     }
 
+    /**
+     * Check whether the polled data of this thing is the same as with the previous poll, when
+     * skipUnchangedData is enabled. Unchanged data is not extracted nor transformed again, and the channels keep
+     * their state. Only the status and the last read success channel are updated.
+     *
+     * @param data supplies the polled data of this thing, or null if the data is not available
+     * @return true if the data should not be processed further
+     */
+    private boolean skipUnchanged(Supplier<byte @Nullable []> data) {
+        if (!skipUnchangedData) {
+            processedReads.increment();
+            return false;
+        }
+        byte[] localData = data.get();
+        if (localData != null && Arrays.equals(localData, lastReadData)) {
+            skippedReads.increment();
+            updateStatusIfChanged(ThingStatus.ONLINE);
+            ChannelUID lastReadSuccessUID = getChannelUID(ModbusBindingConstantsInternal.CHANNEL_LAST_READ_SUCCESS);
+            if (isLinked(lastReadSuccessUID)) {
+                tryUpdateState(lastReadSuccessUID, new DateTimeType());
+            }
+            logger.trace("Thing {} data unchanged, skipping update", thing.getUID());
+            return true;
+        }
+        lastReadData = localData;
+        processedReads.increment();
+        return false;
+    }
+
+    /**
+     * Get the registers the value of this thing is extracted from
+     *
+     * @return the bytes of the registers, or null if they are not contained in the polled data
+     */
+    private byte @Nullable [] registerData(ModbusRegisterArray registers, ValueType readValueType) {
+        int firstRegister = readIndex.get() - pollStart;
+        int registerCount = Math.max(1, readValueType.getBits() / 16);
+        byte[] bytes = registers.getBytes();
+        if (firstRegister < 0 || (firstRegister + registerCount) * 2 > bytes.length) {
+            return null;
+        }
+        return Arrays.copyOfRange(bytes, firstRegister * 2, (firstRegister + registerCount) * 2);
+    }
+
+    /**
+     * Get the number of read results that were processed, i.e. extracted, transformed and updated to the channels
+     */
+    public long getProcessedReadCount() {
+        return processedReads.sum();
+    }
+
+    /**
+     * Get the number of read results that were skipped since the data of this thing had not changed
+     */
+    public long getSkippedReadCount() {
+        return skippedReads.sum();
+    }
+
     private synchronized void onError(ModbusReadRequestBlueprint request, Exception error) {
         if (hasConfigurationError()) {
             return;
         } else if (!isReadEnabled) {
             return;
         }
+        // the next successful read is processed in full, even if the data is the same as before the error
+        lastReadData = null;
         if (error instanceof ModbusConnectionException) {
             logger.trace("Thing {} '{}' had {} error on read: {}", getThing().getUID(), getThing().getLabel(),
                     error.getClass().getSimpleName(), error.toString());
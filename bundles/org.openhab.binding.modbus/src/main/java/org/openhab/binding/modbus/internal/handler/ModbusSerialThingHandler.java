@@ -86,6 +86,15 @@ public class ModbusSerialThingHandler
         }
     }
 
+    @Override
+    protected boolean isMergeReads() {
+        if (config != null) {
+            return config.isMergeReads();
+        } else {
+            return false;
+        }
+    }
+
     @SuppressWarnings("null") // Since endpoint in Optional.map cannot be null
     @Override
     protected String formatConflictingParameterError() {
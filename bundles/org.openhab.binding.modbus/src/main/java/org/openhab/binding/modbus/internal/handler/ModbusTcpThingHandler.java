@@ -99,6 +99,15 @@ public class ModbusTcpThingHandler
         }
     }
 
+    @Override
+    protected boolean isMergeReads() {
+        if (config != null) {
+            return config.isMergeReads();
+        } else {
+            return false;
+        }
+    }
+
     @Override
     public Collection<Class<? extends ThingHandlerService>> getServices() {
         return Set.of(ModbusEndpointDiscoveryService.class);
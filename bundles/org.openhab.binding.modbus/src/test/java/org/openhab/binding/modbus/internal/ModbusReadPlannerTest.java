@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.modbus.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.core.io.transport.modbus.AsyncModbusFailure;
+import org.openhab.core.io.transport.modbus.AsyncModbusReadResult;
+import org.openhab.core.io.transport.modbus.BitArray;
+import org.openhab.core.io.transport.modbus.ModbusCommunicationInterface;
+import org.openhab.core.io.transport.modbus.ModbusFailureCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadCallback;
+import org.openhab.core.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.core.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.core.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.core.io.transport.modbus.PollTask;
+
+/**
+ * Tests the {@link ModbusReadPlanner}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusReadPlannerTest {
+
+    private final ModbusCommunicationInterface comms = mock(ModbusCommunicationInterface.class);
+    private long now = 0;
+
+    private static ModbusReadRequestBlueprint request(ModbusReadFunctionCode functionCode, int reference,
+            int length) {
+        return new ModbusReadRequestBlueprint(1, functionCode, reference, length, 3);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ModbusFailureCallback<ModbusReadRequestBlueprint> failureCallback() {
+        return mock(ModbusFailureCallback.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ModbusReadRequestBlueprint> registeredRequests(int times) {
+        ArgumentCaptor<ModbusReadRequestBlueprint> captor = ArgumentCaptor.forClass(ModbusReadRequestBlueprint.class);
+        verify(comms, times(times)).registerRegularPoll(captor.capture(), eq(1000L), eq(0L),
+                any(ModbusReadCallback.class), any(ModbusFailureCallback.class));
+        return captor.getAllValues();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ModbusReadCallback lastBlockCallback() {
+        ArgumentCaptor<ModbusReadCallback> captor = ArgumentCaptor.forClass(ModbusReadCallback.class);
+        verify(comms, atLeastOnce()).registerRegularPoll(any(), anyLong(), anyLong(), captor.capture(),
+                any(ModbusFailureCallback.class));
+        return captor.getValue();
+    }
+
+    @Test
+    public void adjacentRegistersAreReadTogether() {
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms);
+        ModbusReadRequestBlueprint first = request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2);
+        ModbusReadRequestBlueprint second = request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 1);
+        ModbusReadCallback firstCallback = mock(ModbusReadCallback.class);
+        ModbusReadCallback secondCallback = mock(ModbusReadCallback.class);
+        planner.registerRegularPoll(first, 1000, firstCallback, failureCallback());
+        planner.registerRegularPoll(second, 1000, secondCallback, failureCallback());
+
+        List<ModbusReadRequestBlueprint> requests = registeredRequests(2);
+        ModbusReadRequestBlueprint merged = requests.get(1);
+        assertEquals(0, merged.getReference());
+        assertEquals(3, merged.getDataLength());
+
+        lastBlockCallback().handle(
+                new AsyncModbusReadResult(merged, new ModbusRegisterArray(new byte[] { 0, 1, 0, 2, 0, 3 })));
+
+        ArgumentCaptor<AsyncModbusReadResult> firstResult = ArgumentCaptor.forClass(AsyncModbusReadResult.class);
+        verify(firstCallback).handle(firstResult.capture());
+        assertSame(first, firstResult.getValue().getRequest());
+        ModbusRegisterArray firstRegisters = firstResult.getValue().getRegisters().orElseThrow();
+        assertEquals(2, firstRegisters.size());
+        assertEquals(1, firstRegisters.getRegister(0));
+        assertEquals(2, firstRegisters.getRegister(1));
+
+        ArgumentCaptor<AsyncModbusReadResult> secondResult = ArgumentCaptor.forClass(AsyncModbusReadResult.class);
+        verify(secondCallback).handle(secondResult.capture());
+        assertSame(second, secondResult.getValue().getRequest());
+        ModbusRegisterArray secondRegisters = secondResult.getValue().getRegisters().orElseThrow();
+        assertEquals(1, secondRegisters.size());
+        assertEquals(3, secondRegisters.getRegister(0));
+    }
+
+    @Test
+    public void bitsAreSplitPerRegistration() {
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms);
+        ModbusReadRequestBlueprint first = request(ModbusReadFunctionCode.READ_COILS, 10, 3);
+        ModbusReadRequestBlueprint second = request(ModbusReadFunctionCode.READ_COILS, 12, 2);
+        ModbusReadCallback secondCallback = mock(ModbusReadCallback.class);
+        planner.registerRegularPoll(first, 1000, mock(ModbusReadCallback.class), failureCallback());
+        planner.registerRegularPoll(second, 1000, secondCallback, failureCallback());
+
+        ModbusReadRequestBlueprint merged = registeredRequests(2).get(1);
+        assertEquals(10, merged.getReference());
+        assertEquals(4, merged.getDataLength());
+        lastBlockCallback().handle(new AsyncModbusReadResult(merged, new BitArray(false, false, true, false)));
+
+        ArgumentCaptor<AsyncModbusReadResult> result = ArgumentCaptor.forClass(AsyncModbusReadResult.class);
+        verify(secondCallback).handle(result.capture());
+        BitArray bits = result.getValue().getBits().orElseThrow();
+        assertEquals(2, bits.size());
+        assertTrue(bits.getBit(0));
+        assertFalse(bits.getBit(1));
+    }
+
+    @Test
+    public void rangesWithGapOrDifferentPeriodAreNotMerged() {
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms);
+        planner.registerRegularPoll(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2), 1000,
+                mock(ModbusReadCallback.class), failureCallback());
+        planner.registerRegularPoll(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 3, 2), 1000,
+                mock(ModbusReadCallback.class), failureCallback());
+        planner.registerRegularPoll(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 1), 2000,
+                mock(ModbusReadCallback.class), failureCallback());
+
+        // each registration with its own request, the first one is not replaced
+        List<ModbusReadRequestBlueprint> requests = registeredRequests(2);
+        assertEquals(List.of(0, 3), requests.stream().map(ModbusReadRequestBlueprint::getReference).toList());
+        verify(comms, never()).unregisterRegularPoll(any());
+    }
+
+    @Test
+    public void mergedRequestStaysWithinProtocolLimit() {
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms);
+        planner.registerRegularPoll(request(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 100), 1000,
+                mock(ModbusReadCallback.class), failureCallback());
+        planner.registerRegularPoll(request(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 100, 100), 1000,
+                mock(ModbusReadCallback.class), failureCallback());
+
+        List<ModbusReadRequestBlueprint> requests = registeredRequests(2);
+        assertEquals(100, requests.get(0).getDataLength());
+        assertEquals(100, requests.get(1).getDataLength());
+    }
+
+    @Test
+    public void failureIsReportedToAllMembers() {
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms);
+        ModbusReadRequestBlueprint first = request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 1);
+        ModbusReadRequestBlueprint second = request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1, 1);
+        ModbusFailureCallback<ModbusReadRequestBlueprint> firstFailure = failureCallback();
+        ModbusFailureCallback<ModbusReadRequestBlueprint> secondFailure = failureCallback();
+        planner.registerRegularPoll(first, 1000, mock(ModbusReadCallback.class), firstFailure);
+        planner.registerRegularPoll(second, 1000, mock(ModbusReadCallback.class), secondFailure);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ModbusFailureCallback<ModbusReadRequestBlueprint>> captor = ArgumentCaptor
+                .forClass(ModbusFailureCallback.class);
+        verify(comms, times(2)).registerRegularPoll(any(), anyLong(), anyLong(), any(ModbusReadCallback.class),
+                captor.capture());
+        ModbusReadRequestBlueprint merged = registeredRequests(2).get(1);
+        Exception cause = new Exception("timeout");
+        captor.getValue().handle(new AsyncModbusFailure<>(merged, cause));
+
+        verify(firstFailure).handle(argThat(f -> f.getRequest() == first && f.getCause() == cause));
+        verify(secondFailure).handle(argThat(f -> f.getRequest() == second && f.getCause() == cause));
+    }
+
+    @Test
+    public void onlyChangedRequestsAreReplaced() {
+        PollTask firstTask = mock(PollTask.class);
+        PollTask secondTask = mock(PollTask.class);
+        doReturn(firstTask, secondTask, mock(PollTask.class)).when(comms).registerRegularPoll(any(), anyLong(),
+                anyLong(), any(), any());
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms, () -> now);
+        planner.registerRegularPoll(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2), 1000,
+                mock(ModbusReadCallback.class), failureCallback());
+        planner.registerRegularPoll(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 2), 1000,
+                mock(ModbusReadCallback.class), failureCallback());
+
+        planner.registerRegularPoll(request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 1), 1000,
+                mock(ModbusReadCallback.class), failureCallback());
+
+        List<ModbusReadRequestBlueprint> requests = registeredRequests(3);
+        assertEquals(0, requests.get(2).getReference());
+        assertEquals(3, requests.get(2).getDataLength());
+        verify(comms).unregisterRegularPoll(firstTask);
+        verify(comms, never()).unregisterRegularPoll(secondTask);
+    }
+
+    @Test
+    public void unregisterPlansRemainingPolls() {
+        PollTask task = mock(PollTask.class);
+        doReturn(task).when(comms).registerRegularPoll(any(), anyLong(), anyLong(), any(), any());
+        ModbusReadPlanner planner = new ModbusReadPlanner(comms, () -> now);
+        ModbusReadPlanner.Registration first = planner.registerRegularPoll(
+                request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 2), 1000, mock(ModbusReadCallback.class),
+                failureCallback());
+        now = 300;
+        ModbusReadPlanner.Registration second = planner.registerRegularPoll(
+                request(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 2, 2), 1000, mock(ModbusReadCallback.class),
+                failureCallback());
+
+        now = 1700;
+        first.unregister();
+        // the remaining request keeps the poll phase of the merged request, which was first polled at 300
+        ArgumentCaptor<ModbusReadRequestBlueprint> captor = ArgumentCaptor.forClass(ModbusReadRequestBlueprint.class);
+        verify(comms).registerRegularPoll(captor.capture(), eq(1000L), eq(600L), any(ModbusReadCallback.class),
+                any());
+        assertEquals(2, captor.getValue().getReference());
+        assertEquals(2, captor.getValue().getDataLength());
+
+        second.unregister();
+        verify(comms, times(3)).unregisterRegularPoll(task);
+        registeredRequests(2);
+        verifyNoMoreInteractions(comms);
+    }
+}
@@ -42,6 +42,8 @@ public class ChannelConfig {
      * this.
      */
     public boolean postCommand = false;
+    /** If true, a message with the same payload as the previous one is not processed again. */
+    public boolean ignoreUnchanged = false;
     public @Nullable Integer qos;
     public boolean retained = false;
     /** If true, the state topic will not update a state, but trigger a channel instead. */
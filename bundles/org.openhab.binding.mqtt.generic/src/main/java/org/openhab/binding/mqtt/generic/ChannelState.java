@@ -13,6 +13,7 @@
 package org.openhab.binding.mqtt.generic;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.IllegalFormatException;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -35,7 +36,6 @@ import org.openhab.core.thing.binding.generic.ChannelTransformation;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
 import org.openhab.core.types.Type;
-import org.openhab.core.types.TypeParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,6 +66,8 @@ public class ChannelState implements MqttMessageSubscriber {
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = CompletableFuture.completedFuture(null);
     private final Object futureLock = new Object();
+    // the last processed payload, only kept if config.ignoreUnchanged is set
+    private volatile byte @Nullable [] lastPayload;
 
     /**
      * Creates a new channel state.
@@ -151,6 +153,14 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        if (config.ignoreUnchanged && !config.trigger) {
+            if (Arrays.equals(payload, lastPayload)) {
+                receivedOrTimeout();
+                return;
+            }
+            lastPayload = payload;
+        }
+
         if (cachedValue.isBinary()) {
             cachedValue.update(payload);
             channelStateUpdateListener.updateChannelState(channelUID, cachedValue.getChannelState());
@@ -185,7 +195,7 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
-        Command command = TypeParser.parseCommand(cachedValue.getSupportedCommandTypes(), strValue);
+        Command command = cachedValue.parseCommandString(strValue);
         if (command == null) {
             logger.warn("Incoming payload '{}' on '{}' not supported by type '{}'", strValue, topic,
                     cachedValue.getClass().getSimpleName());
@@ -274,6 +284,7 @@ public class ChannelState implements MqttMessageSubscriber {
         this.connection = null;
         this.channelStateUpdateListener = null;
         hasSubscribed = false;
+        lastPayload = null;
         cachedValue.resetState();
     }
 
@@ -360,6 +371,8 @@ public class ChannelState implements MqttMessageSubscriber {
             return f;
         }
 
+        // the state may differ from the last received payload now, so the next message must not be ignored
+        lastPayload = null;
         Command mqttCommandValue = cachedValue.parseCommand(command);
         Value mqttFormatter = cachedValue;
 
@@ -13,11 +13,13 @@
 package org.openhab.binding.mqtt.generic.tools;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
@@ -25,47 +27,94 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
 /**
- * Collects objects over time until a specified delay passed by.
+ * Collects objects over time until a specified delay passed by without a new object.
  * Then call the user back with a list of accumulated objects and start over again.
  *
+ * The objects are also delivered if the oldest collected object waited for the maximum delay, so that constant
+ * traffic can not hold them back forever, and as soon as the maximum batch size is reached. A delivered list never
+ * holds more than the maximum batch size, more objects are delivered in further lists.
+ *
+ * Adding an object does not lock and only schedules a timer if none is pending. When the timer expires before the
+ * delay has passed since the last object, it is scheduled again for the remaining time, so a burst of objects
+ * needs a few timers instead of one per object.
+ *
  * @author David Graeff - Initial contribution
  *
  * @param <T> Any object
  */
 @NonNullByDefault
 public class DelayedBatchProcessing<T> implements Consumer<T> {
-    private final int delay;
+    private final long delayNanos;
+    private final long maxDelayNanos;
+    private final int maxBatchSize;
     private final Consumer<List<T>> consumer;
-    private final List<T> queue = Collections.synchronizedList(new ArrayList<>());
+    private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
     private final ScheduledExecutorService executor;
+    private final Object deliverLock = new Object();
     protected final AtomicReference<@Nullable ScheduledFuture<?>> futureRef = new AtomicReference<>();
+    private volatile long lastAccepted;
+    private volatile long firstAccepted;
 
     /**
-     * Creates a {@link DelayedBatchProcessing}.
+     * Creates a {@link DelayedBatchProcessing} that waits until no new object was added for the given delay.
      *
      * @param delay A delay in milliseconds
      * @param consumer A consumer of the list of collected objects
      * @param executor A scheduled executor service
      */
     public DelayedBatchProcessing(int delay, Consumer<List<T>> consumer, ScheduledExecutorService executor) {
-        this.delay = delay;
-        this.consumer = consumer;
-        this.executor = executor;
+        this(delay, Integer.MAX_VALUE, Integer.MAX_VALUE, consumer, executor);
+    }
+
+    /**
+     * Creates a {@link DelayedBatchProcessing}.
+     *
+     * @param delay A delay in milliseconds without new objects, after which the collected objects are delivered
+     * @param maxDelay The maximum delay in milliseconds of the oldest collected object
+     * @param maxBatchSize The number of collected objects that are delivered without further delay
+     * @param consumer A consumer of the list of collected objects
+     * @param executor A scheduled executor service
+     */
+    public DelayedBatchProcessing(int delay, int maxDelay, int maxBatchSize, Consumer<List<T>> consumer,
+            ScheduledExecutorService executor) {
         if (delay <= 0) {
             throw new IllegalArgumentException("Delay need to be greater than 0!");
         }
+        if (maxDelay < delay) {
+            throw new IllegalArgumentException("Maximum delay must not be less than the delay!");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Maximum batch size need to be greater than 0!");
+        }
+        this.delayNanos = TimeUnit.MILLISECONDS.toNanos(delay);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelay);
+        this.maxBatchSize = maxBatchSize;
+        this.consumer = consumer;
+        this.executor = executor;
     }
 
     /**
      * Add new object to the batch process list. Every time a new object is received,
-     * the delay timer is rescheduled.
+     * the delivery is delayed, up to the maximum delay.
      *
      * @param t An object
      */
     @Override
     public void accept(T t) {
+        long now = System.nanoTime();
+        lastAccepted = now;
+        int size = queueSize.getAndIncrement();
+        if (size == 0) {
+            firstAccepted = now;
+        }
         queue.add(t);
-        cancel(futureRef.getAndSet(executor.schedule(this::run, delay, TimeUnit.MILLISECONDS)));
+
+        if (size + 1 == maxBatchSize) {
+            executor.execute(() -> run(false));
+        } else {
+            arm();
+        }
     }
 
     /**
@@ -75,12 +124,7 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      */
     public List<T> join() {
         cancel(futureRef.getAndSet(null));
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
-        }
-        return lqueue;
+        return drain(Integer.MAX_VALUE);
     }
 
     /**
@@ -96,19 +140,70 @@ public class DelayedBatchProcessing<T> implements Consumer<T> {
      */
     public void forceProcessNow() {
         cancel(futureRef.getAndSet(null));
-        run();
+        run(true);
     }
 
-    private void run() {
-        List<T> lqueue = new ArrayList<>();
-        synchronized (queue) {
-            lqueue.addAll(queue);
-            queue.clear();
+    private void arm() {
+        if (futureRef.get() == null) {
+            ScheduledFuture<?> future = executor.schedule(this::expired, delayNanos, TimeUnit.NANOSECONDS);
+            if (!futureRef.compareAndSet(null, future)) {
+                future.cancel(false);
+            }
         }
+    }
 
-        if (!lqueue.isEmpty()) {
-            consumer.accept(lqueue);
+    private void expired() {
+        ScheduledFuture<?> current = futureRef.get();
+        if (current == null) {
+            // cancelled by join() or forceProcessNow()
+            return;
         }
+        long now = System.nanoTime();
+        long deadline = Math.min(lastAccepted + delayNanos, firstAccepted + maxDelayNanos);
+        if (deadline - now > 0 && queueSize.get() > 0) {
+            // objects were added meanwhile
+            ScheduledFuture<?> future = executor.schedule(this::expired, deadline - now, TimeUnit.NANOSECONDS);
+            if (!futureRef.compareAndSet(current, future)) {
+                future.cancel(false);
+            }
+            return;
+        }
+        // objects added from now on schedule a new timer
+        if (futureRef.compareAndSet(current, null)) {
+            run(true);
+        }
+    }
+
+    /**
+     * Deliver the queued objects in lists of at most the maximum batch size.
+     *
+     * @param all true to deliver all objects, false to deliver full batches only
+     */
+    private void run(boolean all) {
+        synchronized (deliverLock) {
+            while (all ? queueSize.get() > 0 : queueSize.get() >= maxBatchSize) {
+                List<T> lqueue = drain(maxBatchSize);
+                if (lqueue.isEmpty()) {
+                    // an object is being added
+                    break;
+                }
+                consumer.accept(lqueue);
+            }
+        }
+        if (queueSize.get() > 0) {
+            // the remaining objects are delivered by the timer
+            arm();
+        }
+    }
+
+    private List<T> drain(int limit) {
+        List<T> lqueue = new ArrayList<>();
+        T t;
+        while (lqueue.size() < limit && (t = queue.poll()) != null) {
+            lqueue.add(t);
+        }
+        queueSize.addAndGet(-lqueue.size());
+        return lqueue;
     }
 
     private static void cancel(@Nullable ScheduledFuture<?> future) {
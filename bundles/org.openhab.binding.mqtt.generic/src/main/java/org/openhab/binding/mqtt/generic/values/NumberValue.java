@@ -106,6 +106,14 @@ public class NumberValue extends Value {
         return command.format(formatPattern);
     }
 
+    @Override
+    public @Nullable Command parseCommandString(String value) {
+        if (isPlainDecimal(value)) {
+            return DecimalType.valueOf(value);
+        }
+        return super.parseCommandString(value);
+    }
+
     @Override
     public Command parseCommand(Command command) throws IllegalArgumentException {
         BigDecimal newValue = null;
@@ -111,6 +111,16 @@ public class OnOffValue extends Value {
         }
     }
 
+    @Override
+    public Command parseCommandString(String value) {
+        if ("ON".equals(value)) {
+            return OnOffType.ON;
+        } else if ("OFF".equals(value)) {
+            return OnOffType.OFF;
+        }
+        return new StringType(value);
+    }
+
     @Override
     public String getMQTTpublishValue(Command command, @Nullable String pattern) {
         String formatPattern = pattern;
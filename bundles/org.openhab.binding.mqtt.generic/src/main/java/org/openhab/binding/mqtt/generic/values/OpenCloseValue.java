@@ -52,6 +52,16 @@ public class OpenCloseValue extends Value {
         this.closeString = closeValue == null ? OpenClosedType.CLOSED.name() : closeValue;
     }
 
+    @Override
+    public Command parseCommandString(String value) {
+        if ("OPEN".equals(value)) {
+            return OpenClosedType.OPEN;
+        } else if ("CLOSED".equals(value)) {
+            return OpenClosedType.CLOSED;
+        }
+        return new StringType(value);
+    }
+
     @Override
     public OpenClosedType parseCommand(Command command) throws IllegalArgumentException {
         if (command instanceof OpenClosedType openClosed) {
@@ -73,6 +73,14 @@ public class PercentageValue extends Value {
         this.formatOverride = formatOverride;
     }
 
+    @Override
+    public @Nullable Command parseCommandString(String value) {
+        if (isPlainDecimal(value)) {
+            return DecimalType.valueOf(value);
+        }
+        return super.parseCommandString(value);
+    }
+
     @Override
     public Command parseCommand(Command command) throws IllegalArgumentException {
         PercentType oldvalue = (state instanceof UnDefType) ? new PercentType() : state.as(PercentType.class);
@@ -158,6 +158,11 @@ public class TextValue extends Value {
         this.nullValue = nullValue;
     }
 
+    @Override
+    public Command parseCommandString(String value) {
+        return new StringType(value);
+    }
+
     @Override
     public StringType parseCommand(Command command) throws IllegalArgumentException {
         final Map<String, String> commands = this.commands;
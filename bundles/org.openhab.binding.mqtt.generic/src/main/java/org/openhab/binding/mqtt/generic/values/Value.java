@@ -29,6 +29,7 @@ import org.openhab.core.types.CommandDescriptionBuilder;
 import org.openhab.core.types.State;
 import org.openhab.core.types.StateDescriptionFragmentBuilder;
 import org.openhab.core.types.Type;
+import org.openhab.core.types.TypeParser;
 import org.openhab.core.types.UnDefType;
 
 /**
@@ -129,6 +130,40 @@ public abstract class Value {
         state = newState;
     }
 
+    /**
+     * Parses an incoming MQTT payload into the first of the {@link #getSupportedCommandTypes() supported command types}
+     * that accepts it. Subclasses override this with a parser specialized for their types, which avoids trying each
+     * type by reflection, but must return the same result.
+     *
+     * @param value The payload to parse.
+     * @return The command or null if none of the supported types accepts the payload.
+     */
+    public @Nullable Command parseCommandString(String value) {
+        return TypeParser.parseCommand(commandTypes, value);
+    }
+
+    /**
+     * Returns true if the value is a plain decimal number like "-12.5", which is always accepted by
+     * {@link DecimalType#valueOf(String)}.
+     */
+    protected static boolean isPlainDecimal(String value) {
+        int length = value.length();
+        int start = length > 0 && value.charAt(0) == '-' ? 1 : 0;
+        int point = -1;
+        if (start == length || length > 40) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '.' && point < 0 && i > start && i < length - 1) {
+                point = i;
+            } else if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Parses a given command into the proper type for this Value type. This will usually be a State,
      * but can be a Command.
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic.tools;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests cases for {@link DelayedBatchProcessing}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DelayedBatchProcessingTests {
+    private final AtomicInteger scheduled = new AtomicInteger();
+    private final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(2) {
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            scheduled.incrementAndGet();
+            return super.schedule(command, delay, unit);
+        }
+    };
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private int delivered() {
+        return batches.stream().mapToInt(List::size).sum();
+    }
+
+    @Test
+    public void burstNeedsFewTimers() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(50, batch -> {
+            batches.add(batch);
+            done.countDown();
+        }, scheduler);
+
+        for (int i = 0; i < 5000; i++) {
+            processing.accept(i);
+        }
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertThat(delivered(), is(5000));
+        assertThat(batches.get(0).get(0), is(0));
+        assertThat(scheduled.get(), is(lessThan(10)));
+    }
+
+    @Test
+    public void steadyTrafficIsDeliveredAfterMaxDelay() throws InterruptedException {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(100, 300, Integer.MAX_VALUE,
+                batches::add, scheduler);
+
+        // a new object every 20 ms would postpone a plain debounce forever
+        for (int i = 0; i < 75; i++) {
+            processing.accept(i);
+            Thread.sleep(20);
+        }
+
+        assertThat(batches.size(), is(greaterThanOrEqualTo(2)));
+        processing.forceProcessNow();
+        assertThat(delivered(), is(75));
+    }
+
+    @Test
+    public void fullBatchIsDeliveredImmediately() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(10000, 10000, 10, batch -> {
+            batches.add(batch);
+            done.countDown();
+        }, scheduler);
+
+        for (int i = 0; i < 15; i++) {
+            processing.accept(i);
+        }
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertThat(batches.get(0), is(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)));
+        assertTrue(processing.isArmed());
+        processing.forceProcessNow();
+        assertThat(batches.get(1), is(List.of(10, 11, 12, 13, 14)));
+    }
+
+    @Test
+    public void batchesNeverExceedTheMaximumSize() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(2);
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(10000, 10000, 10, batch -> {
+            batches.add(batch);
+            done.countDown();
+        }, scheduler);
+
+        for (int i = 0; i < 25; i++) {
+            processing.accept(i);
+        }
+
+        // the full batches are delivered without waiting for the delay
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        processing.forceProcessNow();
+        assertThat(delivered(), is(25));
+        assertThat(batches, everyItem(hasSize(lessThanOrEqualTo(10))));
+    }
+
+    @Test
+    public void joinReturnsObjectsWithoutDelivering() throws InterruptedException {
+        DelayedBatchProcessing<Integer> processing = new DelayedBatchProcessing<>(50, batches::add, scheduler);
+        processing.accept(1);
+        processing.accept(2);
+
+        assertThat(processing.join(), is(List.of(1, 2)));
+        assertFalse(processing.isArmed());
+        Thread.sleep(100);
+        assertThat(batches, is(empty()));
+    }
+}
@@ -452,4 +452,18 @@ public class ValueTests {
         assertThat(v.parseMessage(new StringType("NULL")), is(UnDefType.NULL));
         assertThat(v.parseMessage(new StringType("")), is(new StringType("")));
     }
+
+    @Test
+    public void parseCommandStringMatchesTypeParser() {
+        Value[] values = { new OnOffValue(), new OpenCloseValue(), new TextValue(),
+                new NumberValue(null, null, null, null), new PercentageValue(null, null, null, null, null, null) };
+        String[] payloads = { "ON", "OFF", "on", "OPEN", "CLOSED", "", " ", "0", "-1", "12.5", "-0.25", "1.", ".5",
+                "-", "1e3", "1,5", "21.5 °C", "INCREASE", "UP", "STOP", "A TEST" };
+        for (Value v : values) {
+            for (String payload : payloads) {
+                assertThat(v.getClass().getSimpleName() + " '" + payload + "'", v.parseCommandString(payload),
+                        is(TypeParser.parseCommand(v.getSupportedCommandTypes(), payload)));
+            }
+        }
+    }
 }
@@ -46,6 +46,7 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
     private final boolean command;
     private final String defaultValue;
     private final boolean parseValueAsInteger;
+    private final @Nullable SimpleValueTemplate simpleTemplate;
 
     public HomeAssistantChannelTransformation(HomeAssistantPythonBridge python, AbstractComponent<?> component,
             Value template, boolean command) {
@@ -71,6 +72,12 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
         this.template = command ? python.newCommandTemplate(template) : python.newValueTemplate(template);
         this.defaultValue = defaultValue;
         this.parseValueAsInteger = parseValueAsInteger;
+        this.simpleTemplate = command ? null : parseSimpleTemplate(template);
+    }
+
+    private static @Nullable SimpleValueTemplate parseSimpleTemplate(Value template) {
+        Value source = template.hasMembers() ? template.getMember("template") : null;
+        return source != null && source.isString() ? SimpleValueTemplate.parse(source.asString()) : null;
     }
 
     @Override
@@ -97,6 +104,10 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
     }
 
     public @Nullable String transform(Object value) {
+        String result = renderSimpleTemplate(value);
+        if (result != null) {
+            return result;
+        }
         try {
             return command ? python.renderCommandTemplate(template, value)
                     : python.renderValueTemplate(template, value, defaultValue);
@@ -108,6 +119,11 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
     }
 
     public @Nullable String transform(Object value, Map<String, @Nullable Object> variables) {
+        // the variables can't change the result, value_json always refers to the payload
+        String result = renderSimpleTemplate(value);
+        if (result != null) {
+            return result;
+        }
         try {
             return command ? python.renderCommandTemplate(template, value, variables)
                     : python.renderValueTemplate(template, value, defaultValue, variables);
@@ -117,4 +133,12 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
             return null;
         }
     }
+
+    private @Nullable String renderSimpleTemplate(Object value) {
+        SimpleValueTemplate simpleTemplate = this.simpleTemplate;
+        if (simpleTemplate == null || !(value instanceof String payload)) {
+            return null;
+        }
+        return python.renderSimpleValueTemplate(simpleTemplate, payload);
+    }
 }
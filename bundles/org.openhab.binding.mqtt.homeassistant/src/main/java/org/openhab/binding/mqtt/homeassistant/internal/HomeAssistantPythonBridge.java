@@ -19,138 +19,303 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.PolyglotException;
 import org.graalvm.polyglot.Value;
 import org.graalvm.python.embedding.GraalPyResources;
 import org.graalvm.python.embedding.VirtualFileSystem;
 import org.openhab.binding.mqtt.homeassistant.internal.exception.ConfigurationException;
+import org.openhab.core.io.monitor.MeterRegistryProvider;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
- * Centralizes all calls into python to ensure thread safety and a single cached context
+ * Centralizes all calls into python
+ *
+ * The calls are spread over a pool of contexts, so that discovery configs of different things are processed and
+ * templates are rendered in parallel. The contexts share a single engine, so code is only compiled once. Python
+ * objects can only be used in the context they were created in, so templates are always rendered by the context that
+ * created them. New templates and discovery configs go to the least busy context, and new contexts are created on
+ * demand up to {@link #MAX_CONTEXTS}.
+ *
+ * The rendering of templates, by Python or in Java (see {@link SimpleValueTemplate}), and the number of contexts are
+ * published to the openHAB meter registry.
  *
  * @author Cody Cutrer - Initial contribution
  */
 @NonNullByDefault
 @Component(service = HomeAssistantPythonBridge.class)
 public class HomeAssistantPythonBridge {
+    public static final String TEMPLATE_RENDERS = "openhab.binding.mqtt.homeassistant.template.renders";
+    public static final String PYTHON_CONTEXTS = "openhab.binding.mqtt.homeassistant.python.contexts";
+
     private static final String PYTHON = "python";
+    // class attribute of the template classes holding the index of the context they belong to
+    private static final String CONTEXT_INDEX = "_openhab_context_index";
+    private static final int MAX_CONTEXTS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantPythonBridge.class);
-    private final Context context;
-    private final Value newRawTemplateMeth, newCommandTemplateMeth, newValueTemplateMeth, renderCommandTemplateMeth,
-            renderValueTemplateMeth, renderCommandTemplateWithVariablesMeth, renderValueTemplateWithVariablesMeth,
-            processDiscoveryConfigMeth, listMeth;
+    private final VirtualFileSystem vfs;
+    private final Engine engine;
+    // replaced as a whole when a context is added, so that callers always see a consistent list
+    private volatile List<Interpreter> interpreters = List.of();
+    // held while a context is created, so that only one is created at a time and its index is its list position
+    private final Lock creationLock = new ReentrantLock();
 
-    @Activate
-    public HomeAssistantPythonBridge() {
-        VirtualFileSystem vfs = VirtualFileSystem.newBuilder().resourceLoadingClass(HomeAssistantPythonBridge.class)
-                .build();
+    private final MeterRegistry meterRegistry;
+    private final Timer pythonRenders;
+    private final Timer javaRenders;
+    private final Gauge contexts;
 
-        context = GraalPyResources.contextBuilder(vfs).logHandler(new LogHandler(logger))
-                .option("engine.WarnInterpreterOnly", "false").build();
+    private class Interpreter {
+        private final int index;
+        private final Context context;
+        private final AtomicInteger activeCalls = new AtomicInteger();
+        private final Value newRawTemplateMeth, newCommandTemplateMeth, newValueTemplateMeth,
+                renderCommandTemplateMeth, renderValueTemplateMeth, renderCommandTemplateWithVariablesMeth,
+                renderValueTemplateWithVariablesMeth, processDiscoveryConfigMeth, listMeth;
+
+        Interpreter(int index) {
+            this.index = index;
+            context = GraalPyResources.contextBuilder(vfs).engine(engine).build();
+
+            Value bindings = context.getBindings(PYTHON);
+
+            context.eval(PYTHON,
+                    """
+                            # we need to set up the path just like it would have been set up on Linux, even if we're
+                            # on Windows
+                            import os
+                            import sys
+
+                            if os.sep != '/':
+                                sys.path.append(os.path.join(sys.prefix, "lib", "python%d.%d" % sys.version_info[:2], "site-packages"))
 
-        Value bindings = context.getBindings(PYTHON);
+                            from homeassistant.helpers.template import Template
+                            from homeassistant.components.mqtt.models import MqttCommandTemplate, MqttValueTemplate
+                            from homeassistant.components.mqtt.discovery import process_discovery_config
 
-        context.eval(PYTHON,
-                """
-                        # we need to set up the path just like it would have been set up on Linux, even if we're
-                        # on Windows
-                        import os
-                        import sys
+                            def new_raw_template(template):
+                                return Template(template)
 
-                        if os.sep != '/':
-                            sys.path.append(os.path.join(sys.prefix, "lib", "python%d.%d" % sys.version_info[:2], "site-packages"))
+                            def new_command_template(template):
+                                return MqttCommandTemplate(template)
 
-                        from homeassistant.helpers.template import Template
-                        from homeassistant.components.mqtt.models import MqttCommandTemplate, MqttValueTemplate
-                        from homeassistant.components.mqtt.discovery import process_discovery_config
+                            def render_command_template(template, value):
+                                return template.render(value=value)
 
-                        def new_raw_template(template):
-                            return Template(template)
+                            def render_command_template_with_variables(template, value, variables):
+                                return template.render(value=value, variables=variables)
 
-                        def new_command_template(template):
-                            return MqttCommandTemplate(template)
+                            def new_value_template(template):
+                                return MqttValueTemplate(template)
 
-                        def render_command_template(template, value):
-                            return template.render(value=value)
+                            def render_value_template(template, payload, default):
+                                return template.render_with_possible_json_value(payload=payload, default=default)
 
-                        def render_command_template_with_variables(template, value, variables):
-                            return template.render(value=value, variables=variables)
+                            def render_value_template_with_variables(template, payload, default, variables):
+                                return template.render_with_possible_json_value(payload=payload, default=default, variables=variables)
+                            """);
+            context.eval(PYTHON, "Template.%s = MqttCommandTemplate.%s = MqttValueTemplate.%s = %d"
+                    .formatted(CONTEXT_INDEX, CONTEXT_INDEX, CONTEXT_INDEX, index));
 
-                        def new_value_template(template):
-                            return MqttValueTemplate(template)
+            newRawTemplateMeth = bindings.getMember("new_raw_template");
+            newCommandTemplateMeth = bindings.getMember("new_command_template");
+            renderCommandTemplateMeth = bindings.getMember("render_command_template");
+            renderCommandTemplateWithVariablesMeth = bindings.getMember("render_command_template_with_variables");
+            newValueTemplateMeth = bindings.getMember("new_value_template");
+            renderValueTemplateMeth = bindings.getMember("render_value_template");
+            renderValueTemplateWithVariablesMeth = bindings.getMember("render_value_template_with_variables");
+            processDiscoveryConfigMeth = bindings.getMember("process_discovery_config");
+            listMeth = bindings.getMember("list");
+        }
 
-                        def render_value_template(template, payload, default):
-                            return template.render_with_possible_json_value(payload=payload, default=default)
+        <T> T call(Function<Interpreter, T> function) {
+            activeCalls.incrementAndGet();
+            try {
+                return function.apply(this);
+            } finally {
+                activeCalls.decrementAndGet();
+            }
+        }
 
-                        def render_value_template_with_variables(template, payload, default, variables):
-                            return template.render_with_possible_json_value(payload=payload, default=default, variables=variables)
-                        """);
+        String render(Function<Interpreter, Value> function) {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            try {
+                return call(function).asString();
+            } finally {
+                sample.stop(pythonRenders);
+            }
+        }
+    }
 
-        newRawTemplateMeth = bindings.getMember("new_raw_template");
-        newCommandTemplateMeth = bindings.getMember("new_command_template");
-        renderCommandTemplateMeth = bindings.getMember("render_command_template");
-        renderCommandTemplateWithVariablesMeth = bindings.getMember("render_command_template_with_variables");
-        newValueTemplateMeth = bindings.getMember("new_value_template");
-        renderValueTemplateMeth = bindings.getMember("render_value_template");
-        renderValueTemplateWithVariablesMeth = bindings.getMember("render_value_template_with_variables");
-        processDiscoveryConfigMeth = bindings.getMember("process_discovery_config");
-        listMeth = bindings.getMember("list");
+    @Activate
+    public HomeAssistantPythonBridge(final @Reference MeterRegistryProvider meterRegistryProvider) {
+        this(meterRegistryProvider.getOHMeterRegistry());
+    }
+
+    HomeAssistantPythonBridge(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        vfs = VirtualFileSystem.newBuilder().resourceLoadingClass(HomeAssistantPythonBridge.class).build();
+        engine = Engine.newBuilder(PYTHON).logHandler(new LogHandler(logger))
+                .option("engine.WarnInterpreterOnly", "false").build();
+        interpreters = List.of(new Interpreter(0));
+        pythonRenders = renderTimer("python");
+        javaRenders = renderTimer("java");
+        contexts = Gauge.builder(PYTHON_CONTEXTS, this, bridge -> bridge.interpreters.size())
+                .description("Python contexts rendering templates and processing discovery configs")
+                .register(meterRegistry);
+    }
+
+    @Deactivate
+    public void deactivate() {
+        // wait for a context being created, so that it is not added after the others are closed
+        creationLock.lock();
+        try {
+            List<Interpreter> closed = interpreters;
+            interpreters = List.of();
+            closed.forEach(interpreter -> interpreter.context.close(true));
+            engine.close();
+        } finally {
+            creationLock.unlock();
+        }
+        meterRegistry.remove(pythonRenders);
+        meterRegistry.remove(javaRenders);
+        meterRegistry.remove(contexts);
     }
 
     public Value newRawTemplate(String template) {
-        return newRawTemplateMeth.execute(template);
+        return leastBusy().call(i -> i.newRawTemplateMeth.execute(template));
     }
 
     public Value newCommandTemplate(Value template) {
-        return newCommandTemplateMeth.execute(template);
+        return owner(template).call(i -> i.newCommandTemplateMeth.execute(template));
     }
 
     public String renderCommandTemplate(Value template, Object value) {
-        return renderCommandTemplateMeth.execute(template, value).asString();
+        return owner(template).render(i -> i.renderCommandTemplateMeth.execute(template, value));
     }
 
     public String renderCommandTemplate(Value template, Object value, Map<String, @Nullable Object> variables) {
-        return renderCommandTemplateWithVariablesMeth.execute(template, value, variables).asString();
+        return owner(template)
+                .render(i -> i.renderCommandTemplateWithVariablesMeth.execute(template, value, variables));
     }
 
     public Value newValueTemplate(Value template) {
-        return newValueTemplateMeth.execute(template);
+        return owner(template).call(i -> i.newValueTemplateMeth.execute(template));
     }
 
     public String renderValueTemplate(Value template, Object payload, String defaultValue) {
-        return renderValueTemplateMeth.execute(template, payload, defaultValue).asString();
+        return owner(template).render(i -> i.renderValueTemplateMeth.execute(template, payload, defaultValue));
     }
 
     public String renderValueTemplate(Value template, Object payload, String defaultValue,
             Map<String, @Nullable Object> variables) {
-        return renderValueTemplateWithVariablesMeth.execute(template, payload, defaultValue, variables).asString();
+        return owner(template).render(
+                i -> i.renderValueTemplateWithVariablesMeth.execute(template, payload, defaultValue, variables));
     }
 
     public Map<String, @Nullable Object> processDiscoveryConfig(String component, String payload) {
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, @Nullable Object> config = (Map<String, @Nullable Object>) toJava(
-                    processDiscoveryConfigMeth.execute(component, payload));
-            if (config == null) {
-                throw new ConfigurationException("Invalid configuration");
-            }
-            return config;
-
+            return leastBusy().call(i -> {
+                @SuppressWarnings("unchecked")
+                Map<String, @Nullable Object> config = (Map<String, @Nullable Object>) toJava(i,
+                        i.processDiscoveryConfigMeth.execute(component, payload));
+                if (config == null) {
+                    throw new ConfigurationException("Invalid configuration");
+                }
+                return config;
+            });
         } catch (PolyglotException e) {
             throw new ConfigurationException(
                     "Failed to process discovery config for " + component + ": " + e.getMessage());
         }
     }
 
-    private @Nullable Object toJava(Value value) {
+    /**
+     * Render a template in Java instead of Python, see {@link SimpleValueTemplate}.
+     *
+     * @param template the template
+     * @param payload the received payload
+     * @return the rendered value, or null if the template has to be rendered by Python
+     */
+    public @Nullable String renderSimpleValueTemplate(SimpleValueTemplate template, String payload) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = template.render(payload);
+        if (result != null) {
+            sample.stop(javaRenders);
+        }
+        return result;
+    }
+
+    private Timer renderTimer(String renderer) {
+        return Timer.builder(TEMPLATE_RENDERS).description("Templates rendered by Python or in Java")
+                .tag("renderer", renderer).register(meterRegistry);
+    }
+
+    /**
+     * Get the context to create new objects in. A new context is created if all contexts are busy.
+     */
+    private Interpreter leastBusy() {
+        Interpreter leastBusy = null;
+        for (Interpreter interpreter : interpreters) {
+            if (leastBusy == null || interpreter.activeCalls.get() < leastBusy.activeCalls.get()) {
+                leastBusy = interpreter;
+            }
+        }
+        if (leastBusy == null) {
+            throw new IllegalStateException("The python bridge has been deactivated");
+        }
+        if (leastBusy.activeCalls.get() > 0 && interpreters.size() < MAX_CONTEXTS && creationLock.tryLock()) {
+            // creating a context takes long, the other callers keep using the existing contexts meanwhile
+            try {
+                List<Interpreter> current = interpreters;
+                int index = current.size();
+                if (index > 0 && index < MAX_CONTEXTS) {
+                    logger.debug("All {} python contexts are busy, creating another one", index);
+                    Interpreter created = new Interpreter(index);
+                    List<Interpreter> added = new ArrayList<>(current);
+                    added.add(created);
+                    interpreters = List.copyOf(added);
+                    leastBusy = created;
+                }
+            } finally {
+                creationLock.unlock();
+            }
+        }
+        return leastBusy;
+    }
+
+    /**
+     * Get the context a template was created in.
+     */
+    private Interpreter owner(Value template) {
+        Value index = template.hasMembers() ? template.getMember(CONTEXT_INDEX) : null;
+        int position = index != null && index.fitsInInt() ? index.asInt() : 0;
+        List<Interpreter> current = interpreters;
+        if (position >= current.size()) {
+            throw new IllegalStateException("The python bridge has been deactivated");
+        }
+        return current.get(position);
+    }
+
+    private @Nullable Object toJava(Interpreter interpreter, Value value) {
         if (value.isNull()) {
             return null;
         }
@@ -163,7 +328,7 @@ public class HomeAssistantPythonBridge {
         if (value.hasArrayElements()) {
             List<@Nullable Object> list = new ArrayList<>();
             for (long i = 0; i < value.getArraySize(); i++) {
-                list.add(toJava(value.getArrayElement(i)));
+                list.add(toJava(interpreter, value.getArrayElement(i)));
             }
             return list;
         }
@@ -172,16 +337,16 @@ public class HomeAssistantPythonBridge {
             Value iterator = value.getHashKeysIterator();
             while (iterator.hasIteratorNextElement()) {
                 Value key = iterator.getIteratorNextElement();
-                map.put(key.asString(), toJava(Objects.requireNonNull(value.getHashValue(key))));
+                map.put(key.asString(), toJava(interpreter, Objects.requireNonNull(value.getHashValue(key))));
             }
             return map;
         }
         // This is a bit of a pain, but Python sets don't act like Arrays, nor
         // can you use `as(List.class)` to have Graal convert them
         if (value.getMetaObject().getMetaSimpleName().equals("set")) {
-            Value pyList = listMeth.execute(value);
+            Value pyList = interpreter.listMeth.execute(value);
             @SuppressWarnings("unchecked")
-            List<@Nullable Object> list = (List<@Nullable Object>) Objects.requireNonNull(toJava(pyList));
+            List<@Nullable Object> list = (List<@Nullable Object>) Objects.requireNonNull(toJava(interpreter, pyList));
             Set<@Nullable Object> set = new HashSet<@Nullable Object>(list);
             return set;
         }
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Renders value templates that only select a field of the JSON payload, like {@code {{ value_json.temperature }}}, in
+ * Java instead of Python. These templates make up most real configurations.
+ *
+ * Only results that are known to equal the Python rendering are returned: strings without surrounding whitespace,
+ * booleans and integers. For anything else, like missing fields, floats or invalid JSON, {@link #render} returns null
+ * and the template has to be rendered by Python.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SimpleValueTemplate {
+    private static final Pattern TEMPLATE_PATTERN = Pattern.compile("\\s*\\{\\{\\s*value_json("
+            + "(?:\\.[A-Za-z][A-Za-z0-9_]*|\\[(?:'[^'\\\\]*'|\"[^\"\\\\]*\")\\])+)\\s*\\}\\}\\s*");
+    private static final Pattern SEGMENT_PATTERN = Pattern
+            .compile("\\.([A-Za-z][A-Za-z0-9_]*)|\\['([^'\\\\]*)'\\]|\\[\"([^\"\\\\]*)\"\\]");
+    private static final Pattern INTEGER_PATTERN = Pattern.compile("-?(0|[1-9][0-9]*)");
+    private static final TypeAdapter<JsonElement> JSON_ADAPTER = new Gson().getAdapter(JsonElement.class);
+    // Jinja resolves attributes before items, so for these names value_json.name is a method of the dict
+    private static final Set<String> DICT_ATTRIBUTES = Set.of("clear", "copy", "fromkeys", "get", "items", "keys",
+            "pop", "popitem", "setdefault", "update", "values");
+
+    private final List<String> path;
+
+    private SimpleValueTemplate(List<String> path) {
+        this.path = path;
+    }
+
+    /**
+     * Check whether a template only selects a field of the JSON payload.
+     *
+     * @param template the source of the template
+     * @return the template, or null if it has to be rendered by Python
+     */
+    public static @Nullable SimpleValueTemplate parse(String template) {
+        Matcher matcher = TEMPLATE_PATTERN.matcher(template);
+        if (!matcher.matches()) {
+            return null;
+        }
+        List<String> path = new ArrayList<>();
+        Matcher segment = SEGMENT_PATTERN.matcher(matcher.group(1));
+        while (segment.find()) {
+            String attribute = segment.group(1);
+            if (attribute != null) {
+                if (DICT_ATTRIBUTES.contains(attribute)) {
+                    return null;
+                }
+                path.add(attribute);
+            } else {
+                String key = segment.group(2);
+                path.add(key != null ? key : segment.group(3));
+            }
+        }
+        return new SimpleValueTemplate(List.copyOf(path));
+    }
+
+    /**
+     * Render the template.
+     *
+     * @param payload the received payload
+     * @return the rendered value, or null if the template has to be rendered by Python
+     */
+    public @Nullable String render(String payload) {
+        JsonElement element;
+        try (JsonReader reader = new JsonReader(new StringReader(payload))) {
+            element = JSON_ADAPTER.read(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                return null;
+            }
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            return null;
+        }
+
+        for (String key : path) {
+            if (!(element instanceof JsonObject object)) {
+                return null;
+            }
+            JsonElement child = object.get(key);
+            if (child == null) {
+                return null;
+            }
+            element = child;
+        }
+
+        if (!(element instanceof JsonPrimitive primitive)) {
+            return null;
+        }
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean() ? "True" : "False";
+        }
+        String value = primitive.getAsString();
+        if (primitive.isNumber()) {
+            // floats are formatted differently by Python
+            return INTEGER_PATTERN.matcher(value).matches() ? new BigInteger(value).toString() : null;
+        }
+        // the rendered result is stripped by Python, which treats a few more characters as whitespace than Java
+        if (value.isEmpty() || isWhitespace(value.charAt(0)) || isWhitespace(value.charAt(value.length() - 1))) {
+            return null;
+        }
+        return value;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c <= ' ' || c == '\u0085' || Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+}
@@ -83,6 +83,9 @@ import com.google.gson.Gson;
 public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         implements ComponentDiscovered, Consumer<List<Object>>, HomeAssistantChannelLinkageChecker {
     public static final String AVAILABILITY_CHANNEL = "availability";
+    // discovered components are added at the latest after this many receive timeouts, even if more keep arriving
+    private static final int DISCOVERY_MAX_DELAY_FACTOR = 10;
+    private static final int DISCOVERY_MAX_BATCH_SIZE = 500;
     private static final Comparator<AbstractComponent<?>> COMPONENT_COMPARATOR = Comparator
             .comparing((AbstractComponent<?> component) -> component.hasGroup())
             .thenComparing(AbstractComponent::getName);
@@ -133,7 +136,8 @@ public class HomeAssistantThingHandler extends AbstractMQTTThingHandler
         this.python = python;
         this.unitProvider = unitProvider;
         this.attributeReceiveTimeout = attributeReceiveTimeout;
-        this.delayedProcessing = new DelayedBatchProcessing<>(attributeReceiveTimeout, this, scheduler);
+        this.delayedProcessing = new DelayedBatchProcessing<>(attributeReceiveTimeout,
+                attributeReceiveTimeout * DISCOVERY_MAX_DELAY_FACTOR, DISCOVERY_MAX_BATCH_SIZE, this, scheduler);
         this.discoverComponents = new DiscoverComponents(thing.getUID(), scheduler, this, this, this, gson, python,
                 unitProvider);
     }
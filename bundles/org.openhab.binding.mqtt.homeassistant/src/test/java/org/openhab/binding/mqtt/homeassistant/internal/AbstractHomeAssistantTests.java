@@ -59,6 +59,8 @@ import org.openhab.core.thing.type.ThingTypeBuilder;
 import org.openhab.core.thing.type.ThingTypeRegistry;
 import org.openhab.core.util.BundleResolver;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 /**
  * Abstract class for HomeAssistant unit tests.
  *
@@ -82,7 +84,8 @@ public abstract class AbstractHomeAssistantTests extends JavaTest {
     public static final ThingUID HA_UID = new ThingUID(MqttBindingConstants.HOMEASSISTANT_MQTT_THING, HA_ID);
     public static final ThingType HA_THING_TYPE = ThingTypeBuilder
             .instance(MqttBindingConstants.HOMEASSISTANT_MQTT_THING, HA_TYPE_LABEL).build();
-    protected static final HomeAssistantPythonBridge PYTHON = new HomeAssistantPythonBridge();
+    protected static final SimpleMeterRegistry METER_REGISTRY = new SimpleMeterRegistry();
+    protected static final HomeAssistantPythonBridge PYTHON = new HomeAssistantPythonBridge(METER_REGISTRY);
 
     protected @Mock @NonNullByDefault({}) MqttBrokerConnection bridgeConnection;
     protected @Mock @NonNullByDefault({}) ThingTypeRegistry thingTypeRegistry;
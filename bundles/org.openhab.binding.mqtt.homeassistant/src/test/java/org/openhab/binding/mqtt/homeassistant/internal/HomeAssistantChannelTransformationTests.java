@@ -15,10 +15,12 @@ package org.openhab.binding.mqtt.homeassistant.internal;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.mockito.Mockito.*;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.graalvm.polyglot.Value;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,6 +30,8 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.openhab.binding.mqtt.homeassistant.internal.component.AbstractComponent;
 
+import io.micrometer.core.instrument.Timer;
+
 /**
  * @author Jochen Klein - Initial contribution
  */
@@ -108,6 +112,56 @@ public class HomeAssistantChannelTransformationTests extends AbstractHomeAssista
                 is("off"));
     }
 
+    @Test
+    public void testSimpleTemplateMatchesPython() {
+        String[] templates = { "{{ value_json.val }}", "{{ value_json['val'] }}", "{{value_json.a.b}}",
+                "{{ value_json.values }}" };
+        String[] payloads = { "{\"val\": \"abc\"}", "{\"val\": 42}", "{\"val\": -0}", "{\"val\": 21.50}",
+                "{\"val\": true}", "{\"val\": \" padded \"}", "{\"a\": {\"b\": \"nested\"}}", "{\"values\": 1}",
+                "not json" };
+        for (String template : templates) {
+            Value pythonTemplate = PYTHON.newValueTemplate(PYTHON.newRawTemplate(template));
+            for (String payload : payloads) {
+                String expected = PYTHON.renderValueTemplate(pythonTemplate, payload,
+                        HomeAssistantChannelTransformation.PAYLOAD_SENTINEL_DEFAULT);
+                assertThat(template + " " + payload, transform(template, payload,
+                        HomeAssistantChannelTransformation.PAYLOAD_SENTINEL_DEFAULT), is(expected));
+            }
+        }
+    }
+
+    @Test
+    public void testSimpleTemplateIsRenderedInJava() {
+        Timer javaRenders = renderTimer("java");
+        Timer pythonRenders = renderTimer("python");
+        long javaCount = javaRenders.count();
+        long pythonCount = pythonRenders.count();
+
+        assertThat(transform("{{ value_json.temperature }}", "{\"temperature\": 21}"), is("21"));
+
+        assertThat(javaRenders.count(), is(javaCount + 1));
+        assertThat(pythonRenders.count(), is(pythonCount));
+    }
+
+    @Test
+    public void testOtherTemplateIsRenderedByPython() {
+        Timer javaRenders = renderTimer("java");
+        Timer pythonRenders = renderTimer("python");
+        long javaCount = javaRenders.count();
+        long pythonCount = pythonRenders.count();
+
+        assertThat(transform("{{ value_json.temperature + 1 }}", "{\"temperature\": 21}"), is("22"));
+
+        assertThat(javaRenders.count(), is(javaCount));
+        assertThat(pythonRenders.count(), is(pythonCount + 1));
+        assertThat(METER_REGISTRY.get(HomeAssistantPythonBridge.PYTHON_CONTEXTS).gauge().value(),
+                is(greaterThanOrEqualTo(1.0)));
+    }
+
+    private Timer renderTimer(String renderer) {
+        return METER_REGISTRY.get(HomeAssistantPythonBridge.TEMPLATE_RENDERS).tag("renderer", renderer).timer();
+    }
+
     protected @Nullable Object transform(String template, Object value) {
         return new HomeAssistantChannelTransformation(PYTHON, component, PYTHON.newRawTemplate(template), false)
                 .transform(value);
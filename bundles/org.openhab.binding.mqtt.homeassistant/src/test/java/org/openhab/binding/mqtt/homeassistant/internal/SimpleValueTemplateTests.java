@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link SimpleValueTemplate}, which renders templates in Java instead of Python. That the results equal
+ * the Python rendering is tested by {@link HomeAssistantChannelTransformationTests}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SimpleValueTemplateTests {
+
+    private @Nullable String render(String template, String payload) {
+        return Objects.requireNonNull(SimpleValueTemplate.parse(template)).render(payload);
+    }
+
+    @Test
+    public void testFieldSelectionsAreParsed() {
+        assertThat(SimpleValueTemplate.parse("{{ value_json.temperature }}"), is(notNullValue()));
+        assertThat(SimpleValueTemplate.parse("{{value_json['a b'].c}}"), is(notNullValue()));
+        assertThat(SimpleValueTemplate.parse(" {{ value_json[\"a\"] }} "), is(notNullValue()));
+    }
+
+    @Test
+    public void testOtherTemplatesAreNotParsed() {
+        assertThat(SimpleValueTemplate.parse("{{ value }}"), is(nullValue()));
+        assertThat(SimpleValueTemplate.parse("{{ value_json.temperature | float }}"), is(nullValue()));
+        assertThat(SimpleValueTemplate.parse("{{ value_json.temperature }} C"), is(nullValue()));
+        assertThat(SimpleValueTemplate.parse("{{ value_json[0] }}"), is(nullValue()));
+        // methods of the dict in Jinja
+        assertThat(SimpleValueTemplate.parse("{{ value_json.values }}"), is(nullValue()));
+    }
+
+    @Test
+    public void testFieldsAreRendered() {
+        assertThat(render("{{ value_json.val }}", "{\"val\": \"abc\"}"), is("abc"));
+        assertThat(render("{{ value_json.a.b }}", "{\"a\": {\"b\": \"nested\"}}"), is("nested"));
+        assertThat(render("{{ value_json['a b'] }}", "{\"a b\": \"key\"}"), is("key"));
+        assertThat(render("{{ value_json.val }}", "{\"val\": 42}"), is("42"));
+        assertThat(render("{{ value_json.val }}", "{\"val\": -0}"), is("0"));
+        assertThat(render("{{ value_json.val }}", "{\"val\": true}"), is("True"));
+        assertThat(render("{{ value_json.val }}", "{\"val\": false}"), is("False"));
+    }
+
+    @Test
+    public void testUncertainResultsAreLeftToPython() {
+        assertThat(render("{{ value_json.val }}", "{\"val\": 21.50}"), is(nullValue()));
+        assertThat(render("{{ value_json.val }}", "{\"val\": \" padded \"}"), is(nullValue()));
+        assertThat(render("{{ value_json.val }}", "{\"val\": \"\"}"), is(nullValue()));
+        assertThat(render("{{ value_json.val }}", "{\"val\": null}"), is(nullValue()));
+        assertThat(render("{{ value_json.val }}", "{\"val\": [1]}"), is(nullValue()));
+        assertThat(render("{{ value_json.val }}", "{\"other\": 1}"), is(nullValue()));
+        assertThat(render("{{ value_json.a.b }}", "{\"a\": 1}"), is(nullValue()));
+        assertThat(render("{{ value_json.val }}", "not json"), is(nullValue()));
+        assertThat(render("{{ value_json.val }}", "{\"val\": 1} {}"), is(nullValue()));
+    }
+}
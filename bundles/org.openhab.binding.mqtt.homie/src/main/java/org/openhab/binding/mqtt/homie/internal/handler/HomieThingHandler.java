@@ -61,6 +61,9 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class HomieThingHandler extends AbstractMQTTThingHandler implements DeviceCallback, Consumer<List<Object>> {
+    // discovered nodes and properties are added at the latest after this many subscribe timeouts
+    private static final int DISCOVERY_MAX_DELAY_FACTOR = 10;
+    private static final int DISCOVERY_MAX_BATCH_SIZE = 1000;
     private final Logger logger = LoggerFactory.getLogger(HomieThingHandler.class);
     protected Device device;
     protected final MqttChannelTypeProvider channelTypeProvider;
@@ -98,7 +101,8 @@ public class HomieThingHandler extends AbstractMQTTThingHandler implements Devic
         this.deviceTimeout = deviceTimeout;
         this.subscribeTimeout = subscribeTimeout;
         this.attributeReceiveTimeout = attributeReceiveTimeout;
-        this.delayedProcessing = new DelayedBatchProcessing<>(subscribeTimeout, this, scheduler);
+        this.delayedProcessing = new DelayedBatchProcessing<>(subscribeTimeout,
+                subscribeTimeout * DISCOVERY_MAX_DELAY_FACTOR, DISCOVERY_MAX_BATCH_SIZE, this, scheduler);
         this.device = new Device(this.thing.getUID(), this, new DeviceAttributes());
     }
 
@@ -51,6 +51,7 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
 
     final Map<ChannelUID, PublishTriggerChannel> channelStateByChannelUID = new HashMap<>();
     private final Map<String, @Nullable Map<MQTTTopicDiscoveryParticipant, @Nullable TopicSubscribe>> discoveryTopics = new HashMap<>();
+    private final TopicRouter discoveryRouter = new TopicRouter();
 
     protected @Nullable MqttBrokerConnection connection;
     protected CompletableFuture<MqttBrokerConnection> connectionFuture = new CompletableFuture<>();
@@ -118,26 +119,25 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
 
         discoveryTopics.forEach((topic, listenerMap) -> {
             listenerMap.replaceAll((listener, oldTopicSubscribe) -> {
-                if (oldTopicSubscribe.isStarted()) {
-                    oldTopicSubscribe.stop();
-                }
+                discoveryRouter.unsubscribe(topic, oldTopicSubscribe);
 
                 TopicSubscribe topicSubscribe = new TopicSubscribe(connection, topic, listener, thing.getUID());
                 if (discoveryEnabled()) {
-                    topicSubscribe.start().handle((result, ex) -> {
-                        if (ex != null) {
-                            logger.warn("Failed to subscribe {} to discovery topic {} on broker {}", listener, topic,
-                                    thing.getUID());
-                        } else {
-                            logger.trace("Subscribed {} to discovery topic {} on broker {}", listener, topic,
-                                    thing.getUID());
-                        }
-                        return null;
-                    });
+                    discoveryRouter.subscribe(topic, topicSubscribe);
                 }
                 return topicSubscribe;
             });
         });
+        // messages are matched against each discovery topic once, no matter how many participants are interested in it
+        discoveryRouter.start(connection).handle((result, ex) -> {
+            if (ex != null) {
+                logger.warn("Failed to subscribe to discovery topics on broker {}", thing.getUID());
+            } else {
+                logger.trace("Subscribed to discovery topics {} on broker {}", discoveryTopics.keySet(),
+                        thing.getUID());
+            }
+            return null;
+        });
     }
 
     @Override
@@ -168,12 +168,12 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
         channelStateByChannelUID.values().forEach(PublishTriggerChannel::stop);
         channelStateByChannelUID.clear();
 
+        if (logger.isDebugEnabled()) {
+            logger.debug("Discovery messages per minute on broker {}: {}", thing.getUID(),
+                    discoveryRouter.getMessageRates());
+        }
         // keep topics, but stop subscriptions
-        discoveryTopics.forEach((topic, listenerMap) -> {
-            listenerMap.forEach((listener, topicSubscribe) -> {
-                topicSubscribe.stop();
-            });
-        });
+        discoveryRouter.stop();
 
         if (connection != null) {
             connection.removeConnectionObserver(this);
@@ -199,12 +199,12 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
             if (v != null) {
                 logger.warn("Duplicate subscription for {} to discovery topic {} on broker {}. Check discovery logic!",
                         listener, topic, thing.getUID());
-                v.stop();
+                discoveryRouter.unsubscribe(topic, v);
             }
 
             TopicSubscribe topicSubscribe = new TopicSubscribe(connection, topic, listener, thing.getUID());
             if (discoveryEnabled()) {
-                topicSubscribe.start().handle((result, ex) -> {
+                discoveryRouter.subscribe(topic, topicSubscribe).handle((result, ex) -> {
                     if (ex != null) {
                         logger.warn("Failed to subscribe {} to discovery topic {} on broker {}", listener, topic,
                                 thing.getUID());
@@ -239,7 +239,7 @@ public abstract class AbstractBrokerHandler extends BaseBridgeHandler implements
                             "Tried to unsubscribe {} from  discovery topic {} on broker {} but topic not registered for listener. Check discovery logic!",
                             listener, topic, thing.getUID());
                 } else {
-                    w.stop();
+                    discoveryRouter.unsubscribe(topic, w);
                     logger.trace("Unsubscribed {} from discovery topic {} on broker {}", listener, topic,
                             thing.getUID());
                 }
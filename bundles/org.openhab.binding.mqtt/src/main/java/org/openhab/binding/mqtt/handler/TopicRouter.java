@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+
+/**
+ * The {@link TopicRouter} keeps the local subscribers of topic filters and subscribes them on the current
+ * {@link MqttBrokerConnection}, so that they survive a change of the connection. The broker keeps one subscription per
+ * filter, and the broker connection matches an incoming message against each distinct filter once, no matter how many
+ * subscribers the filter has.
+ *
+ * Each subscriber is registered on the connection with its own subscriber object. A subscriber joining a filter that
+ * is already subscribed needs the retained messages of the filter, which the broker only sends when the filter is
+ * subscribed again, and the connection passes them on to the subscribers it knows. Like without the router, the other
+ * subscribers of the filter receive them as well. The router also counts the messages per topic, once per filter, see
+ * {@link #getMessageRates()}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TopicRouter {
+    // topics are only counted up to this limit, so that a wildcard subscription can not fill the memory
+    private static final int MAX_COUNTED_TOPICS = 1000;
+
+    private final Map<String, Route> routes = new HashMap<>(); // guarded by this
+    private final Map<String, LongAdder> messageCounts = new ConcurrentHashMap<>();
+    private @Nullable MqttBrokerConnection connection; // guarded by this
+    private volatile long countingSince = System.currentTimeMillis();
+
+    private class Route {
+        final String filter;
+        final Map<MqttMessageSubscriber, Subscription> subscriptions = new HashMap<>(); // guarded by TopicRouter.this
+        // the subscription counting the messages of the filter
+        volatile @Nullable Subscription counting;
+
+        Route(String filter) {
+            this.filter = filter;
+        }
+    }
+
+    private class Subscription implements MqttMessageSubscriber {
+        final Route route;
+        final MqttMessageSubscriber subscriber;
+        boolean subscribed; // guarded by TopicRouter.this
+
+        Subscription(Route route, MqttMessageSubscriber subscriber) {
+            this.route = route;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void processMessage(String topic, byte[] payload) {
+            if (route.counting == this) {
+                count(topic);
+            }
+            subscriber.processMessage(topic, payload);
+        }
+    }
+
+    /**
+     * Subscribe all registered filters on the given connection.
+     *
+     * @param connection the broker connection
+     * @return completes with true if all filters were subscribed successfully
+     */
+    public synchronized CompletableFuture<Boolean> start(MqttBrokerConnection connection) {
+        stop();
+        this.connection = connection;
+        countingSince = System.currentTimeMillis();
+        messageCounts.clear();
+        CompletableFuture<Boolean> result = CompletableFuture.completedFuture(true);
+        for (Route route : routes.values()) {
+            for (Subscription subscription : route.subscriptions.values()) {
+                result = result.thenCombine(subscribe(connection, subscription), (a, b) -> a && b);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Unsubscribe all filters from the connection. The subscribers are kept and subscribed again by the next call of
+     * {@link #start(MqttBrokerConnection)}.
+     */
+    public synchronized void stop() {
+        final MqttBrokerConnection connection = this.connection;
+        if (connection != null) {
+            for (Route route : routes.values()) {
+                for (Subscription subscription : route.subscriptions.values()) {
+                    if (subscription.subscribed) {
+                        connection.unsubscribe(route.filter, subscription);
+                        subscription.subscribed = false;
+                    }
+                }
+            }
+        }
+        this.connection = null;
+    }
+
+    /**
+     * Add a subscriber to a topic filter. The subscriber is subscribed on the broker connection with its own subscriber
+     * object, which makes the broker send the retained messages of the filter again.
+     *
+     * @param filter the topic filter, wildcards are supported
+     * @param subscriber the subscriber
+     * @return completes with true if the subscription succeeded or the router is not started
+     */
+    public synchronized CompletableFuture<Boolean> subscribe(String filter, MqttMessageSubscriber subscriber) {
+        Route route = routes.computeIfAbsent(filter, Route::new);
+        if (route.subscriptions.containsKey(subscriber)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        Subscription subscription = new Subscription(route, subscriber);
+        route.subscriptions.put(subscriber, subscription);
+        if (route.counting == null) {
+            route.counting = subscription;
+        }
+        final MqttBrokerConnection connection = this.connection;
+        if (connection == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        return subscribe(connection, subscription);
+    }
+
+    /**
+     * Remove a subscriber from a topic filter. The broker connection unsubscribes the filter from the broker when its
+     * last subscriber is removed.
+     *
+     * @param filter the topic filter as given to {@link #subscribe(String, MqttMessageSubscriber)}
+     * @param subscriber the subscriber
+     * @return completes with true if unsubscribing succeeded or the subscriber was not subscribed
+     */
+    public synchronized CompletableFuture<Boolean> unsubscribe(String filter, MqttMessageSubscriber subscriber) {
+        Route route = routes.get(filter);
+        Subscription subscription = route != null ? route.subscriptions.remove(subscriber) : null;
+        if (route == null || subscription == null) {
+            return CompletableFuture.completedFuture(true);
+        }
+        if (route.subscriptions.isEmpty()) {
+            routes.remove(filter);
+            route.counting = null;
+        } else if (route.counting == subscription) {
+            route.counting = route.subscriptions.values().iterator().next();
+        }
+        final MqttBrokerConnection connection = this.connection;
+        if (connection == null || !subscription.subscribed) {
+            return CompletableFuture.completedFuture(true);
+        }
+        subscription.subscribed = false;
+        return connection.unsubscribe(filter, subscription);
+    }
+
+    /**
+     * Get the number of messages per minute of each topic since the router was started, the busiest topic first.
+     */
+    public Map<String, Double> getMessageRates() {
+        double minutes = Math.max(System.currentTimeMillis() - countingSince, 1) / 60000.0;
+        Map<String, Double> rates = new LinkedHashMap<>();
+        messageCounts.entrySet().stream().map(e -> Map.entry(e.getKey(), e.getValue().sum()))
+                .sorted(Map.Entry.<String, Long> comparingByValue().reversed())
+                .forEach(e -> rates.put(e.getKey(), e.getValue() / minutes));
+        return rates;
+    }
+
+    private CompletableFuture<Boolean> subscribe(MqttBrokerConnection connection, Subscription subscription) {
+        subscription.subscribed = true;
+        return connection.subscribe(subscription.route.filter, subscription);
+    }
+
+    private void count(String topic) {
+        LongAdder count = messageCounts.get(topic);
+        if (count == null) {
+            if (messageCounts.size() >= MAX_COUNTED_TOPICS) {
+                return;
+            }
+            count = messageCounts.computeIfAbsent(topic, t -> new LongAdder());
+        }
+        count.increment();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.handler;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.io.transport.mqtt.MqttBrokerConnection;
+import org.openhab.core.io.transport.mqtt.MqttMessageSubscriber;
+
+/**
+ * Tests the {@link TopicRouter}.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class TopicRouterTest {
+
+    private @Mock @NonNullByDefault({}) MqttBrokerConnection connection;
+    private @Mock @NonNullByDefault({}) MqttMessageSubscriber first;
+    private @Mock @NonNullByDefault({}) MqttMessageSubscriber second;
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).subscribe(any(), any());
+        doReturn(CompletableFuture.completedFuture(true)).when(connection).unsubscribe(any(), any());
+    }
+
+    private List<MqttMessageSubscriber> subscribed(String filter) {
+        ArgumentCaptor<MqttMessageSubscriber> captor = ArgumentCaptor.forClass(MqttMessageSubscriber.class);
+        verify(connection, atLeastOnce()).subscribe(eq(filter), captor.capture());
+        return captor.getAllValues();
+    }
+
+    @Test
+    public void eachSubscriberIsSubscribedWithItsOwnObject() {
+        TopicRouter router = new TopicRouter();
+        router.subscribe("homie/+/$homie", first);
+        router.start(connection);
+        router.subscribe("homie/+/$homie", second);
+
+        List<MqttMessageSubscriber> subscribed = subscribed("homie/+/$homie");
+        assertThat(subscribed, hasSize(2));
+        assertThat(subscribed.get(0), is(not(sameInstance(subscribed.get(1)))));
+        byte[] payload = "4.0".getBytes();
+        subscribed.get(1).processMessage("homie/device/$homie", payload);
+        verify(second).processMessage("homie/device/$homie", payload);
+        // a message is counted once for the filter, by the first subscriber
+        assertThat(router.getMessageRates().keySet(), is(empty()));
+
+        subscribed.get(0).processMessage("homie/device/$homie", payload);
+        verify(first).processMessage("homie/device/$homie", payload);
+        assertThat(router.getMessageRates().keySet(), is(Set.of("homie/device/$homie")));
+    }
+
+    @Test
+    public void lateSubscriberMakesTheBrokerResendRetainedMessages() {
+        TopicRouter router = new TopicRouter();
+        router.start(connection);
+        router.subscribe("homeassistant/#", first);
+        router.subscribe("homeassistant/#", second);
+
+        // the connection sends the retained messages to newly added subscribers, so each needs its own object
+        List<MqttMessageSubscriber> subscribed = subscribed("homeassistant/#");
+        assertThat(subscribed, hasSize(2));
+        subscribed.get(1).processMessage("homeassistant/sensor/a/config", "{}".getBytes());
+        verify(second).processMessage(eq("homeassistant/sensor/a/config"), any());
+        verify(first, never()).processMessage(any(), any());
+
+        router.subscribe("homeassistant/#", second);
+        verify(connection, times(2)).subscribe(eq("homeassistant/#"), any());
+    }
+
+    @Test
+    public void countingMovesToRemainingSubscriber() {
+        TopicRouter router = new TopicRouter();
+        router.start(connection);
+        router.subscribe("topic", first);
+        router.subscribe("topic", second);
+        List<MqttMessageSubscriber> subscribed = subscribed("topic");
+
+        router.unsubscribe("topic", first);
+        subscribed.get(1).processMessage("topic", new byte[0]);
+
+        assertThat(router.getMessageRates().keySet(), is(Set.of("topic")));
+    }
+
+    @Test
+    public void eachSubscriberIsUnsubscribed() {
+        TopicRouter router = new TopicRouter();
+        router.start(connection);
+        router.subscribe("topic", first);
+        router.subscribe("topic", second);
+
+        List<MqttMessageSubscriber> subscribed = subscribed("topic");
+
+        router.unsubscribe("topic", first);
+        verify(connection).unsubscribe("topic", subscribed.get(0));
+
+        router.unsubscribe("topic", second);
+        verify(connection).unsubscribe("topic", subscribed.get(1));
+    }
+
+    @Test
+    public void stopKeepsSubscribers() {
+        TopicRouter router = new TopicRouter();
+        router.start(connection);
+        router.subscribe("topic", first);
+        router.stop();
+        verify(connection).unsubscribe(eq("topic"), any());
+
+        MqttBrokerConnection other = mock(MqttBrokerConnection.class);
+        doReturn(CompletableFuture.completedFuture(true)).when(other).subscribe(any(), any());
+        router.start(other);
+        verify(other).subscribe(eq("topic"), any());
+    }
+}
@@ -14,6 +14,8 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -26,13 +28,18 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
+import org.openhab.core.common.NamedThreadFactory;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
@@ -54,8 +61,10 @@ import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
+import org.openhab.persistence.influxdb.internal.InfluxDBSpillFile;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
+import org.openhab.persistence.influxdb.internal.QueryCache;
 import org.openhab.persistence.influxdb.internal.influx1.InfluxDB1RepositoryImpl;
 import org.openhab.persistence.influxdb.internal.influx2.InfluxDB2RepositoryImpl;
 import org.osgi.framework.Constants;
@@ -97,8 +106,9 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
 
     private final Logger logger = LoggerFactory.getLogger(InfluxDBPersistenceService.class);
 
-    private static final int COMMIT_INTERVAL = 3; // in s
     protected static final String CONFIG_URI = "persistence:influxdb";
+    private static final Path SPILL_FILE = Path.of(OpenHAB.getUserDataFolder(), "persistence", "influxdb",
+            "spill.bin");
 
     // External dependencies
     private final ItemRegistry itemRegistry;
@@ -110,7 +120,12 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
 
     // storage
     private final ScheduledFuture<?> storeJob;
-    private final BlockingQueue<InfluxPoint> pointsQueue = new LinkedBlockingQueue<>();
+    private final BlockingQueue<InfluxPoint> pointsQueue;
+    private final @Nullable InfluxDBSpillFile spillFile;
+    private final ExecutorService writeExecutor;
+    private final AtomicLong droppedPoints = new AtomicLong();
+    private long reportedDroppedPoints;
+    private final @Nullable QueryCache queryCache;
 
     // conversion
     private final Set<ItemFactory> itemFactories = new HashSet<>();
@@ -123,10 +138,18 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         this.influxDBMetadataService = influxDBMetadataService;
         this.configuration = new InfluxDBConfiguration(config);
         if (configuration.isValid()) {
+            this.pointsQueue = new LinkedBlockingQueue<>(configuration.getQueueSize());
+            this.spillFile = configuration.getSpillSize() > 0 ? new InfluxDBSpillFile(SPILL_FILE,
+                    configuration.getSpillSize() * 1024 * 1024) : null;
+            this.queryCache = configuration.getQueryCacheSize() > 0 ? new QueryCache(configuration.getQueryCacheSize(),
+                    Duration.ofSeconds(configuration.getQueryCacheMaxAge())) : null;
+            this.writeExecutor = Executors.newFixedThreadPool(configuration.getWriteThreads(),
+                    new NamedThreadFactory("influxdb-writer"));
             this.influxDBRepository = createInfluxDBRepository();
             this.influxDBRepository.connect();
-            this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb")
-                    .scheduleWithFixedDelay(this::commit, COMMIT_INTERVAL, COMMIT_INTERVAL, TimeUnit.SECONDS);
+            this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb").scheduleWithFixedDelay(
+                    this::commit, configuration.getFlushInterval(), configuration.getFlushInterval(),
+                    TimeUnit.MILLISECONDS);
             serviceActivated = true;
         } else {
             throw new IllegalArgumentException("Configuration invalid.");
@@ -155,9 +178,18 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         commit(); // ensure we at least tried to store the data;
 
         if (!pointsQueue.isEmpty()) {
-            logger.warn("InfluxDB failed to finally store {} points.", pointsQueue.size());
+            List<InfluxPoint> points = new ArrayList<>();
+            pointsQueue.drainTo(points);
+            if (spillFile != null) {
+                logger.info("InfluxDB failed to finally store {} points, keeping them for the next start.",
+                        points.size());
+                spillOrDrop(points);
+            } else {
+                logger.warn("InfluxDB failed to finally store {} points.", points.size());
+            }
         }
 
+        writeExecutor.shutdown();
         influxDBRepository.disconnect();
         logger.info("InfluxDB persistence service stopped.");
     }
@@ -212,7 +244,8 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
             if (pointsQueue.offer(point)) {
                 logger.trace("Queued {} for item {}", point, item);
             } else {
-                logger.warn("Failed to queue {} for item {}", point, item);
+                logger.trace("Queue is full, spilling {} for item {}", point, item);
+                spillOrDrop(List.of(point));
             }
         });
     }
@@ -220,11 +253,17 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
     @Override
     public boolean remove(FilterCriteria filter) throws IllegalArgumentException {
         if (serviceActivated && checkConnection()) {
-            if (filter.getItemName() == null) {
+            String itemName = filter.getItemName();
+            if (itemName == null) {
                 logger.warn("Item name is missing in filter {} when trying to remove data.", filter);
                 return false;
             }
-            return influxDBRepository.remove(filter);
+            boolean removed = influxDBRepository.remove(filter);
+            QueryCache queryCache = this.queryCache;
+            if (queryCache != null) {
+                queryCache.invalidate(itemName);
+            }
+            return removed;
         } else {
             logger.debug("Remove query {} ignored, InfluxDB is not connected.", filter);
             return false;
@@ -249,15 +288,24 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
                     itemName, filter.getOrdering().toString(), filter.getState(), filter.getOperator(),
                     filter.getBeginDate(), filter.getEndDate(), filter.getPageSize(), filter.getPageNumber());
 
-            List<InfluxDBRepository.InfluxRow> results = influxDBRepository.query(filter,
-                    configuration.getRetentionPolicy(), alias);
-            return results.stream().map(r -> mapRowToHistoricItem(r, itemName)).collect(Collectors.toList());
+            QueryCache queryCache = this.queryCache;
+            if (queryCache != null) {
+                return queryCache.get(alias != null ? alias : itemName, filter,
+                        () -> queryHistoricItems(filter, itemName, alias));
+            }
+            return queryHistoricItems(filter, itemName, alias);
         } else {
             logger.debug("Query for persisted data ignored, InfluxDB is not connected");
             return List.of();
         }
     }
 
+    private List<HistoricItem> queryHistoricItems(FilterCriteria filter, String itemName, @Nullable String alias) {
+        List<InfluxDBRepository.InfluxRow> results = influxDBRepository.query(filter,
+                configuration.getRetentionPolicy(), alias);
+        return results.stream().map(r -> mapRowToHistoricItem(r, itemName)).collect(Collectors.toList());
+    }
+
     private HistoricItem mapRowToHistoricItem(InfluxDBRepository.InfluxRow row, String itemName) {
         State state = InfluxDBStateConvertUtils.objectToState(row.value(), itemName, itemRegistry);
         return new InfluxDBHistoricItem(row.itemName(), state, row.time());
@@ -283,18 +331,111 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         return false;
     }
 
-    private void commit() {
-        if (!pointsQueue.isEmpty() && checkConnection()) {
-            List<InfluxPoint> points = new ArrayList<>();
-            pointsQueue.drainTo(points);
-            if (!influxDBRepository.write(points)) {
-                logger.warn("Re-queuing {} elements, failed to write batch.", points.size());
-                pointsQueue.addAll(points);
-                influxDBRepository.disconnect();
-            } else {
-                logger.trace("Wrote {} elements to database", points.size());
+    /**
+     * Get the number of points waiting in memory to be written.
+     */
+    public int getQueuedPoints() {
+        return pointsQueue.size();
+    }
+
+    /**
+     * Get the number of points dropped since the service was started, because they could neither be queued nor
+     * spilled to disk.
+     */
+    public long getDroppedPoints() {
+        return droppedPoints.get();
+    }
+
+    private synchronized void commit() {
+        reportDroppedPoints();
+        InfluxDBSpillFile spillFile = this.spillFile;
+        boolean spillEmpty = spillFile == null || spillFile.isEmpty();
+        if ((pointsQueue.isEmpty() && spillEmpty) || !checkConnection()) {
+            return;
+        }
+
+        if (spillFile != null && !spillEmpty
+                && !spillFile.replay(configuration.getBatchSize(), this::write)) {
+            logger.warn("Failed to write spilled points, will retry later.");
+            influxDBRepository.disconnect();
+            return;
+        }
+
+        List<InfluxPoint> points = new ArrayList<>();
+        pointsQueue.drainTo(points);
+        if (points.isEmpty()) {
+            return;
+        }
+
+        int batchSize = configuration.getBatchSize();
+        List<List<InfluxPoint>> batches = new ArrayList<>();
+        for (int i = 0; i < points.size(); i += batchSize) {
+            batches.add(points.subList(i, Math.min(i + batchSize, points.size())));
+        }
+        List<CompletableFuture<Boolean>> results = batches.stream()
+                .map(batch -> CompletableFuture.supplyAsync(() -> write(batch), writeExecutor)
+                        .exceptionally(e -> {
+                            logger.debug("Failed to write batch: {}", e.getMessage());
+                            return false;
+                        }))
+                .toList();
+
+        List<InfluxPoint> failed = new ArrayList<>();
+        for (int i = 0; i < batches.size(); i++) {
+            if (!results.get(i).join()) {
+                failed.addAll(batches.get(i));
             }
         }
+        if (failed.isEmpty()) {
+            logger.trace("Wrote {} elements to database, {} still queued", points.size(), pointsQueue.size());
+        } else {
+            logger.warn("Re-queuing {} elements, failed to write batch.", failed.size());
+            requeue(failed);
+            influxDBRepository.disconnect();
+        }
+    }
+
+    private boolean write(List<InfluxPoint> points) {
+        try {
+            return influxDBRepository.write(points);
+        } finally {
+            // also after failures, as a part of the points may have been written
+            QueryCache queryCache = this.queryCache;
+            if (queryCache != null) {
+                for (InfluxPoint point : points) {
+                    String name = point.getTags().get(TAG_ITEM_NAME);
+                    if (name != null) {
+                        queryCache.invalidate(name, point.getTime());
+                    }
+                }
+            }
+        }
+    }
+
+    private void requeue(List<InfluxPoint> points) {
+        if (spillFile != null) {
+            spillOrDrop(points);
+        } else {
+            long dropped = points.stream().filter(point -> !pointsQueue.offer(point)).count();
+            droppedPoints.addAndGet(dropped);
+        }
+    }
+
+    private void spillOrDrop(List<InfluxPoint> points) {
+        InfluxDBSpillFile spillFile = this.spillFile;
+        int spilled = spillFile != null ? spillFile.append(points) : 0;
+        if (spilled < points.size()) {
+            droppedPoints.addAndGet(points.size() - spilled);
+        }
+    }
+
+    private void reportDroppedPoints() {
+        long dropped = droppedPoints.get();
+        if (dropped > reportedDroppedPoints) {
+            logger.warn("Dropped {} points, the queue is full and they could not be spilled to disk.",
+                    dropped - reportedDroppedPoints);
+            reportedDroppedPoints = dropped;
+        }
     }
 
     /**
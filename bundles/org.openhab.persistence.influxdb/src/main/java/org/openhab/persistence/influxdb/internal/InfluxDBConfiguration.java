@@ -39,6 +39,13 @@ public class InfluxDBConfiguration {
     public static final String ADD_CATEGORY_TAG_PARAM = "addCategoryTag";
     public static final String ADD_LABEL_TAG_PARAM = "addLabelTag";
     public static final String ADD_TYPE_TAG_PARAM = "addTypeTag";
+    public static final String QUEUE_SIZE_PARAM = "queueSize";
+    public static final String BATCH_SIZE_PARAM = "batchSize";
+    public static final String FLUSH_INTERVAL_PARAM = "flushInterval";
+    public static final String WRITE_THREADS_PARAM = "writeThreads";
+    public static final String SPILL_SIZE_PARAM = "spillSize";
+    public static final String QUERY_CACHE_SIZE_PARAM = "queryCacheSize";
+    public static final String QUERY_CACHE_MAX_AGE_PARAM = "queryCacheMaxAge";
     private final Logger logger = LoggerFactory.getLogger(InfluxDBConfiguration.class);
     private final String url;
     private final String user;
@@ -51,6 +58,13 @@ public class InfluxDBConfiguration {
     private final boolean addCategoryTag;
     private final boolean addTypeTag;
     private final boolean addLabelTag;
+    private final int queueSize;
+    private final int batchSize;
+    private final long flushInterval;
+    private final int writeThreads;
+    private final long spillSize;
+    private final int queryCacheSize;
+    private final long queryCacheMaxAge;
 
     public InfluxDBConfiguration(Map<String, Object> config) {
         url = ConfigParser.valueAsOrElse(config.get(URL_PARAM), String.class, "http://127.0.0.1:8086");
@@ -64,6 +78,14 @@ public class InfluxDBConfiguration {
         addCategoryTag = ConfigParser.valueAsOrElse(config.get(ADD_CATEGORY_TAG_PARAM), Boolean.class, false);
         addLabelTag = ConfigParser.valueAsOrElse(config.get(ADD_LABEL_TAG_PARAM), Boolean.class, false);
         addTypeTag = ConfigParser.valueAsOrElse(config.get(ADD_TYPE_TAG_PARAM), Boolean.class, false);
+        queueSize = Math.max(1, ConfigParser.valueAsOrElse(config.get(QUEUE_SIZE_PARAM), Integer.class, 100000));
+        batchSize = Math.max(1, ConfigParser.valueAsOrElse(config.get(BATCH_SIZE_PARAM), Integer.class, 5000));
+        flushInterval = Math.max(100, ConfigParser.valueAsOrElse(config.get(FLUSH_INTERVAL_PARAM), Long.class, 3000L));
+        writeThreads = Math.max(1, ConfigParser.valueAsOrElse(config.get(WRITE_THREADS_PARAM), Integer.class, 2));
+        spillSize = Math.max(0, ConfigParser.valueAsOrElse(config.get(SPILL_SIZE_PARAM), Long.class, 100L));
+        queryCacheSize = Math.max(0, ConfigParser.valueAsOrElse(config.get(QUERY_CACHE_SIZE_PARAM), Integer.class, 0));
+        queryCacheMaxAge = Math.max(1,
+                ConfigParser.valueAsOrElse(config.get(QUERY_CACHE_MAX_AGE_PARAM), Long.class, 60L));
     }
 
     private InfluxDBVersion parseInfluxVersion(@Nullable String value) {
@@ -142,6 +164,55 @@ public class InfluxDBConfiguration {
         return addLabelTag;
     }
 
+    /**
+     * Get the maximum number of points waiting in memory to be written.
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Get the maximum number of points written in one request.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Get the interval in milliseconds for writing queued points.
+     */
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Get the maximum number of concurrent write requests.
+     */
+    public int getWriteThreads() {
+        return writeThreads;
+    }
+
+    /**
+     * Get the maximum size in megabytes of the file for points which cannot be queued or written, 0 if disabled.
+     */
+    public long getSpillSize() {
+        return spillSize;
+    }
+
+    /**
+     * Get the maximum number of values in all cached query results, 0 if disabled.
+     */
+    public int getQueryCacheSize() {
+        return queryCacheSize;
+    }
+
+    /**
+     * Get the maximum time in seconds a query result is cached.
+     */
+    public long getQueryCacheMaxAge() {
+        return queryCacheMaxAge;
+    }
+
     public String getUser() {
         return user;
     }
@@ -160,6 +231,8 @@ public class InfluxDBConfiguration {
                 + " chars', token='" + token.length() + " chars', databaseName='" + databaseName
                 + "', retentionPolicy='" + retentionPolicy + "', version=" + version + ", replaceUnderscore="
                 + replaceUnderscore + ", addCategoryTag=" + addCategoryTag + ", addTypeTag=" + addTypeTag
-                + ", addLabelTag=" + addLabelTag + '}';
+                + ", addLabelTag=" + addLabelTag + ", queueSize=" + queueSize + ", batchSize=" + batchSize
+                + ", flushInterval=" + flushInterval + ", writeThreads=" + writeThreads + ", spillSize=" + spillSize
+                + ", queryCacheSize=" + queryCacheSize + ", queryCacheMaxAge=" + queryCacheMaxAge + '}';
     }
 }
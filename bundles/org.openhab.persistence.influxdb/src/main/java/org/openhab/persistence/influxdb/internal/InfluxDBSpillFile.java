@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link InfluxDBSpillFile} is an append-only file for points that could not be kept in memory or could not be
+ * written to InfluxDB.
+ *
+ * Each point is stored as a record prefixed with its length. A point is encoded completely before it is written, so a
+ * point that can not be encoded leaves nothing in the file, and a record that can not be decoded is skipped. A record
+ * that was only written partially ends the file.
+ *
+ * For replaying, the file is moved aside, so that new points can be appended while the old ones are written. If
+ * writing or reading fails, the points not written yet are kept in the moved file and replayed next time. As InfluxDB
+ * overwrites points with the same measurement, tags and timestamp, writing a point again does no harm.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBSpillFile {
+    private static final byte TYPE_STRING = 0;
+    private static final byte TYPE_DECIMAL = 1;
+    private static final byte TYPE_LONG = 2;
+    private static final byte TYPE_INTEGER = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_BOOLEAN = 5;
+
+    private static final int MAX_TAGS = 0xFFFF;
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBSpillFile.class);
+
+    private final Path file;
+    private final Path replayFile;
+    private final long maxSize;
+
+    /**
+     * @param file the file to append points to
+     * @param maxSize maximum size of the file in bytes, points exceeding it are dropped
+     */
+    public InfluxDBSpillFile(Path file, long maxSize) {
+        this.file = file;
+        this.replayFile = file.resolveSibling(file.getFileName() + ".replay");
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Append points to the file.
+     *
+     * @return the number of points appended, the remaining points were dropped because the file is full or could not
+     *         be written
+     */
+    public synchronized int append(List<InfluxPoint> points) {
+        int count = 0;
+        try {
+            Files.createDirectories(file.getParent());
+            long size = Files.exists(file) ? Files.size(file) : 0;
+            try (OutputStream stream = Files.newOutputStream(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+                for (InfluxPoint point : points) {
+                    byte[] record;
+                    try {
+                        record = encode(point);
+                    } catch (IOException e) {
+                        logger.warn("Dropping point of '{}' which can not be spilled: {}", point.getMeasurementName(),
+                                e.getMessage());
+                        continue;
+                    }
+                    if (size + out.size() + Integer.BYTES + record.length > maxSize) {
+                        break;
+                    }
+                    out.writeInt(record.length);
+                    out.write(record);
+                    count++;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to write points to '{}': {}", file, e.getMessage());
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of bytes waiting for replay.
+     */
+    public synchronized long getSize() {
+        try {
+            long size = Files.exists(file) ? Files.size(file) : 0;
+            return size + (Files.exists(replayFile) ? Files.size(replayFile) : 0);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    public boolean isEmpty() {
+        return getSize() == 0;
+    }
+
+    /**
+     * Write all points of the file in batches.
+     *
+     * @param batchSize the maximum number of points passed to the writer at once
+     * @param writer writes a batch and returns whether it was successful
+     * @return true if all points were written, false if a batch failed or the file could not be read and the points not
+     *         written yet are kept for the next replay
+     */
+    public boolean replay(int batchSize, Predicate<List<InfluxPoint>> writer) {
+        synchronized (this) {
+            try {
+                if (!Files.exists(replayFile)) {
+                    if (!Files.exists(file)) {
+                        return true;
+                    }
+                    Files.move(file, replayFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to prepare replay of '{}': {}", file, e.getMessage());
+                return false;
+            }
+        }
+
+        // the replay file is only used by a single thread, new points are appended to the other file meanwhile
+        int count = 0;
+        // the length of the records which are written or skipped
+        long done = 0;
+        boolean complete = false;
+        try (InputStream stream = Files.newInputStream(replayFile);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+            List<InfluxPoint> batch = new ArrayList<>(batchSize);
+            long position = 0;
+            while (true) {
+                byte[] record = readRecord(in);
+                if (record != null) {
+                    position += Integer.BYTES + record.length;
+                    InfluxPoint point = decode(record);
+                    if (point != null) {
+                        batch.add(point);
+                    }
+                }
+                if (batch.size() >= batchSize || (record == null && !batch.isEmpty())) {
+                    if (!writer.test(batch)) {
+                        break;
+                    }
+                    count += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                }
+                if (batch.isEmpty()) {
+                    done = position;
+                }
+                if (record == null) {
+                    complete = true;
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read points from '{}': {}", replayFile, e.getMessage());
+        }
+
+        if (complete) {
+            try {
+                Files.deleteIfExists(replayFile);
+            } catch (IOException e) {
+                logger.warn("Failed to delete '{}': {}", replayFile, e.getMessage());
+            }
+        } else {
+            keepRemainder(done);
+        }
+        logger.debug("Replayed {} points from '{}'", count, file);
+        return complete;
+    }
+
+    /**
+     * Remove the records which are done from the start of the replay file.
+     */
+    private void keepRemainder(long done) {
+        if (done == 0) {
+            return;
+        }
+        Path remainderFile = replayFile.resolveSibling(replayFile.getFileName() + ".tmp");
+        try (InputStream in = Files.newInputStream(replayFile)) {
+            in.skipNBytes(done);
+            Files.copy(in, remainderFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(remainderFile, replayFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // the whole file is replayed again
+            logger.debug("Failed to remove the replayed points from '{}': {}", replayFile, e.getMessage());
+        }
+    }
+
+    private static byte[] encode(InfluxPoint point) throws IOException {
+        Map<String, String> tags = point.getTags();
+        if (tags.size() > MAX_TAGS) {
+            throw new IOException("Too many tags");
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeString(out, point.getMeasurementName());
+        out.writeLong(point.getTime().getEpochSecond());
+        out.writeInt(point.getTime().getNano());
+        Object value = point.getValue();
+        if (value instanceof BigDecimal decimal) {
+            out.writeByte(TYPE_DECIMAL);
+            writeString(out, decimal.toString());
+        } else if (value instanceof Long longValue) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong(longValue);
+        } else if (value instanceof Integer intValue) {
+            out.writeByte(TYPE_INTEGER);
+            out.writeInt(intValue);
+        } else if (value instanceof Number number) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble(number.doubleValue());
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean(bool);
+        } else {
+            out.writeByte(TYPE_STRING);
+            writeString(out, String.valueOf(value));
+        }
+        out.writeShort(tags.size());
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            writeString(out, tag.getKey());
+            writeString(out, tag.getValue());
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return the next record, or null if the end of the file is reached or the remaining data is incomplete
+     */
+    private byte @Nullable [] readRecord(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            if (length < 0 || length > maxSize) {
+                logger.warn("Skipping the invalid remainder of '{}'", replayFile);
+                return null;
+            }
+            byte[] record = new byte[length];
+            in.readFully(record);
+            return record;
+        } catch (EOFException e) {
+            // end of file, or the last point was only written partially
+            return null;
+        }
+    }
+
+    /**
+     * @return the point, or null if the record is invalid
+     */
+    private @Nullable InfluxPoint decode(byte[] record) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            InfluxPoint.Builder builder = InfluxPoint.newBuilder(readString(in))
+                    .withTime(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+            byte type = in.readByte();
+            switch (type) {
+                case TYPE_DECIMAL -> builder.withValue(new BigDecimal(readString(in)));
+                case TYPE_LONG -> builder.withValue(in.readLong());
+                case TYPE_INTEGER -> builder.withValue(in.readInt());
+                case TYPE_DOUBLE -> builder.withValue(in.readDouble());
+                case TYPE_BOOLEAN -> builder.withValue(in.readBoolean());
+                case TYPE_STRING -> builder.withValue(readString(in));
+                default -> throw new IOException("Unknown value type " + type);
+            }
+            int tagCount = in.readUnsignedShort();
+            for (int i = 0; i < tagCount; i++) {
+                builder.withTag(readString(in), readString(in));
+            }
+            return builder.build();
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Skipping invalid point in '{}': {}", replayFile, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write a string prefixed with its length, which unlike {@link DataOutputStream#writeUTF(String)} is not limited to
+     * 64 KB.
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new IOException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Operator;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link QueryCache} keeps the results of recent queries, so that repeated queries with the same
+ * {@link FilterCriteria} do not need a round trip to the database.
+ *
+ * The total number of values in all cached results is bounded, the least recently used result is evicted first.
+ * Results expire after a maximum age, which covers changes not made through this service. When values of an item are
+ * changed, only the results of this item whose time range contains the timestamp of the changed value are discarded,
+ * or all results of this item if the timestamp is unknown.
+ *
+ * An end of the time range up to one second before the query denotes the current time, e.g. in
+ * <code>averageSince</code>. Such queries share one result, which is discarded when a value after its begin is stored,
+ * so they are answered from the cache although their end changes with every query.
+ *
+ * This class is kept identical in the JDBC, InfluxDB and RRD4j persistence bundles apart from the package.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class QueryCache {
+
+    private static final Duration NOW_TOLERANCE = Duration.ofSeconds(1);
+
+    /**
+     * Runs the query on a cache miss.
+     */
+    @FunctionalInterface
+    public interface Loader<E extends Exception> {
+        List<HistoricItem> load() throws E;
+    }
+
+    /**
+     * The key of a result, where an end of null with untilNow set denotes the current time and an end of null
+     * without untilNow denotes an open time range.
+     */
+    private record Key(String name, @Nullable Instant begin, @Nullable Instant end, boolean untilNow,
+            Ordering ordering, int pageNumber, int pageSize, Operator operator, @Nullable State state) {
+
+        static Key of(String name, FilterCriteria filter, Instant now) {
+            Instant end = toInstant(filter.getEndDate());
+            boolean untilNow = end != null && Duration.between(end, now).abs().compareTo(NOW_TOLERANCE) <= 0;
+            return new Key(name, toInstant(filter.getBeginDate()), untilNow ? null : end, untilNow,
+                    filter.getOrdering(), filter.getPageNumber(), filter.getPageSize(), filter.getOperator(),
+                    filter.getState());
+        }
+
+        private static @Nullable Instant toInstant(@Nullable ZonedDateTime date) {
+            return date != null ? date.toInstant() : null;
+        }
+
+        boolean contains(Instant timestamp) {
+            Instant begin = this.begin;
+            Instant end = this.end;
+            return (begin == null || !timestamp.isBefore(begin)) && (end == null || !timestamp.isAfter(end));
+        }
+    }
+
+    private record Result(List<HistoricItem> items, long expires) {
+    }
+
+    /**
+     * The queries of a series that are running, used to detect changes of the series meanwhile.
+     */
+    private static class Loading {
+        int count;
+        long generation;
+    }
+
+    private final int maxValues;
+    private final long maxAgeMillis;
+
+    // guarded by this
+    private final Map<Key, Result> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // only contains the series with running queries, so that it doesn't grow with every series ever queried
+    private final Map<String, Loading> loading = new HashMap<>();
+    private int values;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param maxValues the maximum number of values in all cached results
+     * @param maxAge the maximum time a result is kept
+     */
+    public QueryCache(int maxValues, Duration maxAge) {
+        this.maxValues = maxValues;
+        this.maxAgeMillis = maxAge.toMillis();
+    }
+
+    /**
+     * Get the cached result of a query or run it.
+     *
+     * @param name the name of the series, i.e. the alias or the item name
+     * @param filter the filter of the query
+     * @param loader runs the query if there is no valid cached result
+     * @return the unmodifiable result of the query
+     * @throws E if the query fails, failed queries are not cached
+     */
+    public <E extends Exception> List<HistoricItem> get(String name, FilterCriteria filter, Loader<E> loader)
+            throws E {
+        Key key = Key.of(name, filter, Instant.now());
+        Loading running;
+        long generation;
+        synchronized (this) {
+            Result result = entries.get(key);
+            if (result != null) {
+                if (result.expires() > System.currentTimeMillis()) {
+                    hits++;
+                    return result.items();
+                }
+                remove(key);
+            }
+            misses++;
+            running = loading.computeIfAbsent(name, n -> new Loading());
+            running.count++;
+            generation = running.generation;
+        }
+
+        @Nullable
+        List<HistoricItem> items = null;
+        try {
+            items = List.copyOf(loader.load());
+            return items;
+        } finally {
+            synchronized (this) {
+                if (--running.count == 0) {
+                    loading.remove(name);
+                }
+                if (items != null && running.generation == generation && items.size() <= maxValues) {
+                    put(key, new Result(items, System.currentTimeMillis() + maxAgeMillis));
+                }
+            }
+        }
+    }
+
+    private void put(Key key, Result result) {
+        Result previous = entries.put(key, result);
+        if (previous != null) {
+            values -= previous.items().size();
+        }
+        values += result.items().size();
+        Iterator<Result> iterator = entries.values().iterator();
+        while (values > maxValues && iterator.hasNext()) {
+            values -= iterator.next().items().size();
+            iterator.remove();
+        }
+    }
+
+    private void remove(Key key) {
+        Result result = entries.remove(key);
+        if (result != null) {
+            values -= result.items().size();
+        }
+    }
+
+    /**
+     * Discard the results of a series whose time range contains the timestamp of a changed value.
+     *
+     * @param name the name of the series
+     * @param timestamp the timestamp of the changed value
+     */
+    public synchronized void invalidate(String name, Instant timestamp) {
+        Loading running = loading.get(name);
+        if (running != null) {
+            running.generation++;
+        }
+        entries.keySet().stream().filter(key -> key.name().equals(name) && key.contains(timestamp)).toList()
+                .forEach(this::remove);
+    }
+
+    /**
+     * Discard all results of a series.
+     *
+     * @param name the name of the series
+     */
+    public synchronized void invalidate(String name) {
+        Loading running = loading.get(name);
+        if (running != null) {
+            running.generation++;
+        }
+        entries.keySet().stream().filter(key -> key.name().equals(name)).toList().forEach(this::remove);
+    }
+
+    /**
+     * Get the number of cached results.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the number of values in all cached results.
+     */
+    public synchronized int getValues() {
+        return values;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    synchronized int getRunningSeries() {
+        return loading.size();
+    }
+}
@@ -12,17 +12,23 @@
  */
 package org.openhab.persistence.influxdb;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.DATABASE_PARAM;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.FLUSH_INTERVAL_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.PASSWORD_PARAM;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.QUEUE_SIZE_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.RETENTION_POLICY_PARAM;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.SPILL_SIZE_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.TOKEN_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.URL_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.USER_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.VERSION_PARAM;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -124,6 +130,42 @@ public class InfluxDBPersistenceServiceTest {
         verify(influxDBRepositoryMock, never()).write(any());
     }
 
+    @Test
+    public void storeWithFullQueueDropsPoints() throws Exception {
+        Map<String, Object> config = new HashMap<>(VALID_V2_CONFIGURATION);
+        config.put(QUEUE_SIZE_PARAM, 1);
+        config.put(SPILL_SIZE_PARAM, 0L);
+        config.put(FLUSH_INTERVAL_PARAM, 60000L);
+        InfluxDBPersistenceService instance = getService(config);
+        when(influxDBRepositoryMock.isConnected()).thenReturn(false);
+
+        instance.store(ItemTestHelper.createNumberItem("number1", 1));
+        instance.store(ItemTestHelper.createNumberItem("number2", 2));
+        instance.store(ItemTestHelper.createNumberItem("number3", 3));
+
+        for (int i = 0; i < 50 && instance.getDroppedPoints() < 2; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(instance.getQueuedPoints(), is(1));
+        assertThat(instance.getDroppedPoints(), is(2L));
+    }
+
+    @Test
+    public void failedWriteIsRetried() throws UnexpectedConditionException {
+        Map<String, Object> config = new HashMap<>(VALID_V2_CONFIGURATION);
+        config.put(SPILL_SIZE_PARAM, 0L);
+        config.put(FLUSH_INTERVAL_PARAM, 100L);
+        InfluxDBPersistenceService instance = getService(config);
+        when(influxDBRepositoryMock.isConnected()).thenReturn(true);
+        when(influxDBRepositoryMock.write(any())).thenReturn(false, true);
+
+        instance.store(ItemTestHelper.createNumberItem("number", 5));
+
+        verify(influxDBRepositoryMock, timeout(5000).times(2)).write(any());
+        assertThat(instance.getQueuedPoints(), is(0));
+        assertThat(instance.getDroppedPoints(), is(0L));
+    }
+
     private InfluxDBPersistenceService getService(Map<String, Object> config) {
         return new InfluxDBPersistenceService(mock(ItemRegistry.class), influxDBMetadataService, config) {
             @Override
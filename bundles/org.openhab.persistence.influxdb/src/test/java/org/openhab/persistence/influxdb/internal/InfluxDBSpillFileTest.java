@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link InfluxDBSpillFile}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBSpillFileTest {
+
+    private @TempDir @NonNullByDefault({}) Path folder;
+    private @NonNullByDefault({}) Path file;
+    private @NonNullByDefault({}) InfluxDBSpillFile spillFile;
+
+    private final List<InfluxPoint> replayed = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        file = folder.resolve("spill.bin");
+        spillFile = new InfluxDBSpillFile(file, 1024 * 1024);
+    }
+
+    private static InfluxPoint point(String measurement, Object value) {
+        return InfluxPoint.newBuilder(measurement).withTime(Instant.ofEpochSecond(1700000000, 123))
+                .withValue(value).withTag("item", measurement).build();
+    }
+
+    private List<String> replayedPoints() {
+        return replayed.stream().map(InfluxPoint::toString).toList();
+    }
+
+    private boolean replay(int batchSize) {
+        return spillFile.replay(batchSize, batch -> replayed.addAll(batch));
+    }
+
+    @Test
+    public void pointsAreReplayedAsAppended() {
+        String longString = "x".repeat(70000);
+        List<InfluxPoint> points = List.of(point("decimal", new BigDecimal("1.50")), point("long", 1L),
+                point("integer", 2), point("double", 3.5), point("boolean", true), point("string", "value"),
+                point("long_string", longString),
+                InfluxPoint.newBuilder(longString).withTime(Instant.EPOCH).withValue(1).withTag("tag", longString)
+                        .build());
+
+        assertThat(spillFile.append(points), is(points.size()));
+        assertThat(replay(3), is(true));
+
+        assertThat(replayedPoints(), is(points.stream().map(InfluxPoint::toString).toList()));
+        assertThat(replayed.get(0).getValue(), is(new BigDecimal("1.50")));
+        assertThat(replayed.get(1).getValue(), is(1L));
+        assertThat(replayed.get(2).getValue(), is(2));
+        assertThat(spillFile.isEmpty(), is(true));
+    }
+
+    @Test
+    public void pointWhichCanNotBeEncodedIsDroppedCompletely() {
+        InfluxPoint.Builder builder = InfluxPoint.newBuilder("tags").withTime(Instant.EPOCH).withValue(1);
+        IntStream.range(0, 70000).forEach(i -> builder.withTag("tag" + i, i));
+
+        assertThat(spillFile.append(List.of(builder.build(), point("valid", 1))), is(1));
+        assertThat(replay(10), is(true));
+
+        assertThat(replayedPoints(), contains(point("valid", 1).toString()));
+    }
+
+    @Test
+    public void partiallyWrittenPointIsIgnored() throws IOException {
+        spillFile.append(List.of(point("first", 1), point("second", 2)));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        assertThat(replay(10), is(true));
+
+        assertThat(replayedPoints(), contains(point("first", 1).toString()));
+        assertThat(spillFile.isEmpty(), is(true));
+    }
+
+    @Test
+    public void failedBatchIsKeptWithTheFollowingPoints() {
+        spillFile.append(IntStream.range(0, 5).mapToObj(i -> point("point" + i, i)).toList());
+        List<List<InfluxPoint>> batches = new ArrayList<>();
+
+        boolean result = spillFile.replay(2, batch -> {
+            batches.add(batch);
+            return batches.size() < 2;
+        });
+
+        assertThat(result, is(false));
+        // points appended meanwhile are replayed after the kept ones
+        spillFile.append(List.of(point("point5", 5)));
+        assertThat(replay(10), is(true));
+        assertThat(replay(10), is(true));
+        assertThat(replayedPoints(),
+                is(IntStream.range(2, 6).mapToObj(i -> point("point" + i, i).toString()).toList()));
+    }
+
+    @Test
+    public void replayFileIsKeptIfItCanNotBeRead() throws IOException {
+        // a directory in place of the replay file can not be read
+        Files.createDirectory(folder.resolve("spill.bin.replay"));
+        spillFile.append(List.of(point("point", 1)));
+
+        assertThat(replay(10), is(false));
+
+        assertThat(Files.exists(folder.resolve("spill.bin.replay")), is(true));
+        assertThat(replayed, is(empty()));
+    }
+}
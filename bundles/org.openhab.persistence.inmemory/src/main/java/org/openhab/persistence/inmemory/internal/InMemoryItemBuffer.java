@@ -0,0 +1,438 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.math.BigDecimal;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link InMemoryItemBuffer} holds the persisted states of a single item, ordered by timestamp.
+ *
+ * Timestamps (in epoch milliseconds) and numeric values are kept in primitive arrays used as a ring buffer, so that
+ * evicting the oldest entry is O(1) and finding a time range is a binary search. Numbers are kept as a double together
+ * with the scale of their {@link BigDecimal}, so that e.g. "20" and "1.50" are restored with the same representation.
+ * States which cannot be represented exactly this way, e.g. strings or colors, are kept in a side table which is only
+ * allocated when needed.
+ *
+ * Writers take an exclusive lock, readers copy the requested range using an optimistic read and only fall back to a
+ * shared lock if a write happened concurrently.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class InMemoryItemBuffer {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final byte KIND_DECIMAL = 0;
+    private static final byte KIND_PERCENT = 1;
+    private static final byte KIND_QUANTITY = 2;
+    private static final byte KIND_STATE = 3;
+
+    private final StampedLock lock = new StampedLock();
+
+    // logical index i is stored at physical index (head + i) % capacity
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private double[] values = new double[INITIAL_CAPACITY];
+    private byte[] scales = new byte[INITIAL_CAPACITY];
+    private byte[] kinds = new byte[INITIAL_CAPACITY];
+    private State @Nullable [] states;
+    private int head;
+    private int size;
+    private @Nullable Unit<?> unit;
+
+    /**
+     * A copy of a range of entries, ordered by timestamp.
+     */
+    static class Snapshot {
+        private final long[] timestamps;
+        private final double[] values;
+        private final byte[] scales;
+        private final byte[] kinds;
+        private final State @Nullable [] states;
+        private final @Nullable Unit<?> unit;
+
+        private Snapshot(int size, @Nullable Unit<?> unit, boolean withStates) {
+            this.timestamps = new long[size];
+            this.values = new double[size];
+            this.scales = new byte[size];
+            this.kinds = new byte[size];
+            this.states = withStates ? new State[size] : null;
+            this.unit = unit;
+        }
+
+        public int size() {
+            return timestamps.length;
+        }
+
+        public long getTimestamp(int index) {
+            return timestamps[index];
+        }
+
+        public State getState(int index) {
+            State[] states = this.states;
+            return decode(kinds[index], values[index], scales[index], states != null ? states[index] : null, unit);
+        }
+    }
+
+    /**
+     * Stores a state, replacing the state stored with the same timestamp. If the buffer holds more than
+     * maxEntries entries afterwards, the oldest entries are removed.
+     *
+     * @param maxEntries maximum number of entries, 0 for unlimited
+     */
+    public void store(long timestamp, State state, long maxEntries) {
+        long stamp = lock.writeLock();
+        try {
+            int index = search(timestamp);
+            if (index < 0) {
+                index = -index - 1;
+                insert(index, timestamp);
+            }
+            set(physical(index), state);
+            trim(maxEntries);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the oldest entries exceeding the given number of entries.
+     *
+     * @param maxEntries maximum number of entries, 0 for unlimited
+     */
+    public void trimTo(long maxEntries) {
+        long stamp = lock.writeLock();
+        try {
+            trim(maxEntries);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes all entries in the time range matching the filter.
+     *
+     * @param begin earliest timestamp (inclusive), or null for no lower bound
+     * @param end latest timestamp (inclusive), or null for no upper bound
+     * @param filter the filter for states to remove, or null to remove all states in the range
+     */
+    public void remove(@Nullable Long begin, @Nullable Long end, @Nullable Predicate<State> filter) {
+        long stamp = lock.writeLock();
+        try {
+            int from = begin == null ? 0 : lowerBound(begin);
+            int to = end == null ? size : upperBound(end);
+            int target = from;
+            for (int i = from; i < size; i++) {
+                int source = physical(i);
+                if (i < to && (filter == null || filter.test(stateAt(source)))) {
+                    continue;
+                }
+                if (target != i) {
+                    move(source, physical(target));
+                }
+                target++;
+            }
+            State[] states = this.states;
+            if (states != null) {
+                for (int i = target; i < size; i++) {
+                    states[physical(i)] = null;
+                }
+            }
+            size = target;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copies all entries in the time range.
+     *
+     * @param begin earliest timestamp (inclusive), or null for no lower bound
+     * @param end latest timestamp (inclusive), or null for no upper bound
+     */
+    public Snapshot snapshot(@Nullable Long begin, @Nullable Long end) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Snapshot snapshot = copy(begin, end);
+            if (lock.validate(stamp)) {
+                return snapshot;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return copy(begin, end);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Get the number of entries, together with the first and last timestamp.
+     *
+     * @return a snapshot containing only the first and the last entry
+     */
+    public Snapshot bounds() {
+        long stamp = lock.readLock();
+        try {
+            Snapshot snapshot = new Snapshot(Math.min(size, 2), unit, false);
+            if (size > 0) {
+                snapshot.timestamps[0] = timestamps[physical(0)];
+                snapshot.timestamps[snapshot.size() - 1] = timestamps[physical(size - 1)];
+            }
+            return snapshot;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /*
+     * Reads all fields once into local variables and only accesses arrays modulo their own length, so that reading
+     * concurrently to a writer cannot fail. The result is discarded if the optimistic read is not valid.
+     */
+    private Snapshot copy(@Nullable Long begin, @Nullable Long end) {
+        long[] timestamps = this.timestamps;
+        double[] values = this.values;
+        byte[] scales = this.scales;
+        byte[] kinds = this.kinds;
+        State[] states = this.states;
+        int head = this.head;
+        int size = Math.min(this.size, timestamps.length);
+
+        int from = begin == null ? 0 : lowerBound(timestamps, head, size, begin);
+        int to = end == null ? size : upperBound(timestamps, head, size, end);
+        Snapshot snapshot = new Snapshot(Math.max(0, to - from), unit, states != null);
+        State[] snapshotStates = snapshot.states;
+        for (int i = 0; i < snapshot.size(); i++) {
+            int index = head + from + i;
+            snapshot.timestamps[i] = timestamps[index % timestamps.length];
+            snapshot.values[i] = values[index % values.length];
+            snapshot.scales[i] = scales[index % scales.length];
+            snapshot.kinds[i] = kinds[index % kinds.length];
+            if (states != null && snapshotStates != null) {
+                snapshotStates[i] = states[index % states.length];
+            }
+        }
+        return snapshot;
+    }
+
+    private int physical(int index) {
+        return (head + index) % timestamps.length;
+    }
+
+    /**
+     * @return the logical index of the timestamp if found, otherwise (-(insertion point) - 1)
+     */
+    private int search(long timestamp) {
+        // new states are usually the most recent ones
+        if (size == 0 || timestamps[physical(size - 1)] < timestamp) {
+            return -size - 1;
+        }
+        int index = lowerBound(timestamp);
+        return index < size && timestamps[physical(index)] == timestamp ? index : -index - 1;
+    }
+
+    private int lowerBound(long timestamp) {
+        return lowerBound(timestamps, head, size, timestamp);
+    }
+
+    private int upperBound(long timestamp) {
+        return upperBound(timestamps, head, size, timestamp);
+    }
+
+    /**
+     * @return the logical index of the first entry with a timestamp equal or after the given timestamp
+     */
+    private static int lowerBound(long[] timestamps, int head, int size, long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[(head + mid) % timestamps.length] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the logical index of the first entry with a timestamp after the given timestamp
+     */
+    private static int upperBound(long[] timestamps, int head, int size, long timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[(head + mid) % timestamps.length] <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void insert(int index, long timestamp) {
+        if (size == timestamps.length) {
+            grow();
+        }
+        if (index == 0) {
+            head = (head - 1 + timestamps.length) % timestamps.length;
+        } else {
+            for (int i = size; i > index; i--) {
+                move(physical(i - 1), physical(i));
+            }
+        }
+        timestamps[physical(index)] = timestamp;
+        size++;
+    }
+
+    private void trim(long maxEntries) {
+        while (maxEntries > 0 && size > maxEntries) {
+            State[] states = this.states;
+            if (states != null) {
+                states[head] = null;
+            }
+            head = (head + 1) % timestamps.length;
+            size--;
+        }
+    }
+
+    private void grow() {
+        int capacity = timestamps.length * 2;
+        long[] newTimestamps = new long[capacity];
+        double[] newValues = new double[capacity];
+        byte[] newScales = new byte[capacity];
+        byte[] newKinds = new byte[capacity];
+        State[] states = this.states;
+        State[] newStates = states != null ? new State[capacity] : null;
+        for (int i = 0; i < size; i++) {
+            int source = physical(i);
+            newTimestamps[i] = timestamps[source];
+            newValues[i] = values[source];
+            newScales[i] = scales[source];
+            newKinds[i] = kinds[source];
+            if (states != null && newStates != null) {
+                newStates[i] = states[source];
+            }
+        }
+        timestamps = newTimestamps;
+        values = newValues;
+        scales = newScales;
+        kinds = newKinds;
+        this.states = newStates;
+        head = 0;
+    }
+
+    private void move(int source, int target) {
+        timestamps[target] = timestamps[source];
+        values[target] = values[source];
+        scales[target] = scales[source];
+        kinds[target] = kinds[source];
+        State[] states = this.states;
+        if (states != null) {
+            states[target] = states[source];
+        }
+    }
+
+    private void set(int index, State state) {
+        BigDecimal value = null;
+        byte kind = KIND_STATE;
+        if (state.getClass() == DecimalType.class) {
+            value = ((DecimalType) state).toBigDecimal();
+            kind = KIND_DECIMAL;
+        } else if (state.getClass() == PercentType.class) {
+            value = ((PercentType) state).toBigDecimal();
+            kind = KIND_PERCENT;
+        } else if (state instanceof QuantityType<?> quantity && state.getClass() == QuantityType.class) {
+            Unit<?> unit = this.unit;
+            if (unit == null) {
+                unit = quantity.getUnit();
+                this.unit = unit;
+            }
+            if (unit.equals(quantity.getUnit())) {
+                value = quantity.toBigDecimal();
+                kind = KIND_QUANTITY;
+            }
+        }
+        // only keep values as double which can be restored exactly, including their scale
+        if (value != null && value.scale() == (byte) value.scale()
+                && BigDecimal.valueOf(value.doubleValue()).compareTo(value) == 0) {
+            values[index] = value.doubleValue();
+            scales[index] = (byte) value.scale();
+            kinds[index] = kind;
+            State[] states = this.states;
+            if (states != null) {
+                states[index] = null;
+            }
+        } else {
+            State[] states = this.states;
+            if (states == null) {
+                states = new State[timestamps.length];
+                this.states = states;
+            }
+            states[index] = state;
+            kinds[index] = KIND_STATE;
+        }
+    }
+
+    private State stateAt(int index) {
+        State[] states = this.states;
+        return decode(kinds[index], values[index], scales[index], states != null ? states[index] : null, unit);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static State decode(byte kind, double value, byte scale, @Nullable State state, @Nullable Unit<?> unit) {
+        switch (kind) {
+            case KIND_DECIMAL:
+                return new DecimalType(decimal(value, scale));
+            case KIND_PERCENT:
+                return new PercentType(decimal(value, scale));
+            case KIND_QUANTITY:
+                if (unit != null) {
+                    return new QuantityType(decimal(value, scale), unit);
+                }
+                break;
+            default:
+                if (state != null) {
+                    return state;
+                }
+        }
+        throw new IllegalStateException("Inconsistent in-memory buffer entry of kind " + kind);
+    }
+
+    private static BigDecimal decimal(double value, byte scale) {
+        // exact, as the value was only stored if it is equal to the double
+        return BigDecimal.valueOf(value).setScale(scale);
+    }
+}
@@ -21,6 +21,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeSet;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -35,7 +36,9 @@ import org.openhab.core.items.GenericItem;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
@@ -275,4 +278,115 @@ public class InMemoryPersistenceTests {
 
         // begin date is before first date is already covered by case #1
     }
+
+    @Test
+    public void storeSameTimestampReplacesState() {
+        ZonedDateTime time = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        service.store(item, time, new DecimalType(1));
+        service.store(item, time, new DecimalType(2));
+
+        List<State> states = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> states.add(h.getState()));
+
+        assertThat(states, contains(new DecimalType(2)));
+    }
+
+    @Test
+    public void storeKeepsStateTypes() {
+        ZonedDateTime time = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        List<State> expected = List.of(new DecimalType("0.1"), new PercentType(50),
+                new QuantityType<>("21.5 °C"), new QuantityType<>("300 K"),
+                new DecimalType("3.14159265358979323846264338327950288"), new StringType("value"),
+                new HSBType("40,50,50"));
+        for (int i = 0; i < expected.size(); i++) {
+            service.store(item, time.plusMinutes(i), expected.get(i));
+        }
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        List<State> states = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> states.add(h.getState()));
+
+        assertThat(states, is(expected));
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(states.get(i).getClass(), is(expected.get(i).getClass()));
+        }
+        assertThat(((QuantityType<?>) states.get(2)).getUnit(), is(SIUnits.CELSIUS));
+    }
+
+    @Test
+    public void storeKeepsScaleOfNumbers() {
+        ZonedDateTime time = ZonedDateTime.of(2022, 05, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+        List<State> expected = List.of(new DecimalType("20"), new DecimalType("1.50"), new DecimalType("2E+3"),
+                new PercentType("50.0"), new QuantityType<>("21.50 °C"));
+        for (int i = 0; i < expected.size(); i++) {
+            service.store(item, time.plusMinutes(i), expected.get(i));
+        }
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        List<String> states = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> states.add(h.getState().toString()));
+
+        assertThat(states, is(expected.stream().map(State::toString).toList()));
+    }
+
+    @Test
+    public void maxEntriesRemovesOldestEntries() {
+        service.modified(Map.of("maxEntries", 3L));
+
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        // store out of order, as forecasts may be updated partially
+        for (int i : new int[] { 3, 1, 4, 0, 2 }) {
+            service.store(item, start.plusHours(i), new DecimalType(i));
+        }
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        List<Integer> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+
+        assertThat(resultSet, contains(2, 3, 4));
+
+        service.modified(Map.of("maxEntries", 1L));
+        resultSet.clear();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+
+        assertThat(resultSet, contains(4));
+    }
+
+    @Test
+    public void removeWithStateFilter() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 5; i++) {
+            service.store(item, start.plusHours(i), new DecimalType(i));
+        }
+
+        filterCriteria.setBeginDate(start.plusHours(1));
+        filterCriteria.setState(new DecimalType(2));
+        filterCriteria.setOperator(FilterCriteria.Operator.GTE);
+        service.remove(filterCriteria);
+
+        filterCriteria = new FilterCriteria();
+        filterCriteria.setItemName(ITEM_NAME);
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        List<Integer> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+
+        assertThat(resultSet, contains(0, 1));
+    }
+
+    @Test
+    public void queryWithStateFilter() {
+        ZonedDateTime start = ZonedDateTime.of(2020, 12, 1, 12, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 0; i < 5; i++) {
+            service.store(item, start.plusHours(i), new DecimalType(i));
+        }
+
+        filterCriteria.setOrdering(FilterCriteria.Ordering.ASCENDING);
+        filterCriteria.setEndDate(start.plusHours(3));
+        filterCriteria.setState(new DecimalType(1));
+        filterCriteria.setOperator(FilterCriteria.Operator.GT);
+        List<Integer> resultSet = new ArrayList<>();
+        service.query(filterCriteria).forEach(h -> resultSet.add(((DecimalType) h.getState()).intValue()));
+
+        assertThat(resultSet, contains(2, 3));
+    }
 }
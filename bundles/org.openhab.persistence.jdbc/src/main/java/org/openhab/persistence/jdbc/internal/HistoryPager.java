@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.UnDefType;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link HistoryPager} reads the values of a single item in ascending order and writes them one page at a time,
+ * see {@link #copyValues}. It is used by {@link HistoryTransfer} to copy the values of several items.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HistoryPager {
+
+    static final int PAGE_SIZE = 5000;
+
+    private static final ZonedDateTime EPOCH = ZonedDateTime.ofInstant(Instant.EPOCH, ZoneOffset.UTC);
+
+    /**
+     * Reads values of the source, e.g. {@code QueryablePersistenceService::query}.
+     */
+    @FunctionalInterface
+    public interface Source {
+        Iterable<HistoricItem> query(FilterCriteria filter);
+    }
+
+    /**
+     * Writes a page of values to the target.
+     */
+    @FunctionalInterface
+    public interface PageWriter {
+        void write(List<HistoricItem> values) throws JdbcException;
+    }
+
+    /**
+     * The position in the values of an item after which copying starts.
+     *
+     * @param timestamp the timestamp of the newest value the target already has
+     * @param count the number of values with this timestamp the target already has
+     */
+    public record Position(ZonedDateTime timestamp, int count) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(HistoryPager.class);
+
+    /**
+     * Get the position after which the values of an item are missing in the target.
+     *
+     * @param target reads the values of the target
+     * @param itemName the name of the item
+     * @return the position of the newest value of the target, or null if the target has no values of the item
+     */
+    public @Nullable Position getPosition(Source target, String itemName) {
+        FilterCriteria newest = new FilterCriteria();
+        newest.setItemName(itemName);
+        newest.setOrdering(Ordering.DESCENDING);
+        newest.setPageSize(1);
+        ZonedDateTime timestamp = null;
+        for (HistoricItem historicItem : target.query(newest)) {
+            timestamp = historicItem.getTimestamp();
+        }
+        if (timestamp == null) {
+            return null;
+        }
+
+        FilterCriteria sameTime = new FilterCriteria();
+        sameTime.setItemName(itemName);
+        sameTime.setBeginDate(timestamp);
+        sameTime.setEndDate(timestamp);
+        int count = 0;
+        for (HistoricItem historicItem : target.query(sameTime)) {
+            if (historicItem.getTimestamp().isEqual(timestamp)) {
+                count++;
+            }
+        }
+        return new Position(timestamp, Math.max(1, count));
+    }
+
+    /**
+     * Read the values of an item in ascending order and write them one page at a time.
+     *
+     * Each page starts at the timestamp of the newest value of the previous page and skips the values with this
+     * timestamp that were already written. So neither values with the same timestamp at the end of a page nor values
+     * with a higher precision than the timestamps of the target are lost, and sources that ignore paging still work.
+     * Only if a single timestamp has more values than fit into a page, the remaining values with this timestamp are
+     * skipped.
+     *
+     * @param source reads the values to copy
+     * @param itemName the name of the item
+     * @param position the position of the newest value the target already has, or null to copy all values
+     * @param end the date of the newest value to copy
+     * @param writer writes each page of values, values with an undefined state are not passed
+     * @param progress called with the number of values written so far after each page
+     * @return the number of written values
+     * @throws JdbcException if writing fails
+     */
+    public long copyValues(Source source, String itemName, @Nullable Position position, ZonedDateTime end,
+            PageWriter writer, LongConsumer progress) throws JdbcException {
+        ZonedDateTime begin = position != null ? position.timestamp() : EPOCH;
+        int skip = position != null ? position.count() : 0;
+        long count = 0;
+        while (!begin.isAfter(end)) {
+            FilterCriteria filter = new FilterCriteria();
+            filter.setItemName(itemName);
+            filter.setBeginDate(begin);
+            filter.setEndDate(end);
+            filter.setOrdering(Ordering.ASCENDING);
+            filter.setPageSize(PAGE_SIZE);
+
+            List<HistoricItem> values = new ArrayList<>();
+            int size = 0;
+            int skipped = 0;
+            ZonedDateTime last = null;
+            int lastCount = 0;
+            for (HistoricItem historicItem : source.query(filter)) {
+                size++;
+                ZonedDateTime timestamp = historicItem.getTimestamp();
+                if (last == null || timestamp.isAfter(last)) {
+                    last = timestamp;
+                    lastCount = 1;
+                } else if (timestamp.isEqual(last)) {
+                    lastCount++;
+                }
+                if (timestamp.isEqual(begin) && skipped < skip) {
+                    skipped++;
+                } else if (!(historicItem.getState() instanceof UnDefType)) {
+                    values.add(historicItem);
+                }
+            }
+            if (!values.isEmpty()) {
+                writer.write(values);
+                count += values.size();
+                progress.accept(count);
+            }
+
+            if (last == null || (last.isEqual(begin) && size < PAGE_SIZE)) {
+                break;
+            } else if (last.isEqual(begin)) {
+                logger.warn(
+                        "JDBC::transfer: Item '{}' has more than {} values at {}, skipping the remaining ones",
+                        itemName, PAGE_SIZE, begin);
+                begin = begin.plusNanos(1);
+                skip = 0;
+            } else {
+                begin = last;
+                skip = lastCount;
+            }
+        }
+        return count;
+    }
+}
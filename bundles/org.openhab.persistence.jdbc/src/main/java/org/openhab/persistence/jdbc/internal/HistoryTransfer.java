@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link HistoryTransfer} copies the values of several items between the database and another persistence service.
+ * The items are copied in parallel, see {@link JdbcPersistenceService#importItem} and
+ * {@link JdbcPersistenceService#exportItem}, and the values of each item are read and written in pages, see
+ * {@link HistoryPager}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HistoryTransfer {
+
+    /**
+     * Copies the values of a single item.
+     */
+    @FunctionalInterface
+    public interface ItemCopier {
+        /**
+         * @param itemName the name of the item
+         * @param end the date of the newest value to copy
+         * @param progress called with the number of values copied so far after each page
+         * @return the number of copied values
+         * @throws JdbcException if the item can't be copied
+         */
+        long copy(String itemName, ZonedDateTime end, LongConsumer progress) throws JdbcException;
+    }
+
+    /**
+     * Receives the progress of a transfer. The methods are called from the copying threads.
+     */
+    public interface Listener {
+        /**
+         * Called after each page of values written for an item.
+         *
+         * @param itemName the name of the item
+         * @param count the number of values of the item copied so far
+         */
+        void progress(String itemName, long count);
+
+        /**
+         * Called when the item is done.
+         *
+         * @param itemName the name of the item
+         * @param count the number of copied values of the item
+         * @param error the reason why copying failed, or null if it succeeded
+         */
+        void finished(String itemName, long count, @Nullable String error);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(HistoryTransfer.class);
+
+    private final ItemCopier copier;
+    private final int threads;
+
+    /**
+     * @param copier copies the values of a single item
+     * @param threads the number of items copied in parallel
+     */
+    public HistoryTransfer(ItemCopier copier, int threads) {
+        this.copier = copier;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Copy the values of the given items up to now and wait until all items are done.
+     *
+     * @param itemNames the names of the items to copy
+     * @param listener receives the progress
+     * @return the total number of copied values
+     * @throws InterruptedException if interrupted while waiting, the remaining items are not copied then
+     */
+    public long run(Collection<String> itemNames, Listener listener) throws InterruptedException {
+        ZonedDateTime end = ZonedDateTime.now();
+        AtomicLong total = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new NamedThreadFactory("jdbc-transfer"));
+        try {
+            for (String itemName : itemNames) {
+                executor.execute(() -> copyItem(itemName, end, total, listener));
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        return total.get();
+    }
+
+    private void copyItem(String itemName, ZonedDateTime end, AtomicLong total, Listener listener) {
+        AtomicLong copied = new AtomicLong();
+        try {
+            copier.copy(itemName, end, count -> {
+                total.addAndGet(count - copied.getAndSet(count));
+                listener.progress(itemName, count);
+            });
+            listener.finished(itemName, copied.get(), null);
+        } catch (JdbcException | RuntimeException e) {
+            logger.debug("JDBC::transfer: Copying item '{}' failed", itemName, e);
+            listener.finished(itemName, copied.get(),
+                    Objects.requireNonNullElse(e.getMessage(), e.getClass().getSimpleName()));
+        }
+    }
+
+}
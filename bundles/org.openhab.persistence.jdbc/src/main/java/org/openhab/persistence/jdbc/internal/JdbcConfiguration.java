@@ -15,6 +15,7 @@ package org.openhab.persistence.jdbc.internal;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
@@ -41,6 +42,7 @@ public class JdbcConfiguration {
 
     private static final Pattern EXTRACT_CONFIG_PATTERN = Pattern.compile("^(.*?)\\.([0-9.a-zA-Z]+)$");
     private static final String DB_DAO_PACKAGE = "org.openhab.persistence.jdbc.internal.db.Jdbc";
+    private static final String RETENTION_DAYS_PREFIX = "retentionDays.";
 
     private Map<Object, Object> configuration;
 
@@ -66,6 +68,21 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private int writeThreads = 1;
+    private int writeBatchSize = 100;
+    private int writeQueueSize = 10000;
+    private int writeQueueTimeout = 1000;
+
+    private int queryFetchSize = 0;
+    private int downsampleMaxPoints = 0;
+    private DownsampleFunction downsampleFunction = DownsampleFunction.AVG;
+    private int queryCacheSize = 0;
+    private int queryCacheMaxAge = 60;
+
+    private boolean tablePartitioning = false;
+    private int retentionDays = 0;
+    private final Map<String, Integer> itemRetentionDays = new HashMap<>();
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -191,6 +208,78 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String wt = (String) configuration.get("writeThreads");
+        if (wt != null && !wt.isBlank() && isNumericPattern.matcher(wt).matches()) {
+            writeThreads = Math.max(1, Integer.parseInt(wt));
+            logger.debug("JDBC::updateConfig: writeThreads={}", writeThreads);
+        }
+
+        String wb = (String) configuration.get("writeBatchSize");
+        if (wb != null && !wb.isBlank() && isNumericPattern.matcher(wb).matches()) {
+            writeBatchSize = Math.max(1, Integer.parseInt(wb));
+            logger.debug("JDBC::updateConfig: writeBatchSize={}", writeBatchSize);
+        }
+
+        String wq = (String) configuration.get("writeQueueSize");
+        if (wq != null && !wq.isBlank() && isNumericPattern.matcher(wq).matches()) {
+            writeQueueSize = Math.max(1, Integer.parseInt(wq));
+            logger.debug("JDBC::updateConfig: writeQueueSize={}", writeQueueSize);
+        }
+
+        String wqt = (String) configuration.get("writeQueueTimeout");
+        if (wqt != null && !wqt.isBlank() && isNumericPattern.matcher(wqt).matches()) {
+            writeQueueTimeout = Integer.parseInt(wqt);
+            logger.debug("JDBC::updateConfig: writeQueueTimeout={}", writeQueueTimeout);
+        }
+
+        String fs = (String) configuration.get("queryFetchSize");
+        if (fs != null && !fs.isBlank() && isNumericPattern.matcher(fs).matches()) {
+            queryFetchSize = Math.max(0, Integer.parseInt(fs));
+            logger.debug("JDBC::updateConfig: queryFetchSize={}", queryFetchSize);
+        }
+
+        String dm = (String) configuration.get("downsampleMaxPoints");
+        if (dm != null && !dm.isBlank() && isNumericPattern.matcher(dm).matches()) {
+            downsampleMaxPoints = Math.max(0, Integer.parseInt(dm));
+            logger.debug("JDBC::updateConfig: downsampleMaxPoints={}", downsampleMaxPoints);
+        }
+
+        String df = (String) configuration.get("downsampleFunction");
+        if (df != null && !df.isBlank()) {
+            try {
+                downsampleFunction = DownsampleFunction.valueOf(df.trim().toUpperCase());
+                logger.debug("JDBC::updateConfig: downsampleFunction={}", downsampleFunction);
+            } catch (IllegalArgumentException e) {
+                logger.warn("JDBC::updateConfig: Invalid downsampleFunction '{}', using {}", df, downsampleFunction);
+            }
+        }
+
+        String qc = (String) configuration.get("queryCacheSize");
+        if (qc != null && !qc.isBlank() && isNumericPattern.matcher(qc).matches()) {
+            queryCacheSize = Math.max(0, Integer.parseInt(qc));
+            logger.debug("JDBC::updateConfig: queryCacheSize={}", queryCacheSize);
+        }
+
+        String qa = (String) configuration.get("queryCacheMaxAge");
+        if (qa != null && !qa.isBlank() && isNumericPattern.matcher(qa).matches()) {
+            queryCacheMaxAge = Math.max(1, Integer.parseInt(qa));
+            logger.debug("JDBC::updateConfig: queryCacheMaxAge={}", queryCacheMaxAge);
+        }
+
+        String tp = (String) configuration.get("tablePartitioning");
+        if (tp != null && !tp.isBlank()) {
+            tablePartitioning = Boolean.parseBoolean(tp);
+            logger.debug("JDBC::updateConfig: tablePartitioning={}", tablePartitioning);
+        }
+        dBDAO.setTablePartitioning(tablePartitioning);
+
+        String rd = (String) configuration.get("retentionDays");
+        if (rd != null && !rd.isBlank() && isNumericPattern.matcher(rd).matches()) {
+            retentionDays = Integer.parseInt(rd);
+            logger.debug("JDBC::updateConfig: retentionDays={}", retentionDays);
+        }
+        setItemRetentionDays(isNumericPattern);
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -304,6 +393,21 @@ public class JdbcConfiguration {
         }
     }
 
+    private void setItemRetentionDays(Pattern isNumericPattern) {
+        for (Object k : configuration.keySet()) {
+            String key = (String) k;
+            if (!key.startsWith(RETENTION_DAYS_PREFIX)) {
+                continue;
+            }
+            String itemName = key.substring(RETENTION_DAYS_PREFIX.length());
+            String value = (String) configuration.get(key);
+            if (!itemName.isEmpty() && value != null && isNumericPattern.matcher(value).matches()) {
+                logger.debug("JDBC::updateConfig: set retentionDays: itemName={} value={}", itemName, value);
+                itemRetentionDays.put(itemName, Integer.parseInt(value));
+            }
+        }
+    }
+
     private void testJDBCDriver(String driver) {
         driverAvailable = true;
         try {
@@ -379,6 +483,61 @@ public class JdbcConfiguration {
         return rebuildTableNames;
     }
 
+    public int getWriteThreads() {
+        return writeThreads;
+    }
+
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    public int getWriteQueueSize() {
+        return writeQueueSize;
+    }
+
+    public int getWriteQueueTimeout() {
+        return writeQueueTimeout;
+    }
+
+    public int getQueryFetchSize() {
+        return queryFetchSize;
+    }
+
+    public int getDownsampleMaxPoints() {
+        return downsampleMaxPoints;
+    }
+
+    public DownsampleFunction getDownsampleFunction() {
+        return downsampleFunction;
+    }
+
+    public int getQueryCacheSize() {
+        return queryCacheSize;
+    }
+
+    public int getQueryCacheMaxAge() {
+        return queryCacheMaxAge;
+    }
+
+    public boolean getTablePartitioning() {
+        return tablePartitioning;
+    }
+
+    /**
+     * Get the number of days values of the given item are kept, 0 for unlimited.
+     */
+    public int getRetentionDays(String itemName) {
+        Integer days = itemRetentionDays.get(itemName);
+        return days != null ? days : retentionDays;
+    }
+
+    /**
+     * Checks if values of any item are to be removed after a number of days.
+     */
+    public boolean hasRetention() {
+        return retentionDays > 0 || itemRetentionDays.values().stream().anyMatch(days -> days > 0);
+    }
+
     public int getNumberDecimalcount() {
         return numberDecimalcount;
     }
@@ -427,6 +586,8 @@ public class JdbcConfiguration {
         dBDAO.initAfterFirstDbConnection();
         // Running once again to prior external configured SqlTypes!
         setSqlTypes();
+        // SQL templates may have been adjusted to the database version
+        dBDAO.clearSqlCache();
         this.dbConnected = dbConnected;
     }
 
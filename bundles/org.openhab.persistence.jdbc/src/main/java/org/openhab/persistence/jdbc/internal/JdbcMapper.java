@@ -13,6 +13,9 @@
 package org.openhab.persistence.jdbc.internal;
 
 import java.sql.SQLInvalidAuthorizationSpecException;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -20,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -28,7 +32,9 @@ import org.knowm.yank.Yank;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemUtil;
+import org.openhab.core.library.items.NumberItem;
 import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
 import org.openhab.core.types.State;
@@ -36,6 +42,7 @@ import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcPersistenceItemInfo;
+import org.openhab.persistence.jdbc.internal.dto.Partition;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.slf4j.Logger;
@@ -51,6 +58,7 @@ import com.zaxxer.hikari.pool.HikariPool.PoolInitializationException;
 @NonNullByDefault
 public class JdbcMapper {
     private static final int MIGRATION_PERCENTAGE_THRESHOLD = 50;
+    private static final int PARTITION_MONTHS_AHEAD = 1;
 
     private final Logger logger = LoggerFactory.getLogger(JdbcMapper.class);
     private final TimeZoneProvider timeZoneProvider;
@@ -59,7 +67,7 @@ public class JdbcMapper {
     protected int errCnt;
     protected boolean initialized = false;
     protected @NonNullByDefault({}) JdbcConfiguration conf;
-    protected final Map<String, String> itemNameToTableNameMap = new HashMap<>();
+    protected final Map<String, String> itemNameToTableNameMap = new ConcurrentHashMap<>();
     protected @NonNullByDefault({}) NamingStrategy namingStrategy;
     private long afterAccessMin = 10000;
     private long afterAccessMax = 0;
@@ -201,6 +209,9 @@ public class JdbcMapper {
         long timerStart = System.currentTimeMillis();
         conf.getDBDAO().doCreateItemTable(vo);
         logTime("createItemTable", timerStart, System.currentTimeMillis());
+        if (conf.getDBDAO().isTablePartitioning()) {
+            createPartitions(vo.getTableName());
+        }
         return vo;
     }
 
@@ -226,23 +237,66 @@ public class JdbcMapper {
         errCnt = 0;
     }
 
+    protected ItemVO prepareItemValue(Item item, State itemState, ZonedDateTime date, @Nullable String alias)
+            throws JdbcException {
+        String tableName = getTable(item, alias);
+        return conf.getDBDAO().prepareItemValue(item, itemState, new ItemVO(tableName, null), date);
+    }
+
+    protected void storeItemValues(List<ItemVO> vos) throws JdbcSQLException {
+        logger.debug("JDBC::storeItemValues: count={}", vos.size());
+        long timerStart = System.currentTimeMillis();
+        conf.getDBDAO().doStoreItemValues(vos);
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        errCnt = 0;
+    }
+
     public long getRowCount(String tableName) throws JdbcSQLException {
         return conf.getDBDAO().doGetRowCount(tableName);
     }
 
     protected List<HistoricItem> getHistItemFilterQuery(FilterCriteria filter, int numberDecimalcount, String table,
-            Item item) throws JdbcSQLException {
+            Item item, boolean downsample) throws JdbcSQLException {
         logger.debug(
                 "JDBC::getHistItemFilterQuery filter='{}' numberDecimalcount='{}' table='{}' item='{}' itemName='{}'",
                 true, numberDecimalcount, table, item, item.getName());
         long timerStart = System.currentTimeMillis();
+        long bucketSeconds = downsample && item instanceof NumberItem
+                ? getDownsampleBucketSeconds(filter, conf.getDownsampleMaxPoints())
+                : 0;
         List<HistoricItem> result = conf.getDBDAO().doGetHistItemFilterQuery(item, filter, numberDecimalcount, table,
-                item.getName(), timeZoneProvider.getTimeZone());
+                item.getName(), timeZoneProvider.getTimeZone(), conf.getQueryFetchSize(), bucketSeconds,
+                conf.getDownsampleFunction());
         logTime("getHistItemFilterQuery", timerStart, System.currentTimeMillis());
         errCnt = 0;
         return result;
     }
 
+    /**
+     * Calculates the size of the time buckets needed to return at most the requested number of points for the time
+     * range of the filter. Downsampling is only applied if the caller explicitly asks for a bounded result, i.e. the
+     * first page of an ascending query between a begin and an end date, without a state filter, as requested by
+     * charts. The page size is the number of points requested, capped by the configured maximum. All other queries,
+     * e.g. those of persistence extensions like {@code sumSince} or {@code countStateChanges}, expect raw values.
+     *
+     * @param maxPoints the configured maximum number of points, 0 if downsampling is disabled
+     * @return the bucket size in seconds, or 0 if the query should not be downsampled
+     */
+    static long getDownsampleBucketSeconds(FilterCriteria filter, int maxPoints) {
+        ZonedDateTime beginDate = filter.getBeginDate();
+        ZonedDateTime endDate = filter.getEndDate();
+        int pageSize = filter.getPageSize();
+        if (maxPoints <= 0 || beginDate == null || endDate == null || filter.getPageNumber() != 0
+                || pageSize == Integer.MAX_VALUE || filter.getOrdering() != Ordering.ASCENDING
+                || filter.getState() != null) {
+            return 0;
+        }
+        int points = Math.min(pageSize, maxPoints);
+        long rangeSeconds = Duration.between(beginDate, endDate).toSeconds();
+        long bucketSeconds = (rangeSeconds + points - 1) / points;
+        return bucketSeconds > 1 ? bucketSeconds : 0;
+    }
+
     protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcSQLException {
         logger.debug("JDBC::deleteItemValues filter='{}' table='{}' itemName='{}'", true, table, filter.getItemName());
         long timerStart = System.currentTimeMillis();
@@ -251,6 +305,60 @@ public class JdbcMapper {
         errCnt = 0;
     }
 
+    /**************
+     * PARTITIONS *
+     **************/
+
+    /**
+     * Get the partitions of an item table, or the chunks of a TimescaleDB hypertable.
+     *
+     * @param tableName the item table
+     * @return the partitions, or an empty list if the table is not partitioned
+     * @throws JdbcSQLException on SQL errors
+     */
+    public List<Partition> getPartitions(String tableName) throws JdbcSQLException {
+        logger.debug("JDBC::getPartitions");
+        long timerStart = System.currentTimeMillis();
+        List<Partition> partitions = conf.getDBDAO().doGetPartitions(getPartitionsVO(tableName));
+        logTime("getPartitions", timerStart, System.currentTimeMillis());
+        return partitions;
+    }
+
+    protected void createPartitions(String tableName) throws JdbcSQLException {
+        logger.debug("JDBC::createPartitions");
+        long timerStart = System.currentTimeMillis();
+        ZoneId timeZone = timeZoneProvider.getTimeZone();
+        conf.getDBDAO().doCreatePartitions(getPartitionsVO(tableName),
+                YearMonth.now(timeZone).plusMonths(PARTITION_MONTHS_AHEAD), timeZone);
+        logTime("createPartitions", timerStart, System.currentTimeMillis());
+    }
+
+    /**
+     * Remove all values older than the given date. Partitions holding only older values are dropped as a whole, so
+     * only the values of the oldest remaining partition have to be deleted row by row.
+     */
+    protected void removeValuesBefore(String tableName, String itemName, ZonedDateTime date) throws JdbcSQLException {
+        logger.debug("JDBC::removeValuesBefore table='{}' itemName='{}' date='{}'", tableName, itemName, date);
+        long timerStart = System.currentTimeMillis();
+        int dropped = conf.getDBDAO().doDropPartitionsBefore(getPartitionsVO(tableName), date,
+                timeZoneProvider.getTimeZone());
+        if (dropped > 0) {
+            logger.debug("JDBC::removeValuesBefore: Dropped {} partitions of table '{}'", dropped, tableName);
+        }
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(itemName);
+        filter.setEndDate(date);
+        conf.getDBDAO().doDeleteItemValues(filter, tableName, timeZoneProvider.getTimeZone());
+        logTime("removeValuesBefore", timerStart, System.currentTimeMillis());
+    }
+
+    private ItemsVO getPartitionsVO(String tableName) {
+        ItemsVO vo = new ItemsVO();
+        vo.setJdbcUriDatabaseName(conf.getDbName());
+        vo.setTableName(tableName);
+        return vo;
+    }
+
     /***********************
      * DATABASE CONNECTION *
      ***********************/
@@ -354,7 +462,7 @@ public class JdbcMapper {
         }
     }
 
-    protected String getTable(Item item, @Nullable String alias) throws JdbcException {
+    protected synchronized String getTable(Item item, @Nullable String alias) throws JdbcException {
         String itemName = alias != null ? alias : item.getName();
         if (!initialized) {
             throw new JdbcException("Not initialized, unable to find table for item " + itemName);
@@ -12,6 +12,8 @@
  */
 package org.openhab.persistence.jdbc.internal;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -21,13 +23,15 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.GroupItem;
@@ -45,6 +49,7 @@ import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
 import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
 import org.openhab.persistence.jdbc.internal.dto.Column;
+import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
@@ -73,9 +78,19 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     private final Logger logger = LoggerFactory.getLogger(JdbcPersistenceService.class);
 
     private final ItemRegistry itemRegistry;
+    private final HistoryPager historyPager = new HistoryPager();
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
-            new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
+    private static final long STORE_QUEUE_STOP_TIMEOUT_MS = 10000;
+
+    private static final long MAINTENANCE_INITIAL_DELAY_MINUTES = 1;
+    private static final long MAINTENANCE_INTERVAL_MINUTES = 24 * 60;
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager
+            .getScheduledPool(JdbcPersistenceServiceConstants.SERVICE_ID);
+
+    private @Nullable StoreQueue storeQueue;
+    private @Nullable QueryCache queryCache;
+    private @Nullable ScheduledFuture<?> maintenanceJob;
 
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
@@ -98,6 +113,17 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     public void activate(BundleContext bundleContext, Map<Object, Object> configuration) {
         logger.debug("JDBC::activate: persistence service activated");
         updateConfig(configuration);
+        StoreQueue storeQueue = new StoreQueue(conf.getWriteQueueSize(), conf.getWriteThreads(),
+                conf.getWriteBatchSize(), conf.getWriteQueueTimeout(), this::writeBatch);
+        storeQueue.start();
+        this.storeQueue = storeQueue;
+        if (conf.getQueryCacheSize() > 0) {
+            queryCache = new QueryCache(conf.getQueryCacheSize(), Duration.ofSeconds(conf.getQueryCacheMaxAge()));
+        }
+        if (conf.getTablePartitioning() || conf.hasRetention()) {
+            maintenanceJob = scheduler.scheduleWithFixedDelay(this::maintainTables, MAINTENANCE_INITIAL_DELAY_MINUTES,
+                    MAINTENANCE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+        }
     }
 
     /**
@@ -120,6 +146,17 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
+        ScheduledFuture<?> maintenanceJob = this.maintenanceJob;
+        if (maintenanceJob != null) {
+            maintenanceJob.cancel(true);
+            this.maintenanceJob = null;
+        }
+        StoreQueue storeQueue = this.storeQueue;
+        if (storeQueue != null) {
+            storeQueue.stop(STORE_QUEUE_STOP_TIMEOUT_MS);
+            this.storeQueue = null;
+        }
+        queryCache = null;
         // closeConnection();
         initialized = false;
     }
@@ -137,37 +174,114 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState(), null));
+        enqueue(item, null, item.getState(), null);
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
-        scheduler.execute(() -> internalStore(item, null, item.getState(), alias));
+        enqueue(item, null, item.getState(), alias);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state, null));
+        enqueue(item, date, state, null);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
-        scheduler.execute(() -> internalStore(item, date, state, alias));
+        enqueue(item, date, state, alias);
     }
 
-    private synchronized void internalStore(Item item, @Nullable ZonedDateTime date, State state,
-            @Nullable String alias) {
+    private void enqueue(Item item, @Nullable ZonedDateTime date, State state, @Nullable String alias) {
         // Do not store undefined/uninitialized data
         if (state instanceof UnDefType) {
             logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
             return;
         }
+        StoreQueue storeQueue = this.storeQueue;
+        if (storeQueue == null) {
+            logger.warn("JDBC::store: Service not active. Cannot persist state '{}' for item '{}'!", state,
+                    item.getName());
+            return;
+        }
+        // When writing in batches, the timestamp must be taken now rather than by the database on insert
+        ZonedDateTime timestamp = date == null && conf.getWriteBatchSize() > 1 ? ZonedDateTime.now() : date;
+        if (!storeQueue.offer(new StoreQueue.Entry(item, state, timestamp, alias))) {
+            logger.warn("JDBC::store: Write queue is full. Cannot persist state '{}' for item '{}'!", state,
+                    item.getName());
+        }
+    }
+
+    private void writeBatch(List<StoreQueue.Entry> batch) {
+        try {
+            writeBatchToDatabase(batch);
+        } finally {
+            // only now the values can be read from the database, so cached results must not be discarded earlier
+            QueryCache queryCache = this.queryCache;
+            if (queryCache != null) {
+                for (StoreQueue.Entry entry : batch) {
+                    String alias = entry.alias();
+                    ZonedDateTime date = entry.date();
+                    queryCache.invalidate(alias != null ? alias : entry.item().getName(),
+                            date != null ? date.toInstant() : Instant.now());
+                }
+            }
+        }
+    }
+
+    private void writeBatchToDatabase(List<StoreQueue.Entry> batch) {
         if (!checkDBAccessability()) {
             logger.warn(
-                    "JDBC::store: No connection to database. Cannot persist state '{}' for item '{}'! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
-                    state, item, errCnt, conf.getErrReconnectThreshold());
+                    "JDBC::store: No connection to database. Cannot persist {} state(s)! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
+                    batch.size(), errCnt, conf.getErrReconnectThreshold());
+            return;
+        }
+        if (batch.size() == 1) {
+            StoreQueue.Entry entry = batch.get(0);
+            internalStore(entry.item(), entry.date(), entry.state(), entry.alias());
             return;
         }
+        List<ItemVO> vos = new ArrayList<>(batch.size());
+        for (StoreQueue.Entry entry : batch) {
+            ZonedDateTime date = entry.date();
+            if (date == null) {
+                internalStore(entry.item(), null, entry.state(), entry.alias());
+                continue;
+            }
+            try {
+                vos.add(prepareItemValue(entry.item(), entry.state(), date, entry.alias()));
+            } catch (JdbcException e) {
+                logger.warn("JDBC::store: Unable to store item", e);
+            }
+        }
+        if (!vos.isEmpty()) {
+            storeBatch(vos);
+        }
+    }
+
+    private void storeBatch(List<ItemVO> vos) {
+        try {
+            long timerStart = System.currentTimeMillis();
+            storeItemValues(vos);
+            if (logger.isDebugEnabled()) {
+                logger.debug("JDBC: Stored {} values in SQL database at {} in {} ms.", vos.size(), new Date(),
+                        System.currentTimeMillis() - timerStart);
+            }
+        } catch (JdbcSQLException e) {
+            // A single offending value must not cause the whole batch to be lost
+            logger.debug("JDBC::store: Unable to store batch of {} values, storing them one by one: {}", vos.size(),
+                    e.getMessage());
+            for (ItemVO vo : vos) {
+                try {
+                    storeItemValues(List.of(vo));
+                } catch (JdbcSQLException e2) {
+                    logger.warn("JDBC::store: Unable to store value for table '{}'", vo.getTableName(), e2);
+                }
+            }
+        }
+    }
+
+    private void internalStore(Item item, @Nullable ZonedDateTime date, State state, @Nullable String alias) {
         try {
             long timerStart = System.currentTimeMillis();
             storeItemValue(item, state, date, alias);
@@ -180,6 +294,109 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    /**
+     * Import the values of an item from another persistence service.
+     *
+     * Values are read in ascending order, one page at a time, and each page is written in a single batch. Only values
+     * after the newest value already stored for the item are imported, so an interrupted import is resumed by running
+     * it again.
+     *
+     * @param source the persistence service to read the values from
+     * @param itemName the name of the item
+     * @param end the date of the newest value to import
+     * @param progress called with the number of values imported so far after each page
+     * @return the number of imported values
+     * @throws JdbcException if the item does not exist or the database is not connected
+     */
+    public long importItem(QueryablePersistenceService source, String itemName, ZonedDateTime end,
+            LongConsumer progress) throws JdbcException {
+        if (!checkDBAccessability()) {
+            throw new JdbcException("Database not connected, unable to import item " + itemName);
+        }
+        Item item = getTransferItem(itemName);
+        try {
+            return historyPager.copyValues(source::query, itemName,
+                    historyPager.getPosition(filter -> query(filter, null, true), itemName), end, values -> {
+                        List<ItemVO> vos = new ArrayList<>(values.size());
+                        for (HistoricItem historicItem : values) {
+                            vos.add(prepareItemValue(item, historicItem.getState(), historicItem.getTimestamp(),
+                                    null));
+                        }
+                        storeBatch(vos);
+                    }, progress);
+        } finally {
+            invalidateQueryCache(itemName);
+        }
+    }
+
+    /**
+     * Export the values of an item to another persistence service.
+     *
+     * Values are read in ascending order, one page at a time, neither downsampled nor cached, and stored with their
+     * timestamp. Only values after the newest value the target already has for the item are exported, so an
+     * interrupted export is resumed by running it again.
+     *
+     * @param target the persistence service to store the values in
+     * @param itemName the name of the item
+     * @param end the date of the newest value to export
+     * @param progress called with the number of values exported so far after each page
+     * @return the number of exported values
+     * @throws JdbcException if the item does not exist or the database is not connected
+     */
+    public long exportItem(ModifiablePersistenceService target, String itemName, ZonedDateTime end,
+            LongConsumer progress) throws JdbcException {
+        if (!checkDBAccessability()) {
+            throw new JdbcException("Database not connected, unable to export item " + itemName);
+        }
+        Item item = getTransferItem(itemName);
+        return historyPager.copyValues(filter -> query(filter, null, true), itemName,
+                historyPager.getPosition(target::query, itemName), end, values -> {
+                    for (HistoricItem historicItem : values) {
+                        target.store(item, historicItem.getTimestamp(), historicItem.getState());
+                    }
+                }, progress);
+    }
+
+    private Item getTransferItem(String itemName) throws JdbcException {
+        try {
+            return itemRegistry.getItem(itemName);
+        } catch (ItemNotFoundException e) {
+            throw new JdbcException("Item " + itemName + " not found", e);
+        }
+    }
+
+    /**
+     * Get the number of items imported or exported in parallel, which is the number of writer threads.
+     */
+    public int getTransferThreads() {
+        return conf.getWriteThreads();
+    }
+
+    private void invalidateQueryCache(String itemName) {
+        QueryCache queryCache = this.queryCache;
+        if (queryCache != null) {
+            queryCache.invalidate(itemName);
+        }
+    }
+
+    /**
+     * Get the query cache of this service.
+     *
+     * @return the {@link QueryCache} or null if caching is disabled or the service is not active
+     */
+    public @Nullable QueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    /**
+     * Get the write queue of this service.
+     *
+     * @return the {@link StoreQueue} or null if the service is not active
+     */
+    public @Nullable StoreQueue getStoreQueue() {
+        return storeQueue;
+    }
+
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
         return getItems();
@@ -207,6 +424,18 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
      */
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter, @Nullable String alias) {
+        return query(filter, alias, false);
+    }
+
+    /**
+     * Queries the database for data with a given filter criteria
+     *
+     * @param filter the filter to apply to the query
+     * @param alias for the item
+     * @param raw true to read the stored values, bypassing downsampling and the query cache
+     * @return a time series of items
+     */
+    private List<HistoricItem> query(FilterCriteria filter, @Nullable String alias, boolean raw) {
         if (!checkDBAccessability()) {
             logger.warn("JDBC::query: database not connected, query aborted for item '{}'", filter.getItemName());
             return List.of();
@@ -252,7 +481,12 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
         try {
             long timerStart = System.currentTimeMillis();
-            List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
+            Item queryItem = item;
+            QueryCache queryCache = raw ? null : this.queryCache;
+            List<HistoricItem> items = queryCache != null
+                    ? queryCache.get(localAlias, filter,
+                            () -> getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, queryItem, true))
+                    : getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, queryItem, !raw);
             if (logger.isDebugEnabled()) {
                 logger.debug("JDBC: Query for item '{}' returned {} rows in {} ms", itemName, items.size(),
                         System.currentTimeMillis() - timerStart);
@@ -266,6 +500,36 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         }
     }
 
+    /**
+     * Create upcoming monthly partitions and remove values exceeding the retention period of their item.
+     */
+    private void maintainTables() {
+        if (!checkDBAccessability()) {
+            logger.warn("JDBC::maintainTables: database not connected, maintenance skipped");
+            return;
+        }
+        boolean partitioning = conf.getDBDAO().isTablePartitioning();
+        ZonedDateTime now = ZonedDateTime.now();
+        for (Entry<String, String> entry : itemNameToTableNameMap.entrySet()) {
+            String itemName = entry.getKey();
+            String tableName = entry.getValue();
+            try {
+                // tables created before partitioning was enabled have no partitions
+                if (partitioning && !getPartitions(tableName).isEmpty()) {
+                    createPartitions(tableName);
+                }
+                int retentionDays = conf.getRetentionDays(itemName);
+                if (retentionDays > 0) {
+                    removeValuesBefore(tableName, itemName, now.minusDays(retentionDays));
+                    invalidateQueryCache(itemName);
+                }
+            } catch (JdbcSQLException e) {
+                logger.warn("JDBC::maintainTables: Unable to maintain table '{}' of item '{}': {}", tableName,
+                        itemName, e.getMessage());
+            }
+        }
+    }
+
     private void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
@@ -316,6 +580,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         try {
             long timerStart = System.currentTimeMillis();
             deleteItemValues(filter, table);
+            invalidateQueryCache(itemName);
             if (logger.isDebugEnabled()) {
                 logger.debug("JDBC: Deleted values for item '{}' in SQL database at {} in {} ms.", itemName, new Date(),
                         System.currentTimeMillis() - timerStart);
@@ -564,6 +829,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
                     deleteItemsEntry(itemsVo);
                 }
                 itemNameToTableNameMap.remove(entry.getItemName());
+                invalidateQueryCache(entry.getItemName());
                 return true;
             case ORPHAN_TABLE:
             case VALID:
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.items.Item;
+import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.utils.MovingAverage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link StoreQueue} is a bounded queue of pending state updates which is drained by a number of writer
+ * threads. Each writer takes all pending entries up to the batch size at once, so that updates arriving while
+ * the database is busy are coalesced into a single batch. When the queue is full, producers are blocked for at
+ * most the configured offer timeout before the entry is dropped.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class StoreQueue {
+
+    /**
+     * A pending state update.
+     *
+     * @param date the timestamp of the update, or null if the database should provide it
+     */
+    public record Entry(Item item, State state, @Nullable ZonedDateTime date, @Nullable String alias) {
+    }
+
+    @FunctionalInterface
+    public interface BatchWriter {
+        void write(List<Entry> batch);
+    }
+
+    private static final long POLL_TIMEOUT_MS = 1000;
+
+    private final Logger logger = LoggerFactory.getLogger(StoreQueue.class);
+
+    private final BlockingQueue<Entry> queue;
+    private final BatchWriter writer;
+    private final int writers;
+    private final int batchSize;
+    private final long offerTimeout;
+    private final ExecutorService executor;
+
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final MovingAverage flushTimes = new MovingAverage(100);
+    private volatile long maxFlushTime;
+    private volatile boolean running;
+
+    /**
+     * @param capacity maximum number of pending entries
+     * @param writers number of writer threads
+     * @param batchSize maximum number of entries written in one batch
+     * @param offerTimeout maximum time in milliseconds to wait for free capacity before dropping an entry
+     * @param writer the {@link BatchWriter} performing the actual write
+     */
+    public StoreQueue(int capacity, int writers, int batchSize, long offerTimeout, BatchWriter writer) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.writers = Math.max(1, writers);
+        this.batchSize = Math.max(1, batchSize);
+        this.offerTimeout = Math.max(0, offerTimeout);
+        this.writer = writer;
+        this.executor = Executors.newFixedThreadPool(this.writers,
+                new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
+    }
+
+    public void start() {
+        running = true;
+        for (int i = 0; i < writers; i++) {
+            executor.execute(this::work);
+        }
+    }
+
+    /**
+     * Stop accepting new entries and wait for the writers to flush the entries still pending.
+     *
+     * @param timeout maximum time in milliseconds to wait for pending entries to be written
+     */
+    public void stop(long timeout) {
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        int discarded = queue.size();
+        if (discarded > 0) {
+            droppedCount.addAndGet(discarded);
+            queue.clear();
+            logger.warn("JDBC::stop: Discarded {} pending state updates", discarded);
+        }
+    }
+
+    /**
+     * Add an entry to the queue, blocking for at most the configured offer timeout if the queue is full.
+     *
+     * @return true if the entry was queued, false if it was dropped
+     */
+    public boolean offer(Entry entry) {
+        if (!running) {
+            droppedCount.incrementAndGet();
+            return false;
+        }
+        try {
+            if (queue.offer(entry, offerTimeout, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        droppedCount.incrementAndGet();
+        return false;
+    }
+
+    private void work() {
+        while (true) {
+            @Nullable Entry first;
+            try {
+                first = running ? queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS) : queue.poll();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                if (!running) {
+                    return;
+                }
+                continue;
+            }
+            List<Entry> batch = new ArrayList<>(Math.min(batchSize, queue.size() + 1));
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            long timerStart = System.currentTimeMillis();
+            try {
+                writer.write(batch);
+            } catch (RuntimeException e) {
+                logger.warn("JDBC::store: Unable to store batch of {} state updates", batch.size(), e);
+            }
+            recordFlush(batch.size(), System.currentTimeMillis() - timerStart);
+        }
+    }
+
+    private void recordFlush(int size, long flushTime) {
+        processedCount.addAndGet(size);
+        batchCount.incrementAndGet();
+        synchronized (flushTimes) {
+            flushTimes.add(flushTime);
+            if (flushTime > maxFlushTime) {
+                maxFlushTime = flushTime;
+            }
+        }
+    }
+
+    public int getSize() {
+        return queue.size();
+    }
+
+    public int getCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    public int getWriters() {
+        return writers;
+    }
+
+    public long getProcessedCount() {
+        return processedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * Get the average time in milliseconds of the last 100 flushes.
+     */
+    public double getAverageFlushTime() {
+        synchronized (flushTimes) {
+            return flushTimes.getAverageDouble();
+        }
+    }
+
+    public long getMaxFlushTime() {
+        return maxFlushTime;
+    }
+}
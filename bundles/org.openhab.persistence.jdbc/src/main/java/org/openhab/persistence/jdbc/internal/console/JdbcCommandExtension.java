@@ -15,9 +15,12 @@ package org.openhab.persistence.jdbc.internal.console;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -28,12 +31,20 @@ import org.openhab.core.io.console.ConsoleCommandCompleter;
 import org.openhab.core.io.console.StringsCompleter;
 import org.openhab.core.io.console.extensions.AbstractConsoleCommandExtension;
 import org.openhab.core.io.console.extensions.ConsoleCommandExtension;
+import org.openhab.core.items.Item;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.persistence.ModifiablePersistenceService;
+import org.openhab.core.persistence.PersistenceItemInfo;
 import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.PersistenceServiceRegistry;
+import org.openhab.core.persistence.QueryablePersistenceService;
+import org.openhab.persistence.jdbc.internal.HistoryTransfer;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntry;
 import org.openhab.persistence.jdbc.internal.ItemTableCheckEntryStatus;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceService;
 import org.openhab.persistence.jdbc.internal.JdbcPersistenceServiceConstants;
+import org.openhab.persistence.jdbc.internal.StoreQueue;
+import org.openhab.persistence.jdbc.internal.dto.Partition;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -51,6 +62,10 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String CMD_SCHEMA = "schema";
     private static final String CMD_TABLES = "tables";
     private static final String CMD_RELOAD = "reload";
+    private static final String CMD_QUEUE = "queue";
+    private static final String CMD_PARTITIONS = "partitions";
+    private static final String CMD_IMPORT = "import";
+    private static final String CMD_EXPORT = "export";
     private static final String SUBCMD_SCHEMA_CHECK = "check";
     private static final String SUBCMD_SCHEMA_FIX = "fix";
     private static final String SUBCMD_TABLES_LIST = "list";
@@ -58,18 +73,23 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
     private static final String PARAMETER_ALL = "all";
     private static final String PARAMETER_FORCE = "force";
     private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
-            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD), false);
+            List.of(CMD_SCHEMA, CMD_TABLES, CMD_RELOAD, CMD_QUEUE, CMD_PARTITIONS, CMD_IMPORT, CMD_EXPORT),
+            false);
     private static final StringsCompleter SUBCMD_SCHEMA_COMPLETER = new StringsCompleter(
             List.of(SUBCMD_SCHEMA_CHECK, SUBCMD_SCHEMA_FIX), false);
     private static final StringsCompleter SUBCMD_TABLES_COMPLETER = new StringsCompleter(
             List.of(SUBCMD_TABLES_LIST, SUBCMD_TABLES_CLEAN), false);
+    private static final long TRANSFER_PROGRESS_INTERVAL = 100000;
 
     private final PersistenceServiceRegistry persistenceServiceRegistry;
+    private final ItemRegistry itemRegistry;
 
     @Activate
-    public JdbcCommandExtension(final @Reference PersistenceServiceRegistry persistenceServiceRegistry) {
+    public JdbcCommandExtension(final @Reference PersistenceServiceRegistry persistenceServiceRegistry,
+            final @Reference ItemRegistry itemRegistry) {
         super(JdbcPersistenceServiceConstants.SERVICE_ID, "Interact with the JDBC persistence service.");
         this.persistenceServiceRegistry = persistenceServiceRegistry;
+        this.itemRegistry = itemRegistry;
     }
 
     @Override
@@ -135,6 +155,18 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         } else if (args.length == 1 && CMD_RELOAD.equalsIgnoreCase(args[0])) {
             reload(persistenceService, console);
             return true;
+        } else if (args.length == 1 && CMD_QUEUE.equalsIgnoreCase(args[0])) {
+            showQueue(persistenceService, console);
+            return true;
+        } else if (args.length <= 2 && CMD_PARTITIONS.equalsIgnoreCase(args[0])) {
+            listPartitions(persistenceService, console, args.length == 2 ? args[1] : null);
+            return true;
+        } else if ((args.length == 2 || args.length == 3) && CMD_IMPORT.equalsIgnoreCase(args[0])) {
+            importItems(persistenceService, console, args[1], args.length == 3 ? args[2] : null);
+            return true;
+        } else if ((args.length == 2 || args.length == 3) && CMD_EXPORT.equalsIgnoreCase(args[0])) {
+            exportItems(persistenceService, console, args[1], args.length == 3 ? args[2] : null);
+            return true;
         }
         return false;
     }
@@ -252,6 +284,133 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         console.println("Item index reloaded.");
     }
 
+    private void showQueue(JdbcPersistenceService persistenceService, Console console) {
+        StoreQueue storeQueue = persistenceService.getStoreQueue();
+        if (storeQueue == null) {
+            console.println("Write queue is not active.");
+            return;
+        }
+        console.println("Pending:       " + storeQueue.getSize() + "/" + storeQueue.getCapacity());
+        console.println("Writers:       " + storeQueue.getWriters());
+        console.println("Processed:     " + storeQueue.getProcessedCount());
+        console.println("Dropped:       " + storeQueue.getDroppedCount());
+        console.println("Batches:       " + storeQueue.getBatchCount());
+        console.println(String.format("Avg flush:     %.2f ms", storeQueue.getAverageFlushTime()));
+        console.println("Max flush:     " + storeQueue.getMaxFlushTime() + " ms");
+    }
+
+    private void listPartitions(JdbcPersistenceService persistenceService, Console console, @Nullable String itemName)
+            throws JdbcSQLException {
+        List<Entry<String, String>> itemNameToTableName = persistenceService.getItemNameToTableNameMap().entrySet()
+                .stream().filter(e -> itemName == null || itemName.equals(e.getKey()))
+                .sorted(Map.Entry.comparingByValue()).collect(Collectors.toList());
+        if (itemName != null && itemNameToTableName.isEmpty()) {
+            console.println("Table not found for item '" + itemName + "'");
+            return;
+        }
+        Map<String, List<Partition>> partitions = new LinkedHashMap<>();
+        for (Entry<String, String> entry : itemNameToTableName) {
+            List<Partition> tablePartitions = persistenceService.getPartitions(entry.getValue());
+            if (!tablePartitions.isEmpty()) {
+                partitions.put(entry.getValue(), tablePartitions);
+            }
+        }
+        if (partitions.isEmpty()) {
+            console.println("No partitioned tables found.");
+            return;
+        }
+        int tableNameMaxLength = Math
+                .max(partitions.keySet().stream().map(String::length).max(Integer::compare).orElse(0), 5);
+        int partitionNameMaxLength = Math.max(partitions.values().stream().flatMap(List::stream)
+                .map(p -> p.getPartitionName().length()).max(Integer::compare).orElse(0), 9);
+        console.println(String.format("%1$-" + (tableNameMaxLength + 2) + "s%2$-" + (partitionNameMaxLength + 2)
+                + "s   Row Count     Size (kB)", "Table", "Partition"));
+        console.println("-".repeat(tableNameMaxLength) + "  " + "-".repeat(partitionNameMaxLength) + "  "
+                + "------------  ------------");
+        for (Entry<String, List<Partition>> entry : partitions.entrySet()) {
+            for (Partition partition : entry.getValue()) {
+                console.println(String.format(
+                        "%1$-" + (tableNameMaxLength + 2) + "s%2$-" + (partitionNameMaxLength + 2) + "s%3$12d  %4$12d",
+                        entry.getKey(), partition.getPartitionName(), partition.getTableRows(),
+                        partition.getSize() / 1024));
+            }
+        }
+    }
+
+    private void importItems(JdbcPersistenceService persistenceService, Console console, String serviceId,
+            @Nullable String itemName) {
+        if (!(persistenceServiceRegistry.get(serviceId) instanceof QueryablePersistenceService source)
+                || source == persistenceService) {
+            console.println("Queryable persistence service '" + serviceId + "' not found");
+            return;
+        }
+        Collection<String> itemNames;
+        if (itemName != null) {
+            itemNames = List.of(itemName);
+        } else {
+            // not all services know their persisted items, try all items then
+            itemNames = source.getItemInfo().stream().map(PersistenceItemInfo::getName)
+                    .filter(name -> itemRegistry.get(name) != null).sorted().toList();
+            if (itemNames.isEmpty()) {
+                itemNames = itemRegistry.getItems().stream().map(Item::getName).sorted().toList();
+            }
+        }
+
+        console.println("Importing " + itemNames.size() + " items from '" + serviceId + "'...");
+        HistoryTransfer transfer = new HistoryTransfer(
+                (name, end, progress) -> persistenceService.importItem(source, name, end, progress),
+                persistenceService.getTransferThreads());
+        transferItems(transfer, console, itemNames, "imported");
+    }
+
+    private void exportItems(JdbcPersistenceService persistenceService, Console console, String serviceId,
+            @Nullable String itemName) {
+        if (!(persistenceServiceRegistry.get(serviceId) instanceof ModifiablePersistenceService target)
+                || target == persistenceService) {
+            console.println("Modifiable persistence service '" + serviceId + "' not found");
+            return;
+        }
+        Collection<String> itemNames = itemName != null ? List.of(itemName)
+                : persistenceService.getItemNames().stream().filter(name -> itemRegistry.get(name) != null).sorted()
+                        .toList();
+
+        console.println("Exporting " + itemNames.size() + " items to '" + serviceId + "'...");
+        HistoryTransfer transfer = new HistoryTransfer(
+                (name, end, progress) -> persistenceService.exportItem(target, name, end, progress),
+                persistenceService.getTransferThreads());
+        transferItems(transfer, console, itemNames, "exported");
+    }
+
+    private void transferItems(HistoryTransfer transfer, Console console, Collection<String> itemNames,
+            String action) {
+        int itemCount = itemNames.size();
+        AtomicInteger finishedCount = new AtomicInteger();
+        Map<String, Long> reported = new ConcurrentHashMap<>();
+        try {
+            long total = transfer.run(itemNames, new HistoryTransfer.Listener() {
+                @Override
+                public void progress(String name, long count) {
+                    if (count - reported.getOrDefault(name, 0L) >= TRANSFER_PROGRESS_INTERVAL) {
+                        reported.put(name, count);
+                        console.println(name + ": " + count + " values " + action + " so far");
+                    }
+                }
+
+                @Override
+                public void finished(String name, long count, @Nullable String error) {
+                    String prefix = "[" + finishedCount.incrementAndGet() + "/" + itemCount + "] " + name + ": ";
+                    console.println(prefix + (error == null ? count + " values " + action
+                            : "failed after " + count + " values: " + error));
+                }
+            });
+            console.println(
+                    "Transferred " + total + " values. Run the command again to resume an incomplete transfer.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            console.println("Transfer interrupted. Run the command again to resume.");
+        }
+    }
+
     @Override
     public List<String> getUsages() {
         return Arrays.asList(buildCommandUsage(CMD_SCHEMA + " " + SUBCMD_SCHEMA_CHECK, "check schema integrity"),
@@ -261,7 +420,13 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
                 buildCommandUsage(
                         CMD_TABLES + " " + SUBCMD_TABLES_CLEAN + " [<itemName>]" + " [" + PARAMETER_FORCE + "]",
                         "clean inconsistent items (remove from index and drop tables)"),
-                buildCommandUsage(CMD_RELOAD, "reload item index/schema"));
+                buildCommandUsage(CMD_RELOAD, "reload item index/schema"),
+                buildCommandUsage(CMD_QUEUE, "show write queue statistics"),
+                buildCommandUsage(CMD_PARTITIONS + " [<itemName>]", "list table partitions with estimated sizes"),
+                buildCommandUsage(CMD_IMPORT + " <serviceId> [<itemName>]",
+                        "import values newer than the newest stored value from another persistence service"),
+                buildCommandUsage(CMD_EXPORT + " <serviceId> [<itemName>]",
+                        "export values newer than its newest value to another persistence service"));
     }
 
     @Override
@@ -274,13 +439,32 @@ public class JdbcCommandExtension extends AbstractConsoleCommandExtension implem
         if (cursorArgumentIndex <= 0) {
             return CMD_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
         } else if (cursorArgumentIndex == 1) {
-            if (CMD_TABLES.equalsIgnoreCase(args[0])) {
+            if (CMD_IMPORT.equalsIgnoreCase(args[0]) || CMD_EXPORT.equalsIgnoreCase(args[0])) {
+                Class<?> serviceType = CMD_IMPORT.equalsIgnoreCase(args[0]) ? QueryablePersistenceService.class
+                        : ModifiablePersistenceService.class;
+                List<String> serviceIds = persistenceServiceRegistry.getAll().stream()
+                        .filter(service -> serviceType.isInstance(service)
+                                && !(service instanceof JdbcPersistenceService))
+                        .map(PersistenceService::getId).toList();
+                return new StringsCompleter(serviceIds, true).complete(args, cursorArgumentIndex, cursorPosition,
+                        candidates);
+            } else if (CMD_PARTITIONS.equalsIgnoreCase(args[0])) {
+                JdbcPersistenceService persistenceService = getPersistenceService();
+                if (persistenceService != null) {
+                    return new StringsCompleter(persistenceService.getItemNames(), true).complete(args,
+                            cursorArgumentIndex, cursorPosition, candidates);
+                }
+            } else if (CMD_TABLES.equalsIgnoreCase(args[0])) {
                 return SUBCMD_TABLES_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
             } else if (CMD_SCHEMA.equalsIgnoreCase(args[0])) {
                 return SUBCMD_SCHEMA_COMPLETER.complete(args, cursorArgumentIndex, cursorPosition, candidates);
             }
         } else if (cursorArgumentIndex == 2) {
-            if (CMD_TABLES.equalsIgnoreCase(args[0])) {
+            if (CMD_IMPORT.equalsIgnoreCase(args[0])) {
+                List<String> itemNames = itemRegistry.getItems().stream().map(Item::getName).toList();
+                return new StringsCompleter(itemNames, true).complete(args, cursorArgumentIndex, cursorPosition,
+                        candidates);
+            } else if (CMD_TABLES.equalsIgnoreCase(args[0])) {
                 if (SUBCMD_TABLES_CLEAN.equalsIgnoreCase(args[1])) {
                     JdbcPersistenceService persistenceService = getPersistenceService();
                     if (persistenceService != null) {
@@ -13,18 +13,28 @@
 package org.openhab.persistence.jdbc.internal.db;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.measure.Quantity;
 import javax.measure.Unit;
@@ -56,10 +66,12 @@ import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
+import org.openhab.persistence.jdbc.internal.DownsampleFunction;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.Partition;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
@@ -79,6 +91,9 @@ public class JdbcBaseDAO {
     protected String urlSuffix = "";
     public final Map<String, String> sqlTypes = new HashMap<>();
 
+    // Pre-rendered insert statements per table and data type
+    private final Map<String, String> storeItemValueSqlCache = new ConcurrentHashMap<>();
+
     // Get Database Meta data
     protected @Nullable DbMetaData dbMeta;
 
@@ -97,6 +112,16 @@ public class JdbcBaseDAO {
     protected String sqlAlterTableColumn = "ALTER TABLE #tableName# MODIFY COLUMN #columnName# #columnType#";
     protected String sqlInsertItemValue = "INSERT INTO #tableName# (time, value) VALUES( #tablePrimaryValue#, ? ) ON DUPLICATE KEY UPDATE VALUE= ?";
     protected String sqlGetRowCount = "SELECT COUNT(*) FROM #tableName#";
+    protected String sqlCreatePartitionedItemTable = "CREATE TABLE IF NOT EXISTS #tableName# (time #tablePrimaryKey# NOT NULL, value #dbType#, PRIMARY KEY(time)) PARTITION BY RANGE (UNIX_TIMESTAMP(time)) (PARTITION pmax VALUES LESS THAN MAXVALUE)";
+    protected String sqlCreatePartition = "ALTER TABLE #tableName# REORGANIZE PARTITION pmax INTO (PARTITION #partitionName# VALUES LESS THAN (UNIX_TIMESTAMP('#partitionEnd#')), PARTITION pmax VALUES LESS THAN MAXVALUE)";
+    // RANGE requires an integer expression, DATETIME columns are partitioned by their value instead
+    protected String sqlCreatePartitionedItemTableByColumns = "CREATE TABLE IF NOT EXISTS #tableName# (time #tablePrimaryKey# NOT NULL, value #dbType#, PRIMARY KEY(time)) PARTITION BY RANGE COLUMNS(time) (PARTITION pmax VALUES LESS THAN (MAXVALUE))";
+    protected String sqlCreatePartitionByColumns = "ALTER TABLE #tableName# REORGANIZE PARTITION pmax INTO (PARTITION #partitionName# VALUES LESS THAN ('#partitionEnd#'), PARTITION pmax VALUES LESS THAN (MAXVALUE))";
+    protected String sqlDropPartition = "ALTER TABLE #tableName# DROP PARTITION #partitionName#";
+    protected String sqlGetPartitions = "SELECT partition_name, table_rows, data_length + index_length AS size FROM information_schema.partitions WHERE table_schema='#jdbcUriDatabaseName#' AND table_name='#tableName#' AND partition_name IS NOT NULL ORDER BY partition_ordinal_position";
+
+    // Create new item tables partitioned by month, only if supported by the database
+    protected boolean tablePartitioning = false;
 
     /********
      * INIT *
@@ -406,7 +431,9 @@ public class JdbcBaseDAO {
     }
 
     public void doCreateItemTable(ItemVO vo) throws JdbcSQLException {
-        String sql = StringUtilsExt.replaceArrayMerge(sqlCreateItemTable,
+        String template = !tablePartitioning ? sqlCreateItemTable
+                : usesRangeColumns() ? sqlCreatePartitionedItemTableByColumns : sqlCreatePartitionedItemTable;
+        String sql = StringUtilsExt.replaceArrayMerge(template,
                 new String[] { "#tableName#", "#dbType#", "#tablePrimaryKey#" }, new String[] {
                         formattedIdentifier(vo.getTableName()), vo.getDbType(), sqlTypes.get("tablePrimaryKey") });
         logger.debug("JDBC::doCreateItemTable sql={}", sql);
@@ -445,13 +472,11 @@ public class JdbcBaseDAO {
     }
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
-        ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { formattedIdentifier(storedVO.getTableName()), "?" });
-        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue(), storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
+        ItemVO storedVO = prepareItemValue(item, itemState, vo, date);
+        String sql = getStoreItemValueSql(storedVO);
+        Object[] params = storeItemValueParams(storedVO);
+        logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, storedVO.getTime(),
+                storedVO.getValue());
         try {
             Yank.execute(sql, params);
         } catch (YankSQLException e) {
@@ -459,26 +484,129 @@ public class JdbcBaseDAO {
         }
     }
 
-    public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
-            String table, String name, ZoneId timeZone) throws JdbcSQLException {
-        String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
-        logger.debug("JDBC::doGetHistItemFilterQuery sql={}", sql);
-        List<Object[]> m;
-        try {
-            m = Yank.queryObjectArrays(sql, null);
-        } catch (YankSQLException e) {
+    /**
+     * Stores a batch of prepared values in a single transaction. Values sharing the same insert statement (i.e. the
+     * same table) are sent to the database as one JDBC batch.
+     *
+     * @param vos values prepared by {@link #prepareItemValue(Item, State, ItemVO, ZonedDateTime)}
+     * @throws JdbcSQLException on SQL errors, in which case the whole batch has been rolled back
+     */
+    public void doStoreItemValues(List<ItemVO> vos) throws JdbcSQLException {
+        Map<String, List<Object[]>> statements = new LinkedHashMap<>();
+        for (ItemVO vo : vos) {
+            statements.computeIfAbsent(getStoreItemValueSql(vo), sql -> new ArrayList<>())
+                    .add(storeItemValueParams(vo));
+        }
+        logger.debug("JDBC::doStoreItemValues values={} statements={}", vos.size(), statements.size());
+        try (Connection connection = Yank.getDefaultConnectionPool().getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                for (Map.Entry<String, List<Object[]>> statement : statements.entrySet()) {
+                    executeBatch(connection, statement.getKey(), statement.getValue());
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
             throw new JdbcSQLException(e);
         }
-        if (m == null) {
-            logger.debug("JDBC::doGetHistItemFilterQuery Query failed. Returning an empty list.");
-            return List.of();
+    }
+
+    private void executeBatch(Connection connection, String sql, List<Object[]> paramsList) throws SQLException {
+        logger.debug("JDBC::executeBatch sql={} rows={}", sql, paramsList.size());
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (Object[] params : paramsList) {
+                for (int i = 0; i < params.length; i++) {
+                    statement.setObject(i + 1, params[i]);
+                }
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Get the insert statement for a value with an explicit timestamp. Statements are rendered only once per table
+     * and data type, so the identical SQL string is reused for every value and can be served from the statement cache
+     * of the pooled connection.
+     */
+    protected String getStoreItemValueSql(ItemVO storedVO) {
+        return storeItemValueSqlCache.computeIfAbsent(storedVO.getTableName() + ":" + storedVO.getDbType(),
+                key -> storeItemValueSql(storedVO));
+    }
+
+    /**
+     * Clear pre-rendered statements, e.g. after SQL templates have been changed for the connected database version.
+     */
+    public void clearSqlCache() {
+        storeItemValueSqlCache.clear();
+    }
+
+    /**
+     * Converts the state of an item into a value ready to be stored with the given timestamp.
+     *
+     * @return the given {@link ItemVO} with value, types and time set
+     */
+    public ItemVO prepareItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) {
+        ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
+        storedVO.setTime(new java.sql.Timestamp(date.toInstant().toEpochMilli()));
+        return storedVO;
+    }
+
+    /**
+     * Queries historic values. Rows are read with the given fetch size and mapped to {@link HistoricItem}s while the
+     * result set is traversed, so no intermediate copy of the raw rows is kept.
+     *
+     * @param fetchSize number of rows fetched per round trip, 0 for the driver default
+     * @param bucketSeconds if greater than 0, values are aggregated into time buckets of this size by the database
+     * @param function the aggregation applied to each time bucket
+     */
+    public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
+            String table, String name, ZoneId timeZone, int fetchSize, long bucketSeconds,
+            DownsampleFunction function) throws JdbcSQLException {
+        String downsampleSql = bucketSeconds > 0
+                ? histItemDownsampleQueryProvider(filter, numberDecimalcount, table, timeZone, bucketSeconds, function)
+                : null;
+        if (bucketSeconds > 0 && downsampleSql == null) {
+            logger.debug("JDBC::doGetHistItemFilterQuery downsampling with {} not supported, querying raw values",
+                    function);
         }
+        String sql = downsampleSql != null ? downsampleSql
+                : histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
+        logger.debug("JDBC::doGetHistItemFilterQuery sql={} fetchSize={}", sql, fetchSize);
         // we already retrieve the unit here once as it is a very costly operation
         String itemName = item.getName();
         Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
-        return m.stream()
-                .map(o -> new JdbcHistoricItem(itemName, objectAsState(item, unit, o[1]), objectAsInstant(o[0])))
-                .collect(Collectors.<HistoricItem> toList());
+        List<HistoricItem> items = new ArrayList<>();
+        try (Connection connection = Yank.getDefaultConnectionPool().getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            // some drivers (e.g. PostgreSQL) only use a cursor for fetching outside of auto-commit mode
+            if (fetchSize > 0 && autoCommit) {
+                connection.setAutoCommit(false);
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.setFetchSize(fetchSize);
+                try (ResultSet resultSet = statement.executeQuery(sql)) {
+                    while (resultSet.next()) {
+                        items.add(new JdbcHistoricItem(itemName, objectAsState(item, unit, resultSet.getObject(2)),
+                                objectAsInstant(resultSet.getObject(1))));
+                    }
+                }
+            } finally {
+                if (connection.getAutoCommit() != autoCommit) {
+                    connection.rollback();
+                    connection.setAutoCommit(autoCommit);
+                }
+            }
+        } catch (SQLException e) {
+            throw new JdbcSQLException(e);
+        }
+        return items;
     }
 
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
@@ -503,10 +631,146 @@ public class JdbcBaseDAO {
         }
     }
 
+    /******************
+     * PARTITION DAOs *
+     ******************/
+
+    /**
+     * Indicates whether item tables can be partitioned by month, see {@link #setTablePartitioning(boolean)}.
+     */
+    public boolean isPartitioningSupported() {
+        return false;
+    }
+
+    public void setTablePartitioning(boolean tablePartitioning) {
+        if (tablePartitioning && !isPartitioningSupported()) {
+            logger.warn("JDBC::setTablePartitioning: Table partitioning is not supported by {}, ignoring",
+                    getClass().getSimpleName());
+        }
+        this.tablePartitioning = tablePartitioning && isPartitioningSupported();
+    }
+
+    public boolean isTablePartitioning() {
+        return tablePartitioning;
+    }
+
+    /**
+     * Lists the partitions of an item table. Tables which are not partitioned have no partitions.
+     */
+    public List<Partition> doGetPartitions(ItemsVO vo) throws JdbcSQLException {
+        if (!isPartitioningSupported()) {
+            return List.of();
+        }
+        String sql = StringUtilsExt.replaceArrayMerge(sqlGetPartitions,
+                new String[] { "#jdbcUriDatabaseName#", "#tableName#" },
+                new String[] { vo.getJdbcUriDatabaseName(), vo.getTableName() });
+        logger.debug("JDBC::doGetPartitions sql={}", sql);
+        try {
+            return Yank.queryBeanList(sql, Partition.class, null);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
+    /**
+     * Creates the monthly partitions following the most recent existing one, up to and including the given month.
+     * The partitions of a table are created in ascending order only, the first one also holds all older values.
+     *
+     * @param vo the table, which must have been created as partitioned table
+     * @param until the last month to create a partition for
+     * @param timeZone the time zone defining the month boundaries
+     */
+    public void doCreatePartitions(ItemsVO vo, YearMonth until, ZoneId timeZone) throws JdbcSQLException {
+        YearMonth last = doGetPartitions(vo).stream().map(p -> partitionMonth(p.getPartitionName()))
+                .filter(Objects::nonNull).max(YearMonth::compareTo).orElse(null);
+        YearMonth month = last != null ? last.plusMonths(1) : YearMonth.now(timeZone);
+        for (; !month.isAfter(until); month = month.plusMonths(1)) {
+            doCreatePartition(vo, month, last == null, timeZone);
+            last = month;
+        }
+    }
+
+    /**
+     * Creates the partition of a single month, following the most recent existing partition.
+     *
+     * @param vo the table, which must have been created as partitioned table
+     * @param month the month to create a partition for
+     * @param first whether this is the first partition of the table, which also holds all older values
+     * @param timeZone the time zone defining the month boundaries
+     */
+    protected void doCreatePartition(ItemsVO vo, YearMonth month, boolean first, ZoneId timeZone)
+            throws JdbcSQLException {
+        String template = usesRangeColumns() ? sqlCreatePartitionByColumns : sqlCreatePartition;
+        String sql = StringUtilsExt.replaceArrayMerge(template,
+                new String[] { "#tableName#", "#partitionName#", "#partitionStart#", "#partitionEnd#" },
+                new String[] { formattedIdentifier(vo.getTableName()),
+                        formattedIdentifier(partitionName(vo.getTableName(), month)),
+                        first ? "MINVALUE"
+                                : "'" + JDBC_DATE_FORMAT.format(month.atDay(1).atStartOfDay(timeZone)) + "'",
+                        JDBC_DATE_FORMAT.format(month.plusMonths(1).atDay(1).atStartOfDay(timeZone)) });
+        logger.debug("JDBC::doCreatePartition sql={}", sql);
+        try {
+            Yank.execute(sql, null);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
+    /**
+     * Indicates whether item tables are partitioned by the value of the time column instead of its UNIX timestamp,
+     * which is only defined for TIMESTAMP columns.
+     */
+    protected boolean usesRangeColumns() {
+        String tablePrimaryKey = sqlTypes.get("tablePrimaryKey");
+        return tablePrimaryKey != null && !tablePrimaryKey.toUpperCase().startsWith("TIMESTAMP");
+    }
+
+    /**
+     * Drops all monthly partitions which only hold values older than the given date.
+     *
+     * @return the number of dropped partitions
+     */
+    public int doDropPartitionsBefore(ItemsVO vo, ZonedDateTime date, ZoneId timeZone) throws JdbcSQLException {
+        int dropped = 0;
+        for (Partition partition : doGetPartitions(vo)) {
+            YearMonth month = partitionMonth(partition.getPartitionName());
+            if (month == null || month.plusMonths(1).atDay(1).atStartOfDay(timeZone).isAfter(date)) {
+                continue;
+            }
+            String sql = StringUtilsExt.replaceArrayMerge(sqlDropPartition,
+                    new String[] { "#tableName#", "#partitionName#" }, new String[] {
+                            formattedIdentifier(vo.getTableName()), formattedIdentifier(partition.getPartitionName()) });
+            logger.debug("JDBC::doDropPartitionsBefore sql={}", sql);
+            try {
+                Yank.execute(sql, null);
+            } catch (YankSQLException e) {
+                throw new JdbcSQLException(e);
+            }
+            dropped++;
+        }
+        return dropped;
+    }
+
+    protected String partitionName(String tableName, YearMonth month) {
+        return "p" + PARTITION_MONTH_FORMAT.format(month);
+    }
+
+    /**
+     * Extracts the month from the name of a monthly partition.
+     *
+     * @return the month, or null if the partition is not a monthly partition
+     */
+    static @Nullable YearMonth partitionMonth(String partitionName) {
+        Matcher matcher = PARTITION_NAME_PATTERN.matcher(partitionName);
+        return matcher.find() ? YearMonth.parse(matcher.group(1), PARTITION_MONTH_FORMAT) : null;
+    }
+
     /*************
      * Providers *
      *************/
     static final DateTimeFormatter JDBC_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    static final DateTimeFormatter PARTITION_MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern PARTITION_NAME_PATTERN = Pattern.compile("p(\\d{6})$");
 
     protected String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
             String simpleName, ZoneId timeZone) {
@@ -531,6 +795,49 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    /**
+     * Provides a query aggregating the values of each time bucket, ordered by the start of the bucket.
+     *
+     * @return the query, or null if the database does not support downsampling with the given function
+     */
+    protected @Nullable String histItemDownsampleQueryProvider(FilterCriteria filter, int numberDecimalcount,
+            String table, ZoneId timeZone, long bucketSeconds, DownsampleFunction function) {
+        String bucket = timeBucketExpression(bucketSeconds);
+        String aggregate = aggregateExpression(function);
+        if (bucket == null || aggregate == null) {
+            return null;
+        }
+        String value = numberDecimalcount > -1 ? roundExpression(aggregate, numberDecimalcount) : aggregate;
+        String queryString = "SELECT " + bucket + " AS bucket, " + value + " FROM " + formattedIdentifier(table)
+                + resolveTimeFilter(filter, timeZone) + " GROUP BY bucket ORDER BY bucket "
+                + (filter.getOrdering() == Ordering.ASCENDING ? "ASC" : "DESC");
+        logger.debug("JDBC::query queryString = {}", queryString);
+        return queryString;
+    }
+
+    /**
+     * Provides an expression truncating the time column to the start of its bucket, or null if not supported.
+     */
+    protected @Nullable String timeBucketExpression(long bucketSeconds) {
+        return null;
+    }
+
+    /**
+     * Provides an expression aggregating the value column of a time bucket, or null if not supported.
+     */
+    protected @Nullable String aggregateExpression(DownsampleFunction function) {
+        return switch (function) {
+            case AVG -> "AVG(value)";
+            case MIN -> "MIN(value)";
+            case MAX -> "MAX(value)";
+            case LAST -> null;
+        };
+    }
+
+    protected String roundExpression(String expression, int numberDecimalcount) {
+        return "ROUND(" + expression + "," + numberDecimalcount + ")";
+    }
+
     protected String histItemFilterDeleteProvider(FilterCriteria filter, String table, ZoneId timeZone) {
         logger.debug("JDBC::histItemFilterDeleteProvider filter = {}, table = {}", filter, table);
 
@@ -567,6 +874,22 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
+    /**
+     * Provides the insert statement for a value with an explicit timestamp, see {@link #storeItemValueParams(ItemVO)}.
+     */
+    protected String storeItemValueSql(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" },
+                new String[] { formattedIdentifier(storedVO.getTableName()), "?" });
+    }
+
+    /**
+     * Provides the parameters matching the statement returned by {@link #storeItemValueSql(ItemVO)}.
+     */
+    protected Object[] storeItemValueParams(ItemVO storedVO) {
+        return new Object[] { storedVO.getTime(), storedVO.getValue(), storedVO.getValue() };
+    }
+
     protected ItemVO storeItemValueProvider(Item item, State itemState, ItemVO vo) {
         String itemType = getItemType(item);
 
@@ -18,6 +18,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
+import org.openhab.persistence.jdbc.internal.DownsampleFunction;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.DbMetaData;
 import org.slf4j.Logger;
@@ -74,6 +75,8 @@ public class JdbcMysqlDAO extends JdbcBaseDAO {
         databaseProps.setProperty("dataSource.cachePrepStmts", "true");
         databaseProps.setProperty("dataSource.prepStmtCacheSize", "250");
         databaseProps.setProperty("dataSource.prepStmtCacheSqlLimit", "2048");
+        databaseProps.setProperty("dataSource.useServerPrepStmts", "true");
+        databaseProps.setProperty("dataSource.rewriteBatchedStatements", "true");
         databaseProps.setProperty("dataSource.jdbcCompliantTruncation", "false");// jdbc standard max varchar max length
                                                                                  // of 21845
 
@@ -116,10 +119,29 @@ public class JdbcMysqlDAO extends JdbcBaseDAO {
      * ITEM DAOs *
      *************/
 
+    @Override
+    public boolean isPartitioningSupported() {
+        return true;
+    }
+
     /****************************
      * SQL generation Providers *
      ****************************/
 
+    @Override
+    protected @Nullable String timeBucketExpression(long bucketSeconds) {
+        return "FROM_UNIXTIME(FLOOR(UNIX_TIMESTAMP(time) / " + bucketSeconds + ") * " + bucketSeconds + ")";
+    }
+
+    @Override
+    protected @Nullable String aggregateExpression(DownsampleFunction function) {
+        if (function == DownsampleFunction.LAST) {
+            // the first element of the descending list survives truncation by group_concat_max_len
+            return "SUBSTRING_INDEX(GROUP_CONCAT(value ORDER BY time DESC), ',', 1) + 0";
+        }
+        return super.aggregateExpression(function);
+    }
+
     /*****************
      * H E L P E R S *
      *****************/
@@ -12,17 +12,20 @@
  */
 package org.openhab.persistence.jdbc.internal.db;
 
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
 import org.openhab.core.items.Item;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.DownsampleFunction;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
@@ -47,6 +50,8 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
 
     private final Logger logger = LoggerFactory.getLogger(JdbcPostgresqlDAO.class);
 
+    private final String sqlCreateDefaultPartition = "CREATE TABLE IF NOT EXISTS #partitionName# PARTITION OF #tableName# DEFAULT";
+
     /********
      * INIT *
      ********/
@@ -79,6 +84,24 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
         // existing value). The version check and query change is performed at initAfterFirstDbConnection()
         sqlInsertItemValue = "INSERT INTO #tableName# (TIME, VALUE) VALUES( #tablePrimaryValue#, CAST( ? as #dbType#) )";
         sqlAlterTableColumn = "ALTER TABLE #tableName# ALTER COLUMN #columnName# TYPE #columnType#";
+        // Declarative partitioning with a primary key requires PostgreSQL >= 11
+        sqlCreatePartitionedItemTable = "CREATE TABLE IF NOT EXISTS #tableName# (time #tablePrimaryKey# NOT NULL, value #dbType#, PRIMARY KEY(time)) PARTITION BY RANGE (time)";
+        // A partition cannot be created while the default partition holds values of its range, these are moved to the
+        // new partition while the default partition is detached
+        sqlCreatePartition = """
+                DO $$ BEGIN \
+                IF to_regclass('#defaultPartition#') IS NOT NULL THEN ALTER TABLE #tableName# DETACH PARTITION #defaultPartition#; END IF; \
+                CREATE TABLE IF NOT EXISTS #partitionName# PARTITION OF #tableName# FOR VALUES FROM (#partitionStart#) TO ('#partitionEnd#'); \
+                IF to_regclass('#defaultPartition#') IS NOT NULL THEN \
+                WITH moved AS (DELETE FROM #defaultPartition# WHERE time >= #rangeStart# AND time < '#partitionEnd#' RETURNING *) \
+                INSERT INTO #partitionName# SELECT * FROM moved; \
+                ALTER TABLE #tableName# ATTACH PARTITION #defaultPartition# DEFAULT; END IF; END $$\
+                """;
+        sqlDropPartition = "DROP TABLE #partitionName#";
+        sqlGetPartitions = """
+                SELECT c.relname AS partition_name, GREATEST(c.reltuples, 0)::bigint AS table_rows, pg_total_relation_size(c.oid) AS size \
+                FROM pg_inherits i JOIN pg_class c ON c.oid=i.inhrelid JOIN pg_class p ON p.oid=i.inhparent WHERE p.relname='#tableName#' ORDER BY c.relname\
+                """;
     }
 
     @Override
@@ -127,6 +150,9 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
         // databaseProps.setProperty("dataSource.cachePrepStmts", "true");
         // databaseProps.setProperty("dataSource.prepStmtCacheSize", "250");
         // databaseProps.setProperty("dataSource.prepStmtCacheSqlLimit", "2048");
+        // Use server-side prepared statements from the first execution, they are cached per connection
+        databaseProps.setProperty("dataSource.prepareThreshold", "1");
+        databaseProps.setProperty("dataSource.reWriteBatchedInserts", "true");
 
         // Properties for HikariCP
         databaseProps.setProperty("driverClassName", DRIVER_CLASS_NAME);
@@ -187,6 +213,64 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
      * ITEM DAOs *
      *************/
 
+    @Override
+    public void doCreateItemTable(ItemVO vo) throws JdbcSQLException {
+        super.doCreateItemTable(vo);
+        if (tablePartitioning) {
+            // Keeps values outside of the monthly partitions, e.g. far in the future
+            String sql = StringUtilsExt.replaceArrayMerge(sqlCreateDefaultPartition,
+                    new String[] { "#tableName#", "#partitionName#" },
+                    new String[] { formattedIdentifier(vo.getTableName()),
+                            formattedIdentifier(defaultPartitionName(vo.getTableName())) });
+            logger.debug("JDBC::doCreateItemTable sql={}", sql);
+            try {
+                Yank.execute(sql, null);
+            } catch (YankSQLException e) {
+                throw new JdbcSQLException(e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isPartitioningSupported() {
+        return true;
+    }
+
+    @Override
+    protected void doCreatePartition(ItemsVO vo, YearMonth month, boolean first, ZoneId timeZone)
+            throws JdbcSQLException {
+        String start = JDBC_DATE_FORMAT.format(month.atDay(1).atStartOfDay(timeZone));
+        String sql = StringUtilsExt.replaceArrayMerge(sqlCreatePartition,
+                new String[] { "#tableName#", "#partitionName#", "#defaultPartition#", "#partitionStart#",
+                        "#rangeStart#", "#partitionEnd#" },
+                new String[] { formattedIdentifier(vo.getTableName()),
+                        formattedIdentifier(partitionName(vo.getTableName(), month)),
+                        formattedIdentifier(defaultPartitionName(vo.getTableName())),
+                        first ? "MINVALUE" : "'" + start + "'",
+                        first ? "'-infinity'" : "'" + start + "'",
+                        JDBC_DATE_FORMAT.format(month.plusMonths(1).atDay(1).atStartOfDay(timeZone)) });
+        logger.debug("JDBC::doCreatePartition sql={}", sql);
+        try {
+            Yank.execute(sql, null);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
+    @Override
+    protected boolean usesRangeColumns() {
+        return false;
+    }
+
+    private String defaultPartitionName(String tableName) {
+        return tableName + "_default";
+    }
+
+    @Override
+    protected String partitionName(String tableName, YearMonth month) {
+        return tableName + "_" + super.partitionName(tableName, month);
+    }
+
     /*
      * Override since PostgreSQL does not support setting NOT NULL in the same clause as ALTER COLUMN .. TYPE
      */
@@ -229,19 +313,15 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
     }
 
     @Override
-    public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
-        ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+    protected String storeItemValueSql(ItemVO storedVO) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
                 new String[] { "#tableName#", "#dbType#", "#tablePrimaryValue#" },
                 new String[] { formattedIdentifier(storedVO.getTableName()), storedVO.getDbType(), "?" });
-        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
-        try {
-            Yank.execute(sql, params);
-        } catch (YankSQLException e) {
-            throw new JdbcSQLException(e);
-        }
+    }
+
+    @Override
+    protected Object[] storeItemValueParams(ItemVO storedVO) {
+        return new Object[] { storedVO.getTime(), storedVO.getValue() };
     }
 
     /****************************
@@ -284,6 +364,24 @@ public class JdbcPostgresqlDAO extends JdbcBaseDAO {
         return queryString;
     }
 
+    @Override
+    protected @Nullable String timeBucketExpression(long bucketSeconds) {
+        return "TO_TIMESTAMP(FLOOR(EXTRACT(EPOCH FROM time) / " + bucketSeconds + ") * " + bucketSeconds + ")";
+    }
+
+    @Override
+    protected @Nullable String aggregateExpression(DownsampleFunction function) {
+        if (function == DownsampleFunction.LAST) {
+            return "(ARRAY_AGG(value ORDER BY time DESC))[1]";
+        }
+        return super.aggregateExpression(function);
+    }
+
+    @Override
+    protected String roundExpression(String expression, int numberDecimalcount) {
+        return "ROUND(CAST (" + expression + " AS numeric)," + numberDecimalcount + ")";
+    }
+
     /*****************
      * H E L P E R S *
      *****************/
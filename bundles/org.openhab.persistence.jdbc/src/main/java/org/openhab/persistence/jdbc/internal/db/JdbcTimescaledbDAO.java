@@ -12,14 +12,20 @@
  */
 package org.openhab.persistence.jdbc.internal.db;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Properties;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
+import org.openhab.persistence.jdbc.internal.DownsampleFunction;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.Partition;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 import org.openhab.persistence.jdbc.internal.utils.StringUtilsExt;
 import org.slf4j.Logger;
@@ -39,6 +45,13 @@ public class JdbcTimescaledbDAO extends JdbcPostgresqlDAO {
     private final String sqlCreateHypertable = "SELECT created FROM create_hypertable('#tableName#', 'time')";
     private final String sqlGetItemTables = "SELECT hypertable_name AS table_name FROM timescaledb_information.hypertables WHERE hypertable_name != '#itemsManageTable#'";
 
+    private final String sqlGetChunks = """
+            SELECT s.chunk_name AS partition_name, GREATEST(c.reltuples, 0)::bigint AS table_rows, s.total_bytes AS size \
+            FROM chunks_detailed_size('#tableName#') s JOIN pg_class c ON c.relname=s.chunk_name AND c.relnamespace=s.chunk_schema::regnamespace \
+            ORDER BY s.chunk_name\
+            """;
+    private final String sqlDropChunks = "SELECT drop_chunks('#tableName#', older_than => TIMESTAMPTZ '#date#')";
+
     @Override
     public Properties getConnectionProperties() {
         Properties properties = (Properties) this.databaseProps.clone();
@@ -77,4 +90,64 @@ public class JdbcTimescaledbDAO extends JdbcPostgresqlDAO {
             throw new JdbcSQLException(e);
         }
     }
+
+    /******************
+     * PARTITION DAOs *
+     ******************/
+
+    /*
+     * Hypertables are always partitioned into chunks by TimescaleDB
+     */
+    @Override
+    public boolean isPartitioningSupported() {
+        return false;
+    }
+
+    @Override
+    public void setTablePartitioning(boolean tablePartitioning) {
+        this.logger.debug("JDBC::setTablePartitioning: Hypertables are partitioned into chunks by TimescaleDB");
+        super.setTablePartitioning(false);
+    }
+
+    @Override
+    public List<Partition> doGetPartitions(ItemsVO vo) throws JdbcSQLException {
+        String sql = StringUtilsExt.replaceArrayMerge(sqlGetChunks, new String[] { "#tableName#" },
+                new String[] { formattedIdentifier(vo.getTableName()) });
+        this.logger.debug("JDBC::doGetPartitions sql={}", sql);
+        try {
+            return Yank.queryBeanList(sql, Partition.class, null);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
+    @Override
+    public int doDropPartitionsBefore(ItemsVO vo, ZonedDateTime date, ZoneId timeZone) throws JdbcSQLException {
+        String sql = StringUtilsExt.replaceArrayMerge(sqlDropChunks, new String[] { "#tableName#", "#date#" },
+                new String[] { formattedIdentifier(vo.getTableName()),
+                        DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(date) });
+        this.logger.debug("JDBC::doDropPartitionsBefore sql={}", sql);
+        try {
+            return Yank.queryColumn(sql, "drop_chunks", String.class, null).size();
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
+    /****************************
+     * SQL generation Providers *
+     ****************************/
+
+    @Override
+    protected @Nullable String timeBucketExpression(long bucketSeconds) {
+        return "time_bucket(INTERVAL '" + bucketSeconds + " seconds', time)";
+    }
+
+    @Override
+    protected @Nullable String aggregateExpression(DownsampleFunction function) {
+        if (function == DownsampleFunction.LAST) {
+            return "last(value, time)";
+        }
+        return super.aggregateExpression(function);
+    }
 }
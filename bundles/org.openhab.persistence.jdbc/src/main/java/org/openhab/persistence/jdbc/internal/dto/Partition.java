@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal.dto;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Represents a partition (or TimescaleDB chunk) of an item table.
+ *
+ * Queries should alias their columns as the matching snake_case version of the attributes in this class, i.e.
+ * partition_name, table_rows and size.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class Partition {
+
+    private @Nullable String partitionName;
+    private long tableRows;
+    private long size;
+
+    public String getPartitionName() {
+        String partitionName = this.partitionName;
+        return partitionName != null ? partitionName : "";
+    }
+
+    /**
+     * Get the estimated number of rows, as reported by the database statistics.
+     */
+    public long getTableRows() {
+        return tableRows;
+    }
+
+    /**
+     * Get the size of the data and indexes in bytes.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    public void setPartitionName(String partitionName) {
+        this.partitionName = partitionName;
+    }
+
+    public void setTableRows(long tableRows) {
+        this.tableRows = tableRows;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+}
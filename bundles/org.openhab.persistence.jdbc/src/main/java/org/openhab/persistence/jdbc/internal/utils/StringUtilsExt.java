@@ -55,7 +55,7 @@ public class StringUtilsExt {
     public static String replaceArrayMerge(String str, String[] separate, String[] separators) {
         String s = str;
         for (int i = 0; i < separators.length; i++) {
-            s = s.replaceAll(separate[i], separators[i]);
+            s = s.replace(separate[i], separators[i]);
         }
         return s;
     }
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.UnDefType;
+import org.openhab.persistence.jdbc.internal.HistoryPager.Position;
+import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcException;
+
+/**
+ * Tests the paging and resuming of the {@link HistoryTransfer}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class HistoryTransferTest {
+
+    private static final String ITEM_NAME = "Test";
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+    private static final ZonedDateTime END = ZonedDateTime.parse("2026-01-01T00:00:00Z");
+
+    private final HistoryPager pager = new HistoryPager();
+    private final List<HistoricItem> written = new ArrayList<>();
+    private int queries;
+
+    private static HistoricItem value(int value, long second) {
+        return new JdbcHistoricItem(ITEM_NAME, new DecimalType(value), START.plusSeconds(second));
+    }
+
+    /**
+     * Creates values with one value per second, except for the given seconds, which have the given number of values.
+     */
+    private static List<HistoricItem> values(int count, Map<Integer, Integer> duplicates) {
+        List<HistoricItem> values = new ArrayList<>();
+        int second = 0;
+        while (values.size() < count) {
+            int valuesAtSecond = duplicates.getOrDefault(second, 1);
+            for (int i = 0; i < valuesAtSecond && values.size() < count; i++) {
+                values.add(value(values.size(), second));
+            }
+            second++;
+        }
+        return values;
+    }
+
+    /**
+     * Answers queries like a database, i.e. sorted, including begin and end, and with paging.
+     */
+    private HistoryPager.Source source(List<HistoricItem> values) {
+        return filter -> {
+            queries++;
+            ZonedDateTime begin = filter.getBeginDate();
+            ZonedDateTime end = filter.getEndDate();
+            Comparator<HistoricItem> comparator = Comparator.comparing(HistoricItem::getTimestamp);
+            return values.stream()
+                    .filter(value -> (begin == null || !value.getTimestamp().isBefore(begin))
+                            && (end == null || !value.getTimestamp().isAfter(end)))
+                    .sorted(filter.getOrdering() == Ordering.ASCENDING ? comparator : comparator.reversed())
+                    .skip((long) filter.getPageNumber() * filter.getPageSize()).limit(filter.getPageSize()).toList();
+        };
+    }
+
+    private long copy(HistoryPager.Source source, @Nullable Position position) throws JdbcException {
+        return pager.copyValues(source, ITEM_NAME, position, END, written::addAll, count -> {
+        });
+    }
+
+    private List<Integer> writtenValues() {
+        return written.stream().map(value -> ((DecimalType) value.getState()).intValue()).toList();
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> range = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            range.add(i);
+        }
+        return range;
+    }
+
+    @Test
+    public void allValuesAreCopiedInPages() throws JdbcException {
+        List<HistoricItem> values = values(12000, Map.of());
+
+        long count = copy(source(values), null);
+
+        assertThat(count, is(12000L));
+        assertThat(writtenValues(), is(range(0, 12000)));
+        // three pages with values and one more ending at the last value
+        assertThat(queries, is(4));
+    }
+
+    @Test
+    public void valuesWithTheSameTimestampAtTheEndOfAPageAreNotLost() throws JdbcException {
+        // the values 4998 to 5002 share one timestamp, the first page ends in the middle of them
+        List<HistoricItem> values = values(6000, Map.of(4998, 5));
+
+        long count = copy(source(values), null);
+
+        assertThat(count, is(6000L));
+        assertThat(writtenValues(), is(range(0, 6000)));
+    }
+
+    @Test
+    public void copyIsResumedAfterTheValuesTheTargetHas() throws JdbcException {
+        // the source has three values at second 10, the target already has two of them
+        List<HistoricItem> values = values(20, Map.of(10, 3));
+        Position position = new Position(values.get(11).getTimestamp(), 2);
+
+        long count = copy(source(values), position);
+
+        assertThat(count, is(8L));
+        assertThat(writtenValues(), is(range(12, 20)));
+    }
+
+    @Test
+    public void positionCountsTheValuesWithTheNewestTimestamp() {
+        List<HistoricItem> values = values(20, Map.of(17, 3));
+
+        Position position = Objects.requireNonNull(pager.getPosition(source(values), ITEM_NAME));
+
+        assertThat(position.timestamp(), is(values.get(19).getTimestamp()));
+        assertThat(position.count(), is(3));
+        assertThat(pager.getPosition(source(List.of()), ITEM_NAME), is(nullValue()));
+    }
+
+    @Test
+    public void copyOfCompleteTargetDoesNotWriteValues() throws JdbcException {
+        List<HistoricItem> values = values(20, Map.of(17, 3));
+        Position position = pager.getPosition(source(values), ITEM_NAME);
+
+        long count = copy(source(values), position);
+
+        assertThat(count, is(0L));
+        assertThat(written.isEmpty(), is(true));
+    }
+
+    @Test
+    public void sourceIgnoringPagingIsCopiedOnce() throws JdbcException {
+        List<HistoricItem> values = values(12000, Map.of(100, 3));
+        HistoryPager.Source source = source(values);
+        // returns all values from the begin date on, regardless of the page size
+        HistoryPager.Source unpaged = filter -> {
+            FilterCriteria all = new FilterCriteria();
+            all.setItemName(ITEM_NAME);
+            all.setBeginDate(filter.getBeginDate());
+            all.setEndDate(filter.getEndDate());
+            all.setOrdering(Ordering.ASCENDING);
+            return source.query(all);
+        };
+
+        long count = copy(unpaged, null);
+
+        assertThat(count, is(12000L));
+        assertThat(writtenValues(), is(range(0, 12000)));
+    }
+
+    @Test
+    public void undefinedValuesAreNotWritten() throws JdbcException {
+        List<HistoricItem> values = new ArrayList<>(values(10, Map.of()));
+        values.set(5, new JdbcHistoricItem(ITEM_NAME, UnDefType.UNDEF, START.plusSeconds(5)));
+
+        long count = copy(source(values), null);
+
+        assertThat(count, is(9L));
+        assertThat(writtenValues(), not(hasItem(5)));
+    }
+
+    @Test
+    public void failedItemsAreReportedAndOthersCopied() throws InterruptedException {
+        Map<String, @Nullable String> errors = new ConcurrentHashMap<>();
+        Map<String, Long> counts = new ConcurrentHashMap<>();
+        HistoryTransfer transfer = new HistoryTransfer((itemName, end, progress) -> {
+            if ("Failing".equals(itemName)) {
+                progress.accept(5);
+                throw new JdbcException("Item " + itemName + " not found");
+            }
+            progress.accept(10);
+            return 10;
+        }, 2);
+
+        long total = transfer.run(List.of("First", "Failing", "Second"), new HistoryTransfer.Listener() {
+            @Override
+            public void progress(String itemName, long count) {
+            }
+
+            @Override
+            public void finished(String itemName, long count, @Nullable String error) {
+                counts.put(itemName, count);
+                if (error != null) {
+                    errors.put(itemName, error);
+                }
+            }
+        });
+
+        assertThat(total, is(25L));
+        assertThat(counts, is(Map.of("First", 10L, "Failing", 5L, "Second", 10L)));
+        assertThat(errors, is(Map.of("Failing", "Item Failing not found")));
+    }
+}
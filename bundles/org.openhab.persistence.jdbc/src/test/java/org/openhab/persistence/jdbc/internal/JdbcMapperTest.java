@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Operator;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+
+/**
+ * Tests the {@link JdbcMapper}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcMapperTest {
+
+    private static final ZonedDateTime END = ZonedDateTime.parse("2023-01-01T00:00:00Z");
+
+    private @NonNullByDefault({}) FilterCriteria filter;
+
+    @BeforeEach
+    public void setup() {
+        filter = new FilterCriteria();
+        filter.setEndDate(END);
+        filter.setOrdering(Ordering.ASCENDING);
+    }
+
+    @Test
+    void downsampleBucketSecondsCoversRangeWithRequestedPoints() {
+        filter.setBeginDate(END.minusDays(1));
+        filter.setPageSize(1000);
+        assertThat(JdbcMapper.getDownsampleBucketSeconds(filter, 1000), is(87L));
+
+        filter.setPageSize(24);
+        assertThat(JdbcMapper.getDownsampleBucketSeconds(filter, 1000), is(3600L));
+    }
+
+    @Test
+    void requestedPointsAreCappedByMaxPoints() {
+        filter.setBeginDate(END.minusDays(1));
+        filter.setPageSize(1000);
+
+        assertThat(JdbcMapper.getDownsampleBucketSeconds(filter, 24), is(3600L));
+    }
+
+    @Test
+    void downsamplingIsDisabledByDefault() {
+        filter.setBeginDate(END.minusDays(1));
+        filter.setPageSize(24);
+
+        assertThat(JdbcMapper.getDownsampleBucketSeconds(filter, 0), is(0L));
+    }
+
+    @Test
+    void shortRangesAreNotDownsampled() {
+        filter.setBeginDate(END.minusMinutes(10));
+        filter.setPageSize(1000);
+
+        assertThat(JdbcMapper.getDownsampleBucketSeconds(filter, 1000), is(0L));
+    }
+
+    @Test
+    void unboundedQueriesAreNotDownsampled() {
+        // e.g. sumSince, countStateChanges or averageSince of persistence extensions
+        filter.setBeginDate(END.minusDays(1));
+
+        assertThat(JdbcMapper.getDownsampleBucketSeconds(filter, 1000), is(0L));
+    }
+
+    @Test
+    void queriesWithoutTimeRangeAreNotDownsampled() {
+        filter.setPageSize(24);
+        assertThat(JdbcMapper.getDownsampleBucketSeconds(filter, 1000), is(0L));
+
+        // e.g. nextState of persistence extensions
+        filter.setBeginDate(END.minusDays(1));
+        filter.setEndDate(null);
+        assertThat(JdbcMapper.getDownsampleBucketSeconds(filter, 1000), is(0L));
+    }
+
+    @Test
+    void laterPagesDescendingOrFilteredQueriesAreNotDownsampled() {
+        filter.setBeginDate(END.minusDays(1));
+        filter.setPageSize(24);
+        filter.setPageNumber(1);
+        assertThat(JdbcMapper.getDownsampleBucketSeconds(filter, 1000), is(0L));
+
+        filter.setPageNumber(0);
+        filter.setOrdering(Ordering.DESCENDING);
+        assertThat(JdbcMapper.getDownsampleBucketSeconds(filter, 1000), is(0L));
+
+        filter.setOrdering(Ordering.ASCENDING);
+        filter.setState(new DecimalType(1));
+        filter.setOperator(Operator.GT);
+        assertThat(JdbcMapper.getDownsampleBucketSeconds(filter, 1000), is(0L));
+    }
+}
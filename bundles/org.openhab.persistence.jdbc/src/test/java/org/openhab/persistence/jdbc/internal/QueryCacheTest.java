@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.persistence.jdbc.internal.dto.JdbcHistoricItem;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+
+/**
+ * Tests the {@link QueryCache}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class QueryCacheTest {
+
+    private static final ZonedDateTime END = ZonedDateTime.parse("2025-01-01T12:00:00Z");
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private List<HistoricItem> load() {
+        return load(0);
+    }
+
+    private List<HistoricItem> load(int values) {
+        loads.incrementAndGet();
+        return IntStream.range(0, values).<HistoricItem> mapToObj(
+                i -> new JdbcHistoricItem("Test", new DecimalType(i), END.minusMinutes(i).toInstant())).toList();
+    }
+
+    private static FilterCriteria filter(String itemName, ZonedDateTime begin, ZonedDateTime end) {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setItemName(itemName);
+        filter.setBeginDate(begin);
+        filter.setEndDate(end);
+        return filter;
+    }
+
+    @Test
+    void repeatedQueryIsAnsweredFromCache() {
+        QueryCache cache = new QueryCache(10, Duration.ofMinutes(1));
+
+        cache.get("Test", filter("Test", END.minusDays(1), END), this::load);
+        cache.get("Test", filter("Test", END.minusDays(1), END), this::load);
+        cache.get("Test", filter("Test", END.minusHours(1), END), this::load);
+
+        assertThat(loads.get(), is(2));
+        assertThat(cache.getHits(), is(1L));
+        assertThat(cache.getMisses(), is(2L));
+    }
+
+    @Test
+    void storeInvalidatesOnlyAffectedTimeRange() {
+        QueryCache cache = new QueryCache(10, Duration.ofMinutes(1));
+        FilterCriteria lastDay = filter("Test", END.minusDays(1), END);
+        FilterCriteria lastHour = filter("Test", END.minusHours(1), END);
+        FilterCriteria other = filter("Other", END.minusDays(1), END);
+        cache.get("Test", lastDay, this::load);
+        cache.get("Test", lastHour, this::load);
+        cache.get("Other", other, this::load);
+
+        cache.invalidate("Test", END.minusHours(2).toInstant());
+        cache.get("Test", lastDay, this::load);
+        cache.get("Test", lastHour, this::load);
+        cache.get("Other", other, this::load);
+
+        assertThat(loads.get(), is(4));
+    }
+
+    @Test
+    void leastRecentlyUsedResultIsEvicted() {
+        QueryCache cache = new QueryCache(4, Duration.ofMinutes(1));
+        FilterCriteria first = filter("First", END.minusDays(1), END);
+        FilterCriteria second = filter("Second", END.minusDays(1), END);
+        FilterCriteria third = filter("Third", END.minusDays(1), END);
+        cache.get("First", first, () -> load(2));
+        cache.get("Second", second, () -> load(2));
+        cache.get("First", first, () -> load(2));
+        cache.get("Third", third, () -> load(2));
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.getValues(), is(4));
+        cache.get("First", first, () -> load(2));
+        assertThat(loads.get(), is(3));
+        cache.get("Second", second, () -> load(2));
+        assertThat(loads.get(), is(4));
+    }
+
+    @Test
+    void cacheIsBoundedByTheNumberOfValues() {
+        QueryCache cache = new QueryCache(5, Duration.ofMinutes(1));
+        FilterCriteria small = filter("Small", END.minusDays(1), END);
+        FilterCriteria large = filter("Large", END.minusDays(1), END);
+        FilterCriteria tooLarge = filter("TooLarge", END.minusDays(1), END);
+        cache.get("Small", small, () -> load(2));
+        cache.get("Large", large, () -> load(4));
+
+        // the small result is evicted to make room for the large one
+        assertThat(cache.size(), is(1));
+        assertThat(cache.getValues(), is(4));
+
+        // a result with more values than the cache holds is not cached at all
+        cache.get("TooLarge", tooLarge, () -> load(6));
+        assertThat(cache.size(), is(1));
+        assertThat(cache.getValues(), is(4));
+
+        cache.invalidate("Large");
+        assertThat(cache.size(), is(0));
+        assertThat(cache.getValues(), is(0));
+    }
+
+    @Test
+    void queriesUntilNowShareOneResult() {
+        QueryCache cache = new QueryCache(10, Duration.ofMinutes(1));
+        ZonedDateTime begin = ZonedDateTime.now().minusHours(1);
+
+        cache.get("Test", filter("Test", begin, ZonedDateTime.now()), this::load);
+        cache.get("Test", filter("Test", begin, ZonedDateTime.now()), this::load);
+        assertThat(loads.get(), is(1));
+
+        // a new value is always within the time range
+        cache.invalidate("Test", Instant.now());
+        cache.get("Test", filter("Test", begin, ZonedDateTime.now()), this::load);
+        assertThat(loads.get(), is(2));
+
+        // a value before the time range doesn't affect the result
+        cache.invalidate("Test", begin.minusMinutes(1).toInstant());
+        cache.get("Test", filter("Test", begin, ZonedDateTime.now()), this::load);
+        assertThat(loads.get(), is(2));
+
+        // a fixed end in the past is not mixed up with the current time
+        cache.get("Test", filter("Test", begin, ZonedDateTime.now().minusMinutes(1)), this::load);
+        assertThat(loads.get(), is(3));
+    }
+
+    @Test
+    void changeDuringQueryIsNotCached() {
+        QueryCache cache = new QueryCache(10, Duration.ofMinutes(1));
+        FilterCriteria filter = filter("Test", END.minusDays(1), END);
+
+        cache.get("Test", filter, () -> {
+            cache.invalidate("Test", END.minusHours(1).toInstant());
+            return load();
+        });
+        assertThat(cache.size(), is(0));
+        assertThat(cache.getRunningSeries(), is(0));
+
+        cache.get("Test", filter, this::load);
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test
+    void finishedQueriesAreNotTracked() {
+        QueryCache cache = new QueryCache(10, Duration.ofMinutes(1));
+        for (int i = 0; i < 100; i++) {
+            String name = "Item" + i;
+            cache.get(name, filter(name, END.minusDays(1), END), this::load);
+            cache.invalidate(name);
+        }
+        assertThrows(JdbcSQLException.class, () -> cache.get("Failed", filter("Failed", END.minusDays(1), END), () -> {
+            throw new JdbcSQLException(new SQLException("failed"));
+        }));
+
+        assertThat(cache.getRunningSeries(), is(0));
+    }
+
+    @Test
+    void failedQueryIsNotCached() {
+        QueryCache cache = new QueryCache(10, Duration.ofMinutes(1));
+        FilterCriteria filter = filter("Test", END.minusDays(1), END);
+
+        assertThrows(JdbcSQLException.class, () -> cache.get("Test", filter, () -> {
+            throw new JdbcSQLException(new SQLException("failed"));
+        }));
+
+        assertThat(cache.size(), is(0));
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+
+/**
+ * Tests the {@link StoreQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class StoreQueueTest {
+
+    private static final NumberItem ITEM = new NumberItem("Test");
+
+    private static StoreQueue.Entry entry(int value) {
+        return new StoreQueue.Entry(ITEM, new DecimalType(value), null, null);
+    }
+
+    @Test
+    void pendingEntriesAreCoalescedIntoBatches() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        StoreQueue queue = new StoreQueue(100, 1, 10, 0, batch -> {
+            batchSizes.add(batch.size());
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        queue.start();
+
+        assertTrue(queue.offer(entry(0)));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 25; i++) {
+            assertTrue(queue.offer(entry(i)));
+        }
+        release.countDown();
+        queue.stop(5000);
+
+        assertThat(batchSizes, is(List.of(1, 10, 10, 5)));
+        assertThat(queue.getProcessedCount(), is(26L));
+        assertThat(queue.getBatchCount(), is(4L));
+        assertThat(queue.getDroppedCount(), is(0L));
+    }
+
+    @Test
+    void entriesAreDroppedWhenQueueIsFull() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StoreQueue queue = new StoreQueue(2, 1, 10, 10, batch -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        queue.start();
+
+        assertTrue(queue.offer(entry(0)));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        assertTrue(queue.offer(entry(1)));
+        assertTrue(queue.offer(entry(2)));
+        assertFalse(queue.offer(entry(3)));
+        assertThat(queue.getSize(), is(2));
+        assertThat(queue.getDroppedCount(), is(1L));
+
+        release.countDown();
+        queue.stop(5000);
+        assertThat(queue.getProcessedCount(), is(3L));
+    }
+
+    @Test
+    void writerExceptionDoesNotStopQueue() throws InterruptedException {
+        CountDownLatch written = new CountDownLatch(2);
+        StoreQueue queue = new StoreQueue(10, 1, 1, 0, batch -> {
+            written.countDown();
+            throw new IllegalStateException("Test");
+        });
+        queue.start();
+
+        assertTrue(queue.offer(entry(0)));
+        assertTrue(queue.offer(entry(1)));
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        queue.stop(5000);
+    }
+
+    @Test
+    void offerAfterStopIsRejected() {
+        StoreQueue queue = new StoreQueue(10, 1, 1, 0, batch -> {
+        });
+        queue.start();
+        queue.stop(5000);
+
+        assertFalse(queue.offer(entry(0)));
+        assertThat(queue.getDroppedCount(), is(1L));
+    }
+}
@@ -16,13 +16,23 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mockStatic;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.Stream;
 
@@ -36,6 +46,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.knowm.yank.Yank;
+import org.mockito.MockedStatic;
 import org.openhab.core.items.Item;
 import org.openhab.core.library.items.CallItem;
 import org.openhab.core.library.items.ColorItem;
@@ -66,6 +78,11 @@ import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.DownsampleFunction;
+import org.openhab.persistence.jdbc.internal.dto.ItemVO;
+import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
+import org.openhab.persistence.jdbc.internal.dto.Partition;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
 
 /**
  * Tests the {@link JdbcBaseDAO}.
@@ -192,6 +209,158 @@ public class JdbcBaseDAOTest {
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC LIMIT 0,1"));
     }
 
+    @Test
+    void testHistItemDownsampleQueryProviderReturnsNullIfNotSupported() {
+        assertNull(jdbcBaseDAO.histItemDownsampleQueryProvider(filter, 0, DB_TABLE_NAME, UTC_ZONE_ID, 60,
+                DownsampleFunction.AVG));
+    }
+
+    @Test
+    void testHistItemDownsampleQueryProviderReturnsTimeBucketQueryForTimescaledb() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setOrdering(Ordering.ASCENDING);
+
+        String sql = new JdbcTimescaledbDAO().histItemDownsampleQueryProvider(filter, 2, DB_TABLE_NAME, UTC_ZONE_ID,
+                60, DownsampleFunction.LAST);
+        assertThat(sql, is("SELECT time_bucket(INTERVAL '60 seconds', time) AS bucket,"
+                + " ROUND(CAST (last(value, time) AS numeric),2) FROM \"" + DB_TABLE_NAME + "\" WHERE TIME>='"
+                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate()))
+                + "' GROUP BY bucket ORDER BY bucket ASC"));
+    }
+
+    @Test
+    void testPartitionMonthIsParsedFromPartitionName() {
+        assertThat(JdbcBaseDAO.partitionMonth("p202401"), is(YearMonth.of(2024, 1)));
+        assertThat(JdbcBaseDAO.partitionMonth("item0001_p202312"), is(YearMonth.of(2023, 12)));
+        assertNull(JdbcBaseDAO.partitionMonth("pmax"));
+        assertNull(JdbcBaseDAO.partitionMonth("item0001_default"));
+    }
+
+    @Test
+    void testPartitionNameIsParsedToSameMonth() {
+        YearMonth month = YearMonth.of(2024, 2);
+
+        assertThat(jdbcBaseDAO.partitionName("item0001", month), is("p202402"));
+        String postgresPartitionName = new JdbcPostgresqlDAO().partitionName("item0001", month);
+        assertThat(postgresPartitionName, is("item0001_p202402"));
+        assertThat(JdbcBaseDAO.partitionMonth(postgresPartitionName), is(month));
+    }
+
+    @Test
+    void testTablePartitioningIsIgnoredIfNotSupported() {
+        jdbcBaseDAO.setTablePartitioning(true);
+        assertThat(jdbcBaseDAO.isTablePartitioning(), is(false));
+
+        JdbcPostgresqlDAO postgresqlDAO = new JdbcPostgresqlDAO();
+        postgresqlDAO.setTablePartitioning(true);
+        assertThat(postgresqlDAO.isTablePartitioning(), is(true));
+
+        JdbcTimescaledbDAO timescaledbDAO = new JdbcTimescaledbDAO();
+        timescaledbDAO.setTablePartitioning(true);
+        assertThat(timescaledbDAO.isTablePartitioning(), is(false));
+    }
+
+    @Test
+    void testCreatePartitionsFollowsMostRecentPartition() throws JdbcSQLException {
+        JdbcMysqlDAO mysqlDAO = new JdbcMysqlDAO() {
+            @Override
+            public List<Partition> doGetPartitions(ItemsVO vo) {
+                return partitions("p202312", "p202401", "pmax");
+            }
+        };
+
+        List<String> sql = executedSql(
+                () -> mysqlDAO.doCreatePartitions(itemsVO(), YearMonth.of(2024, 3), UTC_ZONE_ID));
+        assertThat(sql, is(List.of(
+                "ALTER TABLE " + DB_TABLE_NAME + " REORGANIZE PARTITION pmax INTO (PARTITION p202402 VALUES LESS THAN "
+                        + "(UNIX_TIMESTAMP('2024-03-01 00:00:00')), PARTITION pmax VALUES LESS THAN MAXVALUE)",
+                "ALTER TABLE " + DB_TABLE_NAME + " REORGANIZE PARTITION pmax INTO (PARTITION p202403 VALUES LESS THAN "
+                        + "(UNIX_TIMESTAMP('2024-04-01 00:00:00')), PARTITION pmax VALUES LESS THAN MAXVALUE)")));
+    }
+
+    @Test
+    void testDatetimeTablesArePartitionedByColumns() throws JdbcSQLException {
+        JdbcMysqlDAO mysqlDAO = new JdbcMysqlDAO() {
+            @Override
+            public List<Partition> doGetPartitions(ItemsVO vo) {
+                return partitions("p202401", "pmax");
+            }
+        };
+        mysqlDAO.sqlTypes.put("tablePrimaryKey", "DATETIME(3)");
+        mysqlDAO.setTablePartitioning(true);
+        ItemVO vo = new ItemVO(DB_TABLE_NAME, null);
+        vo.setDbType("DOUBLE");
+
+        List<String> sql = executedSql(() -> {
+            mysqlDAO.doCreateItemTable(vo);
+            mysqlDAO.doCreatePartitions(itemsVO(), YearMonth.of(2024, 2), UTC_ZONE_ID);
+        });
+        assertThat(sql, is(List.of(
+                "CREATE TABLE IF NOT EXISTS " + DB_TABLE_NAME + " (time DATETIME(3) NOT NULL, value DOUBLE, "
+                        + "PRIMARY KEY(time)) PARTITION BY RANGE COLUMNS(time) "
+                        + "(PARTITION pmax VALUES LESS THAN (MAXVALUE))",
+                "ALTER TABLE " + DB_TABLE_NAME + " REORGANIZE PARTITION pmax INTO (PARTITION p202402 VALUES LESS THAN "
+                        + "('2024-03-01 00:00:00'), PARTITION pmax VALUES LESS THAN (MAXVALUE))")));
+    }
+
+    @Test
+    void testCreatePartitionMovesValuesOutOfDefaultPartition() throws JdbcSQLException {
+        JdbcPostgresqlDAO postgresqlDAO = new JdbcPostgresqlDAO() {
+            @Override
+            public List<Partition> doGetPartitions(ItemsVO vo) {
+                return partitions(DB_TABLE_NAME + "_default", DB_TABLE_NAME + "_p202401");
+            }
+        };
+
+        List<String> sql = executedSql(
+                () -> postgresqlDAO.doCreatePartitions(itemsVO(), YearMonth.of(2024, 2), UTC_ZONE_ID));
+        assertThat(sql.size(), is(1));
+        String table = "\"" + DB_TABLE_NAME + "\"";
+        String defaultPartition = "\"" + DB_TABLE_NAME + "_default\"";
+        String partition = "\"" + DB_TABLE_NAME + "_p202402\"";
+        assertThat(sql.get(0), is("DO $$ BEGIN IF to_regclass('" + defaultPartition + "') IS NOT NULL THEN ALTER TABLE "
+                + table + " DETACH PARTITION " + defaultPartition + "; END IF; CREATE TABLE IF NOT EXISTS " + partition
+                + " PARTITION OF " + table + " FOR VALUES FROM ('2024-02-01 00:00:00') TO ('2024-03-01 00:00:00'); "
+                + "IF to_regclass('" + defaultPartition + "') IS NOT NULL THEN WITH moved AS (DELETE FROM "
+                + defaultPartition + " WHERE time >= '2024-02-01 00:00:00' AND time < '2024-03-01 00:00:00' "
+                + "RETURNING *) INSERT INTO " + partition + " SELECT * FROM moved; ALTER TABLE " + table
+                + " ATTACH PARTITION " + defaultPartition + " DEFAULT; END IF; END $$"));
+    }
+
+    @Test
+    void testFirstPartitionHoldsAllOlderValues() throws JdbcSQLException {
+        JdbcPostgresqlDAO postgresqlDAO = new JdbcPostgresqlDAO() {
+            @Override
+            public List<Partition> doGetPartitions(ItemsVO vo) {
+                return partitions(DB_TABLE_NAME + "_default");
+            }
+        };
+        YearMonth month = YearMonth.now(UTC_ZONE_ID);
+        String end = JdbcBaseDAO.JDBC_DATE_FORMAT.format(month.plusMonths(1).atDay(1).atStartOfDay(UTC_ZONE_ID));
+
+        List<String> sql = executedSql(() -> postgresqlDAO.doCreatePartitions(itemsVO(), month, UTC_ZONE_ID));
+        assertThat(sql.size(), is(1));
+        assertThat(sql.get(0).contains("FOR VALUES FROM (MINVALUE) TO ('" + end + "')"), is(true));
+        assertThat(sql.get(0).contains("WHERE time >= '-infinity' AND time < '" + end + "'"), is(true));
+    }
+
+    @Test
+    void testDropPartitionsBeforeDropsOnlyOlderPartitions() throws JdbcSQLException {
+        JdbcMysqlDAO mysqlDAO = new JdbcMysqlDAO() {
+            @Override
+            public List<Partition> doGetPartitions(ItemsVO vo) {
+                return partitions("p202401", "p202402", "p202403", "pmax");
+            }
+        };
+        List<Integer> dropped = new ArrayList<>();
+
+        List<String> sql = executedSql(() -> dropped.add(mysqlDAO.doDropPartitionsBefore(itemsVO(),
+                parseDateTimeString("2024-03-01T00:00:00"), UTC_ZONE_ID)));
+        assertThat(dropped, is(List.of(2)));
+        assertThat(sql, is(List.of("ALTER TABLE " + DB_TABLE_NAME + " DROP PARTITION p202401",
+                "ALTER TABLE " + DB_TABLE_NAME + " DROP PARTITION p202402")));
+    }
+
     @Test
     void testHistItemFilterDeleteProviderReturnsDeleteQueryWithoutWhereClause() {
         String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
@@ -247,6 +416,67 @@ public class JdbcBaseDAOTest {
                         + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate())) + "'"));
     }
 
+    @Test
+    void testGetStoreItemValueSqlReturnsInsertWithTimestampParameter() {
+        ItemVO vo = jdbcBaseDAO.prepareItemValue(new NumberItem("Test"), DecimalType.valueOf("7.3"),
+                new ItemVO(DB_TABLE_NAME, null), parseDateTimeString("2022-01-10T15:01:44"));
+
+        String sql = jdbcBaseDAO.getStoreItemValueSql(vo);
+        assertThat(sql, is("INSERT INTO " + DB_TABLE_NAME
+                + " (time, value) VALUES( ?, ? ) ON DUPLICATE KEY UPDATE VALUE= ?"));
+        assertThat(jdbcBaseDAO.storeItemValueParams(vo).length, is(3));
+    }
+
+    @Test
+    void testGetStoreItemValueSqlIsRenderedOncePerTable() {
+        ZonedDateTime date = parseDateTimeString("2022-01-10T15:01:44");
+        ItemVO vo1 = jdbcBaseDAO.prepareItemValue(new NumberItem("Test"), DecimalType.valueOf("7.3"),
+                new ItemVO(DB_TABLE_NAME, null), date);
+        ItemVO vo2 = jdbcBaseDAO.prepareItemValue(new NumberItem("Test"), DecimalType.valueOf("8.3"),
+                new ItemVO(DB_TABLE_NAME, null), date);
+        ItemVO vo3 = jdbcBaseDAO.prepareItemValue(new NumberItem("Test"), DecimalType.valueOf("8.3"),
+                new ItemVO(DB_TABLE_NAME + "2", null), date);
+
+        String sql = jdbcBaseDAO.getStoreItemValueSql(vo1);
+        assertSame(sql, jdbcBaseDAO.getStoreItemValueSql(vo2));
+        assertNotSame(sql, jdbcBaseDAO.getStoreItemValueSql(vo3));
+
+        jdbcBaseDAO.clearSqlCache();
+        assertNotSame(sql, jdbcBaseDAO.getStoreItemValueSql(vo1));
+        assertEquals(sql, jdbcBaseDAO.getStoreItemValueSql(vo1));
+    }
+
+    private interface SqlAction {
+        void run() throws JdbcSQLException;
+    }
+
+    private static List<String> executedSql(SqlAction action) throws JdbcSQLException {
+        List<String> sql = new ArrayList<>();
+        try (MockedStatic<Yank> yank = mockStatic(Yank.class)) {
+            yank.when(() -> Yank.execute(anyString(), any())).thenAnswer(invocation -> {
+                sql.add(invocation.getArgument(0));
+                return 0;
+            });
+            action.run();
+        }
+        return sql;
+    }
+
+    private static List<Partition> partitions(String... names) {
+        return Arrays.stream(names).map(name -> {
+            Partition partition = new Partition();
+            partition.setPartitionName(name);
+            return partition;
+        }).toList();
+    }
+
+    private static ItemsVO itemsVO() {
+        ItemsVO vo = new ItemsVO();
+        vo.setTableName(DB_TABLE_NAME);
+        vo.setJdbcUriDatabaseName("openhab");
+        return vo;
+    }
+
     private ZonedDateTime parseDateTimeString(String dts) {
         return ZonedDateTime.of(LocalDateTime.parse(dts, DATE_PARSER), UTC_ZONE_ID);
     }
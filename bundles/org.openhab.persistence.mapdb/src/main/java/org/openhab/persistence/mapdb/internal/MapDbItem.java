@@ -82,10 +82,28 @@ class MapDbItem implements PersistedItem, PersistenceItemInfo {
                 : null;
     }
 
+    @Nullable
+    Date getLastStateChangeDate() {
+        return lastStateChange;
+    }
+
     void setLastStateChange(@Nullable Date lastStateChange) {
         this.lastStateChange = lastStateChange;
     }
 
+    /**
+     * Create a copy of this item with another name.
+     */
+    MapDbItem withName(String name) {
+        MapDbItem item = new MapDbItem();
+        item.setName(name);
+        item.setState(state);
+        item.setTimestamp(timestamp);
+        item.setLastState(lastState);
+        item.setLastStateChange(lastStateChange);
+        return item;
+    }
+
     @Override
     public String toString() {
         return DateFormat.getDateTimeInstance().format(timestamp) + ": " + name + " -> " + state.toString();
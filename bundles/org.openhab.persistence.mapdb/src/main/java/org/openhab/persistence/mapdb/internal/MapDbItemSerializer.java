@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * The {@link MapDbItemSerializer} converts a {@link MapDbItem} to a compact binary representation and back.
+ *
+ * The most common state types are written in a binary form, all other states are written as their class name and
+ * full string representation, like the {@link StateTypeAdapter} does.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class MapDbItemSerializer {
+
+    private static final byte VERSION = 1;
+
+    private static final byte TYPE_OTHER = 0;
+    private static final byte TYPE_UNDEF = 1;
+    private static final byte TYPE_DECIMAL = 2;
+    private static final byte TYPE_PERCENT = 3;
+    private static final byte TYPE_HSB = 4;
+    private static final byte TYPE_ON_OFF = 5;
+    private static final byte TYPE_OPEN_CLOSED = 6;
+    private static final byte TYPE_UP_DOWN = 7;
+    private static final byte TYPE_STRING = 8;
+
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private MapDbItemSerializer() {
+        // prevent instantiation
+    }
+
+    /**
+     * Serialize an item.
+     *
+     * @param item the item
+     * @return the binary representation
+     */
+    static byte[] serialize(MapDbItem item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeString(out, item.getName());
+            out.writeLong(item.getTimestamp().toInstant().toEpochMilli());
+            writeState(out, item.getState());
+            State lastState = item.getLastState();
+            out.writeBoolean(lastState != null);
+            if (lastState != null) {
+                writeState(out, lastState);
+            }
+            Date lastStateChange = item.getLastStateChangeDate();
+            out.writeLong(lastStateChange != null ? lastStateChange.getTime() : NO_TIMESTAMP);
+        } catch (IOException e) {
+            throw new IllegalStateException("Couldn't serialize item " + item.getName(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserialize an item.
+     *
+     * @param data the binary representation
+     * @return the item
+     * @throws IOException if the data is invalid or contains an unknown state type
+     */
+    static MapDbItem deserialize(byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported version " + version);
+            }
+            MapDbItem item = new MapDbItem();
+            item.setName(readString(in));
+            item.setTimestamp(new Date(in.readLong()));
+            item.setState(readState(in));
+            if (in.readBoolean()) {
+                item.setLastState(readState(in));
+            }
+            long lastStateChange = in.readLong();
+            item.setLastStateChange(lastStateChange != NO_TIMESTAMP ? new Date(lastStateChange) : null);
+            return item;
+        }
+    }
+
+    private static void writeState(DataOutputStream out, State state) throws IOException {
+        Class<?> type = state.getClass();
+        if (state instanceof UnDefType undef) {
+            out.writeByte(TYPE_UNDEF);
+            out.writeBoolean(undef == UnDefType.UNDEF);
+        } else if (type == DecimalType.class) {
+            out.writeByte(TYPE_DECIMAL);
+            writeDecimal(out, ((DecimalType) state).toBigDecimal());
+        } else if (type == PercentType.class) {
+            out.writeByte(TYPE_PERCENT);
+            writeDecimal(out, ((PercentType) state).toBigDecimal());
+        } else if (type == HSBType.class) {
+            HSBType hsb = (HSBType) state;
+            out.writeByte(TYPE_HSB);
+            writeDecimal(out, hsb.getHue().toBigDecimal());
+            writeDecimal(out, hsb.getSaturation().toBigDecimal());
+            writeDecimal(out, hsb.getBrightness().toBigDecimal());
+        } else if (state instanceof OnOffType onOff) {
+            out.writeByte(TYPE_ON_OFF);
+            out.writeBoolean(onOff == OnOffType.ON);
+        } else if (state instanceof OpenClosedType openClosed) {
+            out.writeByte(TYPE_OPEN_CLOSED);
+            out.writeBoolean(openClosed == OpenClosedType.OPEN);
+        } else if (state instanceof UpDownType upDown) {
+            out.writeByte(TYPE_UP_DOWN);
+            out.writeBoolean(upDown == UpDownType.UP);
+        } else if (type == StringType.class) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, state.toFullString());
+        } else {
+            out.writeByte(TYPE_OTHER);
+            writeString(out, type.getName());
+            writeString(out, state.toFullString());
+        }
+    }
+
+    private static State readState(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TYPE_UNDEF:
+                return in.readBoolean() ? UnDefType.UNDEF : UnDefType.NULL;
+            case TYPE_DECIMAL:
+                return new DecimalType(readDecimal(in));
+            case TYPE_PERCENT:
+                return new PercentType(readDecimal(in));
+            case TYPE_HSB:
+                return new HSBType(new DecimalType(readDecimal(in)), new PercentType(readDecimal(in)),
+                        new PercentType(readDecimal(in)));
+            case TYPE_ON_OFF:
+                return OnOffType.from(in.readBoolean());
+            case TYPE_OPEN_CLOSED:
+                return in.readBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            case TYPE_UP_DOWN:
+                return in.readBoolean() ? UpDownType.UP : UpDownType.DOWN;
+            case TYPE_STRING:
+                return new StringType(readString(in));
+            case TYPE_OTHER:
+                String typeName = readString(in);
+                String value = readString(in);
+                State state = parseState(typeName, value);
+                if (state == null) {
+                    throw new IOException("Couldn't parse state '" + value + "' of type '" + typeName + "'");
+                }
+                return state;
+            default:
+                throw new IOException("Unknown state type " + type);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @Nullable State parseState(String typeName, String value) throws IOException {
+        try {
+            Class<? extends State> stateType = (Class<? extends State>) Class.forName(typeName);
+            return TypeParser.parseState(List.of(stateType), value);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Unknown state type '" + typeName + "'", e);
+        }
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        if (unscaled.length > 0xFFFF) {
+            throw new IOException("Decimal value is too large");
+        }
+        out.writeInt(value.scale());
+        out.writeShort(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[in.readUnsignedShort()];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.PointType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringListType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.types.UpDownType;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * Tests the {@link MapDbItemSerializer}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemSerializerTest {
+
+    public static Stream<State> serializeRoundtripShouldRecreateTheState() {
+        return Stream.of(DecimalType.ZERO, new DecimalType(1.123), new DecimalType(new BigDecimal("-1E+30")),
+                new DecimalType(new BigDecimal("123456789012345678901234567890.123456789")), PercentType.HUNDRED,
+                PercentType.valueOf("99.999"), HSBType.fromRGB(11, 22, 33), OnOffType.ON, OnOffType.OFF,
+                OpenClosedType.OPEN, OpenClosedType.CLOSED, UpDownType.UP, UpDownType.DOWN, StringType.valueOf(""),
+                StringType.valueOf("äöü @@@ €"), new QuantityType<>(new BigDecimal("21.23"), SIUnits.CELSIUS),
+                new PointType("52.5,13.4"), new StringListType("a", "b"), UnDefType.NULL, UnDefType.UNDEF);
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    public void serializeRoundtripShouldRecreateTheState(State state) throws IOException {
+        MapDbItem item = new MapDbItem();
+        item.setName("item");
+        item.setState(state);
+        item.setLastState(state);
+        item.setTimestamp(new Date(1672563600123L));
+        item.setLastStateChange(new Date(1672563000000L));
+
+        MapDbItem actual = MapDbItemSerializer.deserialize(MapDbItemSerializer.serialize(item));
+
+        assertThat(actual.getName(), is("item"));
+        assertThat(actual.getState(), is(equalTo(state)));
+        assertThat(actual.getState().getClass(), is(equalTo(state.getClass())));
+        assertThat(actual.getLastState(), is(equalTo(state)));
+        assertThat(actual.getTimestamp(), is(item.getTimestamp()));
+        assertThat(actual.getLastStateChange(), is(item.getLastStateChange()));
+    }
+
+    @Test
+    public void missingLastStateIsKept() throws IOException {
+        MapDbItem item = new MapDbItem();
+        item.setName("item");
+        item.setState(OnOffType.ON);
+
+        MapDbItem actual = MapDbItemSerializer.deserialize(MapDbItemSerializer.serialize(item));
+
+        assertThat(actual.getLastState(), is(nullValue()));
+        assertThat(actual.getLastStateChange(), is(nullValue()));
+    }
+
+    @Test
+    public void invalidDataIsRejected() {
+        assertThrows(IOException.class, () -> MapDbItemSerializer.deserialize(new byte[] { 42 }));
+        assertThrows(IOException.class, () -> MapDbItemSerializer.deserialize(new byte[] { 1, 0, 0 }));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mapdb.DB;
+import org.mapdb.DBMaker;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.PersistedItem;
+
+/**
+ * Tests the migration of the JSON serialized items of older versions by the {@link MapDbPersistenceService}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbPersistenceServiceTest {
+
+    private static final String LEGACY_MAP_NAME = "itemStore";
+    private static final String VALID_JSON = "{\"name\":\"%s\",\"state\":\"org.openhab.core.library.types.DecimalType"
+            + "@@@%s\"}";
+
+    private static @TempDir @NonNullByDefault({}) Path userData;
+
+    private @Nullable MapDbPersistenceService service;
+
+    @BeforeAll
+    public static void setUserData() {
+        // the database folder is resolved when the service class is initialized
+        System.setProperty("openhab.userdata", userData.toString());
+    }
+
+    @BeforeEach
+    public void deleteDatabase() throws IOException {
+        Path dbDir = getDatabaseDir();
+        if (Files.exists(dbDir)) {
+            try (Stream<Path> files = Files.list(dbDir)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+        Files.createDirectories(dbDir);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MapDbPersistenceService localService = service;
+        if (localService != null) {
+            localService.deactivate();
+        }
+    }
+
+    private static Path getDatabaseDir() {
+        return userData.resolve("persistence").resolve("mapdb");
+    }
+
+    private static DB openDatabase() {
+        File dbFile = getDatabaseDir().resolve("storage.mapdb").toFile();
+        return DBMaker.newFileDB(dbFile).make();
+    }
+
+    private static void createLegacyDatabase(Map<String, String> entries) {
+        DB db = openDatabase();
+        Map<String, String> legacyMap = db.createTreeMap(LEGACY_MAP_NAME).make();
+        legacyMap.putAll(entries);
+        db.commit();
+        db.close();
+    }
+
+    private MapDbPersistenceService activateService() {
+        MapDbPersistenceService localService = new MapDbPersistenceService();
+        localService.activate(Map.of());
+        service = localService;
+        return localService;
+    }
+
+    @Test
+    public void legacyMapIsDeletedWhenAllItemsAreMigrated() {
+        createLegacyDatabase(Map.of("First", VALID_JSON.formatted("First", "1"), "Second",
+                VALID_JSON.formatted("Second", "2.5")));
+
+        MapDbPersistenceService service = activateService();
+
+        PersistedItem first = service.persistedItem("First", null);
+        PersistedItem second = service.persistedItem("Second", null);
+        assertThat(Objects.requireNonNull(first).getState(), is(new DecimalType(1)));
+        assertThat(Objects.requireNonNull(second).getState(), is(new DecimalType(2.5)));
+
+        service.deactivate();
+        this.service = null;
+
+        DB db = openDatabase();
+        try {
+            assertThat(db.exists(LEGACY_MAP_NAME), is(false));
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void itemsThatCannotBeMigratedAreKept() {
+        String invalidState = "{\"name\":\"InvalidState\",\"state\":\"org.openhab.core.library.types.Unknown@@@1\"}";
+        String malformed = "{\"name\":";
+        createLegacyDatabase(Map.of("Valid", VALID_JSON.formatted("Valid", "21.5"), "InvalidState", invalidState,
+                "Malformed", malformed));
+
+        MapDbPersistenceService service = activateService();
+
+        PersistedItem valid = service.persistedItem("Valid", null);
+        assertThat(Objects.requireNonNull(valid).getState(), is(new DecimalType(21.5)));
+        assertThat(service.persistedItem("InvalidState", null), is(nullValue()));
+        assertThat(service.persistedItem("Malformed", null), is(nullValue()));
+
+        service.deactivate();
+        this.service = null;
+
+        DB db = openDatabase();
+        try {
+            assertThat(db.exists(LEGACY_MAP_NAME), is(true));
+            Map<String, String> legacyMap = db.getTreeMap(LEGACY_MAP_NAME);
+            assertThat(legacyMap.keySet(), is(Set.of("InvalidState", "Malformed")));
+            assertThat(legacyMap.get("InvalidState"), is(invalidState));
+            assertThat(legacyMap.get("Malformed"), is(malformed));
+        } finally {
+            db.close();
+        }
+    }
+}
@@ -25,15 +25,15 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.DoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -45,6 +45,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
@@ -84,10 +85,13 @@ import org.rrd4j.DsType;
 import org.rrd4j.core.Archive;
 import org.rrd4j.core.FetchData;
 import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.core.RrdDbPool;
 import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdNioBackendFactory;
+import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
 import org.rrd4j.core.Sample;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -103,35 +107,48 @@ import org.slf4j.LoggerFactory;
  * @author Mark Herwege - restore on startup, retrieve persistedItem
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class,
-        QueryablePersistenceService.class }, configurationPid = "org.openhab.rrd4j", configurationPolicy = ConfigurationPolicy.OPTIONAL, property = Constants.SERVICE_PID
+@Component(service = { PersistenceService.class, QueryablePersistenceService.class,
+        RRD4jPersistenceService.class }, configurationPid = "org.openhab.rrd4j", configurationPolicy = ConfigurationPolicy.OPTIONAL, property = Constants.SERVICE_PID
                 + "=org.openhab.rrd4j")
 public class RRD4jPersistenceService implements QueryablePersistenceService {
 
-    private record Key(long timestamp, String name) implements Comparable<Key> {
-        @Override
-        public int compareTo(Key other) {
-            int c = Long.compare(timestamp, other.timestamp);
-
-            return (c == 0) ? Objects.compare(name, other.name, String::compareTo) : c;
-        }
-    }
-
     public static final String SERVICE_ID = "rrd4j";
 
     private static final String DEFAULT_OTHER = "default_other";
     private static final String DEFAULT_NUMERIC = "default_numeric";
     private static final String DEFAULT_QUANTIFIABLE = "default_quantifiable";
 
+    private static final String WRITE_THREADS_CONFIG = "writeThreads";
+    private static final String BACKEND_CONFIG = "backend";
+    private static final String SYNC_PERIOD_CONFIG = "syncPeriod";
+    private static final int WRITE_THREADS_DEFAULT = 2;
+    private static final int SYNC_PERIOD_DEFAULT = 300;
+    private static final int DATABASE_LOCK_STRIPES = 64;
+    // values kept per database while it cannot be opened, one hour at one value per second
+    private static final int MAX_PENDING_VALUES = 3600;
+    private static final String QUERY_CACHE_SIZE_CONFIG = "queryCacheSize";
+    private static final String QUERY_CACHE_MAX_AGE_CONFIG = "queryCacheMaxAge";
+    private static final int QUERY_CACHE_MAX_AGE_DEFAULT = 60;
+
     private static final Set<String> SUPPORTED_TYPES = Set.of(CoreItemFactory.SWITCH, CoreItemFactory.CONTACT,
             CoreItemFactory.DIMMER, CoreItemFactory.NUMBER, CoreItemFactory.ROLLERSHUTTER, CoreItemFactory.COLOR);
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
+    // one thread for the store job, the others write to the databases
+    private final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1 + WRITE_THREADS_DEFAULT,
             new NamedThreadFactory("RRD4j"));
 
     private final Map<String, RrdDefConfig> rrdDefs = new ConcurrentHashMap<>();
 
-    private final ConcurrentSkipListMap<Key, Double> storageMap = new ConcurrentSkipListMap<>(Key::compareTo);
+    // pending values per database, by timestamp in seconds
+    private final Map<String, ConcurrentSkipListMap<Long, Double>> storageMap = new ConcurrentHashMap<>();
+
+    // databases for which a write is queued or running
+    private final Set<String> pendingWrites = ConcurrentHashMap.newKeySet();
+
+    // databases that could not be opened by the last write
+    private final Set<String> failedDatabases = ConcurrentHashMap.newKeySet();
+
+    private final Lock[] databaseLocks = new Lock[DATABASE_LOCK_STRIPES];
 
     private static final String DATASOURCE_STATE = "state";
 
@@ -142,6 +159,8 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     private final Logger logger = LoggerFactory.getLogger(RRD4jPersistenceService.class);
     private final ItemRegistry itemRegistry;
     private boolean active = false;
+    private volatile @Nullable QueryCache queryCache;
+    private final @Nullable RrdBackendFactory backendFactory;
 
     public static Path getDatabasePath(String name) {
         return DB_FOLDER.resolve(name + ".rrd");
@@ -151,11 +170,25 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return DATABASE_POOL;
     }
 
+    /**
+     * Get the backend factory for opening databases.
+     *
+     * @return the configured factory, or null if the default factory of rrd4j shall be used
+     */
+    public @Nullable RrdBackendFactory getBackendFactory() {
+        return backendFactory;
+    }
+
     private final ScheduledFuture<?> storeJob;
 
     @Activate
     public RRD4jPersistenceService(final @Reference ItemRegistry itemRegistry, Map<String, Object> config) {
         this.itemRegistry = itemRegistry;
+        for (int i = 0; i < databaseLocks.length; i++) {
+            databaseLocks[i] = new ReentrantLock();
+        }
+        // the databases in the pool are opened with this factory, so it can't be changed while active
+        backendFactory = createBackendFactory(config);
         storeJob = scheduler.scheduleWithFixedDelay(() -> doStore(false), 1, 1, TimeUnit.SECONDS);
         modified(config);
         active = true;
@@ -205,6 +238,15 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         defaultOther.addArchives("LAST,0.5,1,720:LAST,0.5,12,10080:LAST,0.5,180,35040:LAST,0.5,2880,21900");
         rrdDefs.put(DEFAULT_OTHER, defaultOther);
 
+        int writeThreads = Math.max(1, ConfigParser.valueAsOrElse(config.get(WRITE_THREADS_CONFIG), Integer.class,
+                WRITE_THREADS_DEFAULT));
+        scheduler.setCorePoolSize(writeThreads + 1);
+        int queryCacheSize = Math.max(0,
+                ConfigParser.valueAsOrElse(config.get(QUERY_CACHE_SIZE_CONFIG), Integer.class, 0));
+        int queryCacheMaxAge = Math.max(1, ConfigParser.valueAsOrElse(config.get(QUERY_CACHE_MAX_AGE_CONFIG),
+                Integer.class, QUERY_CACHE_MAX_AGE_DEFAULT));
+        queryCache = queryCacheSize > 0 ? new QueryCache(queryCacheSize, Duration.ofSeconds(queryCacheMaxAge)) : null;
+
         if (config.isEmpty()) {
             logger.debug("using default configuration only");
             return;
@@ -219,6 +261,12 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 continue;
             }
 
+            if (WRITE_THREADS_CONFIG.equals(key) || BACKEND_CONFIG.equals(key) || SYNC_PERIOD_CONFIG.equals(key)
+                    || QUERY_CACHE_SIZE_CONFIG.equals(key) || QUERY_CACHE_MAX_AGE_CONFIG.equals(key)) {
+                // service options have already been processed
+                continue;
+            }
+
             String[] subkeys = key.split("\\.");
             if (subkeys.length != 2) {
                 logger.debug("config '{}' should have the format 'name.configkey'", key);
@@ -269,6 +317,24 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
+    private @Nullable RrdBackendFactory createBackendFactory(Map<String, Object> config) {
+        String backend = ConfigParser.valueAsOrElse(config.get(BACKEND_CONFIG), String.class, "");
+        switch (backend.trim().toLowerCase()) {
+            case "":
+                return null;
+            case "file":
+                return new RrdRandomAccessFileBackendFactory();
+            case "nio":
+                // the memory mapped files are synchronized to disk periodically by our scheduler
+                int syncPeriod = Math.max(1, ConfigParser.valueAsOrElse(config.get(SYNC_PERIOD_CONFIG),
+                        Integer.class, SYNC_PERIOD_DEFAULT));
+                return new RrdNioBackendFactory(syncPeriod, scheduler);
+            default:
+                logger.warn("Unknown backend '{}', using the default backend", backend);
+                return null;
+        }
+    }
+
     @Deactivate
     protected void deactivate() {
         active = false;
@@ -333,40 +399,140 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
 
         long now = System.currentTimeMillis() / 1000;
-        Double oldValue = storageMap.put(new Key(now, name), value);
-        if (oldValue != null && !oldValue.equals(value)) {
-            logger.debug(
-                    "Discarding value {} for item {} with timestamp {} because a new value ({}) arrived with the same timestamp.",
-                    oldValue, item.getName(), now, value);
-        }
+        double newValue = value;
+        // compute atomically, so that the values are not removed by the store job before the new value is added
+        storageMap.compute(name, (k, values) -> {
+            ConcurrentSkipListMap<Long, Double> localValues = values != null ? values : new ConcurrentSkipListMap<>();
+            Double oldValue = localValues.put(now, newValue);
+            if (oldValue != null && !oldValue.equals(newValue)) {
+                logger.debug(
+                        "Discarding value {} for item {} with timestamp {} because a new value ({}) arrived with the same timestamp.",
+                        oldValue, item.getName(), now, newValue);
+            }
+            return localValues;
+        });
     }
 
     private void doStore(boolean force) {
-        long now = System.currentTimeMillis() / 1000;
-        while (!storageMap.isEmpty()) {
-            Key key = storageMap.firstKey();
-            if (now > key.timestamp || force) {
-                // no new elements can be added for this timestamp because we are already past that time or the service
-                // requires forced storing
-                Double value = storageMap.pollFirstEntry().getValue();
-                writePointToDatabase(key.name, value, key.timestamp);
-            } else {
-                return;
+        for (Map.Entry<String, ConcurrentSkipListMap<Long, Double>> entry : storageMap.entrySet()) {
+            String name = entry.getKey();
+            ConcurrentSkipListMap<Long, Double> values = entry.getValue();
+            if (values.isEmpty()) {
+                // remove the values of databases that are no longer updated, unless a value was added meanwhile
+                storageMap.computeIfPresent(name, (k, v) -> v.isEmpty() ? null : v);
+            } else if (force) {
+                // write in the calling thread, the lock makes sure we don't interfere with queued writes
+                writeToDatabase(name, values, true);
+            } else if (hasValuesToStore(values, false) && pendingWrites.add(name)) {
+                // only queue one write per database, it writes all values that are due when it runs
+                try {
+                    scheduler.execute(() -> {
+                        try {
+                            writeToDatabase(name, values, false);
+                        } finally {
+                            pendingWrites.remove(name);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    pendingWrites.remove(name);
+                    logger.debug("Could not queue write for rrd4j database '{}': {}", name, e.getMessage());
+                }
             }
         }
     }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
-        RrdDb db = null;
+    /**
+     * Get the names of the databases with values that have not been written yet.
+     */
+    Set<String> getPendingDatabases() {
+        return storageMap.keySet();
+    }
+
+    private boolean hasValuesToStore(ConcurrentSkipListMap<Long, Double> values, boolean force) {
+        Map.Entry<Long, Double> first = values.firstEntry();
+        // no new elements can be added for a timestamp once we are past that time, unless the service requires
+        // forced storing
+        return first != null && (force || System.currentTimeMillis() / 1000 > first.getKey());
+    }
+
+    private Lock getDatabaseLock(String name) {
+        return databaseLocks[Math.floorMod(name.hashCode(), databaseLocks.length)];
+    }
+
+    /**
+     * Writes all values that are due to the database. The database is only opened once for all values, so that
+     * multiple updates of the same database are coalesced into one access. If the database cannot be opened, the values
+     * are kept for the next write, up to {@value #MAX_PENDING_VALUES} values per database.
+     */
+    private void writeToDatabase(String name, ConcurrentSkipListMap<Long, Double> values, boolean force) {
+        Lock lock = getDatabaseLock(name);
+        lock.lock();
         try {
-            db = getDB(name, true);
-        } catch (Exception e) {
-            logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
+            if (!hasValuesToStore(values, force)) {
+                return;
+            }
+
+            RrdDb db = null;
+            try {
+                db = getDB(name, true);
+            } catch (Exception e) {
+                logger.debug("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
+            }
+            if (db == null) {
+                keepValues(name, values, force);
+                return;
+            }
+            if (failedDatabases.remove(name)) {
+                logger.info("Opened rrd4j database '{}' again, storing {} pending values", name, values.size());
+            }
+
+            List<Map.Entry<Long, Double>> points = new ArrayList<>();
+            while (hasValuesToStore(values, force)) {
+                Map.Entry<Long, Double> point = values.pollFirstEntry();
+                if (point != null) {
+                    points.add(point);
+                }
+            }
+
+            for (Map.Entry<Long, Double> point : points) {
+                writePointToDatabase(db, name, point.getValue(), point.getKey());
+            }
+
+            try {
+                db.close();
+            } catch (IOException e) {
+                logger.debug("Error closing rrd4j database: {}", e.getMessage());
+            }
+
+            QueryCache queryCache = this.queryCache;
+            if (queryCache != null) {
+                queryCache.invalidate(name);
+            }
+        } finally {
+            lock.unlock();
         }
-        if (db == null) {
+    }
+
+    private void keepValues(String name, ConcurrentSkipListMap<Long, Double> values, boolean force) {
+        if (force) {
+            logger.warn("Could not open rrd4j database '{}', {} values were not stored", name, values.size());
+            values.clear();
             return;
         }
+        if (failedDatabases.add(name)) {
+            logger.warn("Could not open rrd4j database '{}', keeping up to {} values until it can be opened", name,
+                    MAX_PENDING_VALUES);
+        }
+        int dropped = 0;
+        while (values.size() > MAX_PENDING_VALUES && values.pollFirstEntry() != null) {
+            dropped++;
+        }
+        if (dropped > 0) {
+            logger.debug("Dropped the {} oldest pending values of rrd4j database '{}'", dropped, name);
+        }
+    }
 
+    private void writePointToDatabase(RrdDb db, String name, double value, long timestamp) {
         ConsolFun function = getConsolidationFunction(db);
         if (function != ConsolFun.AVERAGE) {
             try {
@@ -401,11 +567,6 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         } catch (Exception e) {
             logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
         }
-        try {
-            db.close();
-        } catch (IOException e) {
-            logger.debug("Error closing rrd4j database: {}", e.getMessage());
-        }
     }
 
     @Override
@@ -422,7 +583,6 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     public Iterable<HistoricItem> query(FilterCriteria filter, @Nullable String alias) {
         ZonedDateTime filterBeginDate = filter.getBeginDate();
         ZonedDateTime filterEndDate = filter.getEndDate();
-        Ordering ordering = filter.getOrdering();
         if (filterBeginDate != null && filterEndDate != null && filterBeginDate.isAfter(filterEndDate)) {
             throw new IllegalArgumentException("begin (" + filterBeginDate + ") before end (" + filterEndDate + ")");
         }
@@ -435,6 +595,22 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         logger.trace("Querying rrd4j database for item '{}'", itemName);
 
         String localAlias = alias != null ? alias : itemName;
+        try {
+            QueryCache queryCache = this.queryCache;
+            return queryCache != null
+                    ? queryCache.get(localAlias, filter, () -> queryDatabase(filter, itemName, localAlias))
+                    : queryDatabase(filter, itemName, localAlias);
+        } catch (IOException e) {
+            logger.warn("Could not query rrd4j database for item '{}': {}", itemName, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private List<HistoricItem> queryDatabase(FilterCriteria filter, String itemName, String localAlias)
+            throws IOException {
+        ZonedDateTime filterBeginDate = filter.getBeginDate();
+        ZonedDateTime filterEndDate = filter.getEndDate();
+        Ordering ordering = filter.getOrdering();
         RrdDb db = null;
         try {
             db = getDB(localAlias, false);
@@ -542,9 +718,6 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 ts += step;
             }
             return items;
-        } catch (IOException e) {
-            logger.warn("Could not query rrd4j database for item '{}': {}", itemName, e.getMessage());
-            return List.of();
         } finally {
             try {
                 db.close();
@@ -700,18 +873,23 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+    protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
         try {
             Builder builder = RrdDb.getBuilder();
             builder.setPool(DATABASE_POOL);
+            RrdBackendFactory factory = backendFactory;
+            if (factory != null) {
+                builder.setBackendFactory(factory);
+            }
 
             if (Files.exists(path)) {
                 // recreate the RrdDb instance from the file
                 builder.setPath(path.toString());
                 db = builder.build();
             } else if (createFileIfAbsent) {
+                // files are only created while holding the lock of the database
                 if (!Files.exists(DB_FOLDER)) {
                     Files.createDirectories(DB_FOLDER);
                 }
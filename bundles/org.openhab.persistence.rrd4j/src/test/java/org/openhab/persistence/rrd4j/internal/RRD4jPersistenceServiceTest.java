@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.persistence.PersistedItem;
+import org.openhab.core.test.java.JavaTest;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
+
+/**
+ * Tests the write-behind storing of the {@link RRD4jPersistenceService}.
+ *
+ * @author agent - Initial contribution
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@NonNullByDefault
+public class RRD4jPersistenceServiceTest extends JavaTest {
+
+    private static @TempDir @NonNullByDefault({}) Path userData;
+
+    private @Mock @NonNullByDefault({}) ItemRegistry itemRegistry;
+
+    private @Nullable RRD4jPersistenceService service;
+
+    @BeforeAll
+    public static void setUserData() {
+        // the database folder is resolved when the service class is initialized
+        System.setProperty("openhab.userdata", userData.toString());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RRD4jPersistenceService localService = service;
+        if (localService != null) {
+            localService.deactivate();
+        }
+    }
+
+    private RRD4jPersistenceService createService(Map<String, Object> config) {
+        RRD4jPersistenceService localService = new RRD4jPersistenceService(itemRegistry, config);
+        service = localService;
+        return localService;
+    }
+
+    private NumberItem numberItem(String name, double value) throws ItemNotFoundException {
+        NumberItem item = new NumberItem(name);
+        item.setState(new DecimalType(value));
+        when(itemRegistry.getItem(name)).thenReturn(item);
+        return item;
+    }
+
+    @Test
+    public void valuesAreWrittenBehind() throws ItemNotFoundException {
+        RRD4jPersistenceService service = createService(Map.of());
+        service.store(numberItem("WriteBehind", 21.5));
+
+        // the value is collected and written by the store job once its second has passed
+        assertThat(Files.exists(RRD4jPersistenceService.getDatabasePath("WriteBehind")), is(false));
+        assertThat(service.getPendingDatabases(), hasItem("WriteBehind"));
+
+        waitForAssert(() -> {
+            PersistedItem persisted = service.persistedItem("WriteBehind", null);
+            assertThat(persisted, is(notNullValue()));
+            assertThat(Objects.requireNonNull(persisted).getState(), is(new DecimalType(21.5)));
+        });
+    }
+
+    @Test
+    public void pendingValuesAreRemovedOnceWritten() throws ItemNotFoundException {
+        RRD4jPersistenceService service = createService(Map.of());
+        service.store(numberItem("Pruned", 1));
+
+        waitForAssert(() -> assertThat(Files.exists(RRD4jPersistenceService.getDatabasePath("Pruned")), is(true)));
+        waitForAssert(() -> assertThat(service.getPendingDatabases(), not(hasItem("Pruned"))));
+    }
+
+    @Test
+    public void lastValueOfTheSameSecondIsWritten() throws ItemNotFoundException {
+        RRD4jPersistenceService service = createService(Map.of());
+        NumberItem item = numberItem("SameSecond", 1);
+        service.store(item);
+        item.setState(new DecimalType(2));
+        service.store(item);
+
+        service.deactivate();
+        this.service = null;
+
+        PersistedItem persisted = service.persistedItem("SameSecond", null);
+        assertThat(persisted, is(notNullValue()));
+        assertThat(Objects.requireNonNull(persisted).getState(), is(new DecimalType(2)));
+    }
+
+    @Test
+    public void pendingValuesOfAllDatabasesAreWrittenOnDeactivate() throws ItemNotFoundException {
+        Map<String, Object> config = new HashMap<>();
+        config.put("writeThreads", "4");
+        RRD4jPersistenceService service = createService(config);
+        for (int i = 0; i < 10; i++) {
+            service.store(numberItem("Deactivate" + i, i));
+        }
+
+        service.deactivate();
+        this.service = null;
+
+        for (int i = 0; i < 10; i++) {
+            PersistedItem persisted = service.persistedItem("Deactivate" + i, null);
+            assertThat(persisted, is(notNullValue()));
+            assertThat(Objects.requireNonNull(persisted).getState(), is(new DecimalType(i)));
+        }
+    }
+
+    @Test
+    public void valuesAreKeptWhileTheDatabaseCannotBeOpened() throws ItemNotFoundException {
+        AtomicBoolean failing = new AtomicBoolean(true);
+        AtomicInteger attempts = new AtomicInteger();
+        RRD4jPersistenceService service = new RRD4jPersistenceService(itemRegistry, Map.of()) {
+            @Override
+            protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+                if (createFileIfAbsent && failing.get()) {
+                    attempts.incrementAndGet();
+                    return null;
+                }
+                return super.getDB(alias, createFileIfAbsent);
+            }
+        };
+        this.service = service;
+        service.store(numberItem("Failing", 42));
+
+        waitForAssert(() -> assertThat(attempts.get(), is(not(0))));
+        assertThat(service.getPendingDatabases(), hasItem("Failing"));
+
+        failing.set(false);
+        waitForAssert(() -> {
+            PersistedItem persisted = service.persistedItem("Failing", null);
+            assertThat(persisted, is(notNullValue()));
+            assertThat(Objects.requireNonNull(persisted).getState(), is(new DecimalType(42)));
+        });
+    }
+
+    @Test
+    public void backendFactoryIsConfiguredPerService() {
+        RRD4jPersistenceService fileService = createService(Map.of("backend", "file"));
+        RRD4jPersistenceService defaultService = new RRD4jPersistenceService(itemRegistry, Map.of());
+        try {
+            assertThat(fileService.getBackendFactory(), is(instanceOf(RrdRandomAccessFileBackendFactory.class)));
+            assertThat(defaultService.getBackendFactory(), is(nullValue()));
+        } finally {
+            defaultService.deactivate();
+        }
+    }
+}
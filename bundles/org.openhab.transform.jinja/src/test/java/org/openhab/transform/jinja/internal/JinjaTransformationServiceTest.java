@@ -14,10 +14,18 @@ package org.openhab.transform.jinja.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
 
+import com.hubspot.jinjava.Jinjava;
+
 /**
  * @author Jochen Klein - Initial contribution
  */
@@ -113,4 +121,60 @@ public class JinjaTransformationServiceTest {
         // then map key is defined
         assertEquals("true", transformedResponse);
     }
+
+    @Test
+    public void testSameTemplateWithDifferentValues() throws TransformationException {
+        String template = "{{ value_json.temperature }} {{ value_json.unit }}";
+
+        assertEquals("4.7 C", processor.transform(template, "{\"temperature\": 4.7, \"unit\": \"C\"}"));
+        assertEquals("40.5 F", processor.transform(template, "{\"temperature\": 40.5, \"unit\": \"F\"}"));
+    }
+
+    @Test
+    public void testNestedListsAndMaps() throws TransformationException {
+        String json = "{\"sensors\": [{\"name\": \"a\", \"on\": true}, {\"name\": \"b\", \"on\": false}]}";
+
+        assertEquals("a:true b:false ", processor.transform(
+                "{% for sensor in value_json.sensors %}{{ sensor.name }}:{{ sensor.on }} {% endfor %}", json));
+        assertEquals("2", processor.transform("{{ value_json.sensors | length }}", json));
+        assertEquals("b", processor.transform("{{ value_json.sensors[1]['name'] }}", json));
+    }
+
+    @Test
+    public void testParsedTemplateIsReused() throws TransformationException {
+        String template = "Hello {{ value }}!";
+        assertEquals("Hello world!", processor.transform(template, "world"));
+        assertEquals(1, processor.templates.size());
+
+        // a cached tree is rendered without parsing the template again
+        processor.templates.put(template, new Jinjava().newInterpreter().parse("Cached {{ value }}!"));
+        assertEquals("Cached world!", processor.transform(template, "world"));
+        assertEquals(1, processor.templates.size());
+    }
+
+    @Test
+    public void testTemplateErrorIsReportedRepeatedly() {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(TransformationException.class,
+                    () -> processor.transform("Hello {{{ value_json.string }}!", "{\"string\": \"world\"}"));
+        }
+    }
+
+    @Test
+    public void testConcurrentTransformations() throws Exception {
+        String template = "{% for sensor in value_json.sensors %}{{ sensor.name }}={{ value_json.id }} {% endfor %}";
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String json = "{\"id\": " + i + ", \"sensors\": [{\"name\": \"a\"}, {\"name\": \"b\"}]}";
+                results.add(executor.submit(() -> processor.transform(template, json)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals("a=" + i + " b=" + i + " ", results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
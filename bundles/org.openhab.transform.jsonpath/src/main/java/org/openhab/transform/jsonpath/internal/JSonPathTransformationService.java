@@ -13,6 +13,8 @@
 package org.openhab.transform.jsonpath.internal;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,6 +26,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -32,6 +35,9 @@ import com.jayway.jsonpath.PathNotFoundException;
 /**
  * The implementation of a {@link TransformationService} which transforms the input by JSonPath Expressions.
  *
+ * Compiled expressions are cached. The parsed documents of the most recent inputs are kept for a short time, so that
+ * several channels extracting values from the same payload share a single parse.
+ *
  * @author Gaël L'hopital - Initial contribution
  * @author Sebastian Janzen - Initial contribution
  */
@@ -39,8 +45,17 @@ import com.jayway.jsonpath.PathNotFoundException;
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    private static final int MAX_COMPILED_PATHS = 1000;
+    private static final int MAX_DOCUMENTS = 16;
+    private static final long DOCUMENT_MAX_AGE_MS = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final Configuration configuration = Configuration.defaultConfiguration();
+    private final Map<String, JsonPath> compiledPaths = new ConcurrentHashMap<>();
+    // the parsed documents are shared between calls, reading them with JsonPath does not modify them
+    private final DocumentCache<Object> documents = new DocumentCache<>(MAX_DOCUMENTS, DOCUMENT_MAX_AGE_MS);
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -62,7 +77,8 @@ public class JSonPathTransformationService implements TransformationService {
             return null;
         }
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
+            Object transformationResult = compile(jsonPathExpression)
+                    .read(documents.get(source, configuration.jsonProvider()::parse), configuration);
             logger.debug("transformation resulted in '{}'", transformationResult);
             if (transformationResult == null) {
                 return null;
@@ -78,6 +94,20 @@ public class JSonPathTransformationService implements TransformationService {
         }
     }
 
+    private JsonPath compile(String jsonPathExpression) {
+        JsonPath path = compiledPaths.get(jsonPathExpression);
+        if (path == null) {
+            path = JsonPath.compile(jsonPathExpression);
+            if (compiledPaths.size() >= MAX_COMPILED_PATHS) {
+                // expressions built in rules from changing values would grow the map forever, compiling the few
+                // expressions of the channels again is cheap compared to parsing a single payload
+                compiledPaths.clear();
+            }
+            compiledPaths.put(jsonPathExpression, path);
+        }
+        return path;
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
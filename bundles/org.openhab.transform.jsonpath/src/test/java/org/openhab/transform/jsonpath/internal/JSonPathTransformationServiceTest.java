@@ -129,4 +129,30 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    @Test
+    public void testSameSourceWithDifferentExpressions() throws TransformationException {
+        for (int i = 0; i < 2; i++) {
+            assertEquals("bob", processor.transform("$[0].name", JSON_ARRAY));
+            assertEquals("alice", processor.transform("$[1].name", JSON_ARRAY));
+            assertEquals("2", processor.transform("$[1].id", JSON_ARRAY));
+        }
+    }
+
+    @Test
+    public void testSourcesWithSameHashCodeAreNotMixedUp() throws TransformationException {
+        String first = "{\"value\":\"Aa\"}";
+        String second = "{\"value\":\"BB\"}";
+        assertEquals(first.hashCode(), second.hashCode());
+
+        assertEquals("Aa", processor.transform("$.value", first));
+        assertEquals("BB", processor.transform("$.value", second));
+        assertEquals("Aa", processor.transform("$.value", new String(first)));
+    }
+
+    @Test
+    public void testInvalidJsonIsRejectedRepeatedly() {
+        assertThrows(TransformationException.class, () -> processor.transform("$.id", "{id:"));
+        assertThrows(TransformationException.class, () -> processor.transform("$.name", "{id:"));
+    }
 }
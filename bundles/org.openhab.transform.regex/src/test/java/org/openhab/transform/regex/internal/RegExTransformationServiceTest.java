@@ -75,4 +75,14 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testTransformByRegex_repeatedWithCachedPatterns() throws TransformationException {
+        for (int i = 0; i < 2; i++) {
+            assertEquals("SetMode", processor.transform("OP:(.*?),.*", "OP:SetMode,ARG:42"));
+            assertEquals("42", processor.transform(".*,ARG:(.*)", "OP:SetMode,ARG:42"));
+            assertNull(processor.transform("OP:(.*?),.*", "ARG:42"));
+            assertEquals("SetMode(42)", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "OP:SetMode,ARG:42"));
+        }
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.xpath.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The {@link DocumentCache} keeps the parsed documents of the most recent sources for a short time. The least recently
+ * used document is evicted first.
+ *
+ * The sources are compared by identity first, so a payload passed on unchanged is found without comparing its
+ * content.
+ *
+ * This class is kept identical in the JSONPATH and XPATH transformation bundles apart from the package.
+ *
+ * @param <D> the type of the parsed documents
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DocumentCache<D> {
+
+    /**
+     * Parses a source on a cache miss.
+     */
+    @FunctionalInterface
+    public interface Parser<D, E extends Exception> {
+        D parse(String source) throws E;
+    }
+
+    private record Entry<D>(D document, long expires) {
+    }
+
+    private final long maxAgeMillis;
+    // guarded by itself
+    private final Map<String, Entry<D>> entries;
+
+    /**
+     * @param maxDocuments the maximum number of cached documents
+     * @param maxAgeMillis the maximum time a document is kept
+     */
+    public DocumentCache(int maxDocuments, long maxAgeMillis) {
+        this.maxAgeMillis = maxAgeMillis;
+        this.entries = new LinkedHashMap<>(maxDocuments, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, Entry<D>> eldest) {
+                return size() > maxDocuments;
+            }
+        };
+    }
+
+    /**
+     * Get the cached document of a source or parse it.
+     *
+     * @param source the source
+     * @param parser parses the source if there is no valid cached document
+     * @return the document, which may be shared with other callers
+     * @throws E if parsing fails, sources that cannot be parsed are not cached
+     */
+    public <E extends Exception> D get(String source, Parser<D, E> parser) throws E {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry<D> entry = entries.get(source);
+            if (entry != null && entry.expires() > now) {
+                return entry.document();
+            }
+        }
+
+        D document = parser.parse(source);
+        synchronized (entries) {
+            entries.values().removeIf(entry -> entry.expires() <= now);
+            entries.put(source, new Entry<>(document, now + maxAgeMillis));
+        }
+        return document;
+    }
+}
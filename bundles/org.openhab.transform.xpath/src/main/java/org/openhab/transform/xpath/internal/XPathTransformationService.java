@@ -12,13 +12,20 @@
  */
 package org.openhab.transform.xpath.internal;
 
+import java.io.IOException;
 import java.io.StringReader;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -30,19 +37,35 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 /**
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XPath Expressions.
  *
+ * <p>
+ * Document builders and compiled expressions are reused. As neither of them is thread-safe, they are kept in pools and
+ * used by one thread at a time. The parsed documents of the most recent inputs are kept for a short time, so that
+ * several channels evaluating different expressions on the same payload share a single parse.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    private static final int MAX_EXPRESSIONS = 1000;
+    private static final int MAX_DOCUMENTS = 16;
+    private static final long DOCUMENT_MAX_AGE_MS = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    private final Queue<DocumentBuilder> builders = new ConcurrentLinkedQueue<>();
+    private final Map<String, Queue<XPathExpression>> expressions = new ConcurrentHashMap<>();
+    // guarded by itself
+    private final XPath xpath = XPathFactory.newInstance().newXPath();
+    private final DocumentCache<Document> documents = new DocumentCache<>(MAX_DOCUMENTS, DOCUMENT_MAX_AGE_MS);
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -51,40 +74,79 @@ public class XPathTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
-        StringReader stringReader = null;
-
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
-            // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
-            domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-            domFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-            domFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            domFactory.setXIncludeAware(false);
-            domFactory.setExpandEntityReferences(false);
-            domFactory.setNamespaceAware(true);
-            domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
-
-            stringReader = new StringReader(source);
-            InputSource inputSource = new InputSource(stringReader);
-            inputSource.setEncoding("UTF-8");
+            Document doc = documents.get(source, this::parse);
+            XPathExpression expr = borrowExpression(xpathExpression);
 
-            Document doc = builder.parse(inputSource);
-
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
-
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+            String transformationResult;
+            try {
+                // the document may be shared with other threads and DOM implementations are not thread-safe, not even
+                // for reading
+                synchronized (doc) {
+                    transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+                }
+            } finally {
+                returnExpression(xpathExpression, expr);
+            }
 
             logger.debug("transformation resulted in '{}'", transformationResult);
 
             return transformationResult;
         } catch (Exception e) {
             throw new TransformationException("transformation throws exceptions", e);
+        }
+    }
+
+    private Document parse(String source) throws ParserConfigurationException, SAXException, IOException {
+        DocumentBuilder builder = builders.poll();
+        if (builder == null) {
+            builder = newDocumentBuilder();
+        }
+        try (StringReader stringReader = new StringReader(source)) {
+            InputSource inputSource = new InputSource(stringReader);
+            inputSource.setEncoding("UTF-8");
+
+            return builder.parse(inputSource);
         } finally {
-            if (stringReader != null) {
-                stringReader.close();
+            builder.reset();
+            builders.offer(builder);
+        }
+    }
+
+    private DocumentBuilder newDocumentBuilder() throws ParserConfigurationException {
+        DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+        // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
+        domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+        domFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+        domFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        domFactory.setXIncludeAware(false);
+        domFactory.setExpandEntityReferences(false);
+        domFactory.setNamespaceAware(true);
+        domFactory.setValidating(false);
+        return domFactory.newDocumentBuilder();
+    }
+
+    private XPathExpression borrowExpression(String xpathExpression) throws XPathExpressionException {
+        Queue<XPathExpression> pool = expressions.get(xpathExpression);
+        XPathExpression expr = pool != null ? pool.poll() : null;
+        if (expr == null) {
+            synchronized (xpath) {
+                expr = xpath.compile(xpathExpression);
+            }
+        }
+        return expr;
+    }
+
+    private void returnExpression(String xpathExpression, XPathExpression expr) {
+        Queue<XPathExpression> pool = expressions.get(xpathExpression);
+        if (pool == null) {
+            if (expressions.size() >= MAX_EXPRESSIONS) {
+                // each expression has its own pool, so expressions built at runtime would add pools forever, the pools
+                // of the expressions still in use are refilled by their next calls
+                expressions.clear();
             }
+            pool = expressions.computeIfAbsent(xpathExpression, key -> new ConcurrentLinkedQueue<>());
         }
+        pool.offer(expr);
     }
 }
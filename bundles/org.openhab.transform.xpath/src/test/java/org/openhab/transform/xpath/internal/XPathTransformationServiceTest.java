@@ -38,4 +38,19 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByXPathWithSeveralExpressionsOnSameSource() throws TransformationException {
+        for (int i = 0; i < 2; i++) {
+            assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+            assertEquals("46", processor.transform("//current_conditions/temp_f/@data", source));
+            assertEquals("4", processor.transform("count(//forecast_conditions)", source));
+        }
+    }
+
+    @Test
+    public void testTransformByXPathWithInvalidInput() {
+        assertThrows(TransformationException.class, () -> processor.transform("//current_conditions[", source));
+        assertThrows(TransformationException.class, () -> processor.transform("//temp_c/@data", "<xml_api_reply>"));
+    }
 }
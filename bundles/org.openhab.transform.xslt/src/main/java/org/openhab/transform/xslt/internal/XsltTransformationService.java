@@ -13,11 +13,19 @@
 package org.openhab.transform.xslt.internal;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -35,14 +43,24 @@ import org.slf4j.LoggerFactory;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XSLT.
  *
+ * <p>
+ * Compiled stylesheets are cached and compiled again when their file is modified.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XSLT" })
 public class XsltTransformationService implements TransformationService {
 
+    private record CompiledStylesheet(Templates templates, FileTime lastModified, long size) {
+    }
+
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    // guarded by itself
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    private final Map<Path, CompiledStylesheet> stylesheets = new ConcurrentHashMap<>();
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,12 +78,12 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        Path xsl;
 
         try {
             String path = OpenHAB.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
                     + File.separator + filename;
-            xsl = new StreamSource(new File(path));
+            xsl = Path.of(path);
         } catch (Exception e) {
             String message = "opening file '" + filename + "' throws exception";
 
@@ -81,7 +99,7 @@ public class XsltTransformationService implements TransformationService {
         Transformer transformer;
 
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
+            transformer = getTemplates(xsl).newTransformer();
             transformer.transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
@@ -92,4 +110,23 @@ public class XsltTransformationService implements TransformationService {
 
         return out.toString();
     }
+
+    /**
+     * Get the compiled stylesheet of a file. The stylesheet is compiled again if the file was modified since.
+     */
+    private Templates getTemplates(Path xsl) throws IOException, TransformerConfigurationException {
+        BasicFileAttributes attributes = Files.readAttributes(xsl, BasicFileAttributes.class);
+        CompiledStylesheet stylesheet = stylesheets.get(xsl);
+        if (stylesheet == null || !stylesheet.lastModified().equals(attributes.lastModifiedTime())
+                || stylesheet.size() != attributes.size()) {
+            logger.debug("compiling stylesheet '{}'", xsl);
+            Templates templates;
+            synchronized (transformerFactory) {
+                templates = transformerFactory.newTemplates(new StreamSource(xsl.toFile()));
+            }
+            stylesheet = new CompiledStylesheet(templates, attributes.lastModifiedTime(), attributes.size());
+            stylesheets.put(xsl, stylesheet);
+        }
+        return stylesheet.templates();
+    }
 }
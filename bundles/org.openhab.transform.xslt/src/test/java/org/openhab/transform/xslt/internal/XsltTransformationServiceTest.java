@@ -54,4 +54,30 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testTransformByModifiedXSLT() throws TransformationException, IOException {
+        Path stylesheet = transformHttpPath.resolve("modified.xsl");
+        try {
+            Files.writeString(stylesheet, stylesheet("temp_c"));
+            assertEquals("8", processor.transform("http/modified.xsl", source));
+            assertEquals("8", processor.transform("http/modified.xsl", source));
+
+            Files.writeString(stylesheet, stylesheet("humidity"));
+            assertEquals("Feuchtigkeit: 66 %", processor.transform("http/modified.xsl", source));
+        } finally {
+            Files.deleteIfExists(stylesheet);
+        }
+    }
+
+    private static String stylesheet(String element) {
+        return """
+                <xsl:stylesheet version="1.0" xmlns:xsl="http://www.w3.org/1999/XSL/Transform">
+                <xsl:output method="text"/>
+                <xsl:template match="/">
+                <xsl:value-of select="//current_conditions/%s/@data"/>
+                </xsl:template>
+                </xsl:stylesheet>
+                """.formatted(element);
+    }
 }
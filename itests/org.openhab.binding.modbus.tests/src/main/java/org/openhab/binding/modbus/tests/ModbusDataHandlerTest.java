@@ -827,6 +827,86 @@ public class ModbusDataHandlerTest extends AbstractModbusOSGiTest {
                 is(equalTo(/* (2*3 + 2) + '0' */ 80)));
     }
 
+    private ModbusDataThingHandler createSkippingReadHandler(ModbusReadRequestBlueprint request) {
+        ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502, false);
+        doReturn(3).when(request).getDataLength();
+        doReturn(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS).when(request).getFunctionCode();
+
+        PollTask task = Mockito.mock(PollTask.class);
+        doReturn(endpoint).when(task).getEndpoint();
+        doReturn(request).when(task).getRequest();
+
+        Bridge poller = createPollerMock("poller1", task);
+
+        Configuration dataConfig = new Configuration();
+        dataConfig.put("readStart", "0");
+        dataConfig.put("readTransform", "default");
+        dataConfig.put("readValueType", ValueType.INT16.getConfigValue());
+        dataConfig.put("skipUnchangedData", true);
+
+        ModbusDataThingHandler dataHandler = createDataHandler("skip", poller,
+                builder -> builder.withConfiguration(dataConfig));
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+        return dataHandler;
+    }
+
+    private void read(ModbusDataThingHandler dataHandler, ModbusReadRequestBlueprint request, int value) {
+        dataHandler.onReadResult(new AsyncModbusReadResult(request,
+                new ModbusRegisterArray(new byte[] { (byte) (value >> 8), (byte) value, 0, 0, 0, 0 })));
+    }
+
+    private void assertNumberUpdates(ModbusDataThingHandler dataHandler, State... states) {
+        String itemName = getItemName(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER));
+        waitForAssert(() -> assertThat(getStateUpdates(itemName), is(equalTo(List.of(states)))));
+    }
+
+    @Test
+    public void testSkipUnchangedData() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createSkippingReadHandler(request);
+
+        read(dataHandler, request, 5);
+        read(dataHandler, request, 5);
+        assertNumberUpdates(dataHandler, new DecimalType(5));
+        assertThat(dataHandler.getProcessedReadCount(), is(equalTo(1L)));
+        assertThat(dataHandler.getSkippedReadCount(), is(equalTo(1L)));
+
+        read(dataHandler, request, 6);
+        assertNumberUpdates(dataHandler, new DecimalType(5), new DecimalType(6));
+        assertThat(dataHandler.getProcessedReadCount(), is(equalTo(2L)));
+        assertThat(dataHandler.getSkippedReadCount(), is(equalTo(1L)));
+    }
+
+    @Test
+    public void testSkipUnchangedDataProcessesDataAgainAfterRefresh() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createSkippingReadHandler(request);
+
+        read(dataHandler, request, 5);
+        // a channel linked again is refreshed, its item needs the value even if the data is unchanged
+        dataHandler.handleCommand(new ChannelUID(dataHandler.getThing().getUID(), CHANNEL_NUMBER),
+                RefreshType.REFRESH);
+        read(dataHandler, request, 5);
+
+        assertThat(dataHandler.getProcessedReadCount(), is(equalTo(2L)));
+        assertThat(dataHandler.getSkippedReadCount(), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testSkipUnchangedDataProcessesDataAgainAfterError() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createSkippingReadHandler(request);
+
+        read(dataHandler, request, 5);
+        dataHandler.handleReadError(new AsyncModbusFailure<>(request, new Exception("fooerror")));
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.OFFLINE)));
+        read(dataHandler, request, 5);
+
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+        assertThat(dataHandler.getProcessedReadCount(), is(equalTo(2L)));
+        assertThat(dataHandler.getSkippedReadCount(), is(equalTo(0L)));
+    }
+
     private void testValueTypeGeneric(ModbusReadFunctionCode functionCode, ValueType valueType,
             ThingStatus expectedStatus) {
         ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502, false);